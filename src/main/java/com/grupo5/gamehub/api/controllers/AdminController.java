@@ -0,0 +1,205 @@
+package com.grupo5.gamehub.api.controllers;
+
+import com.grupo5.gamehub.api.dtos.BulkRegistrationResponse;
+import com.grupo5.gamehub.api.dtos.RegisterRequest;
+import com.grupo5.gamehub.api.dtos.UserDetailsCacheStats;
+import com.grupo5.gamehub.api.dtos.messages.RecentMessageCacheStats;
+import com.grupo5.gamehub.api.dtos.ranking.RatingReplayResponse;
+import com.grupo5.gamehub.api.dtos.ranking.StandingsRebuildResponse;
+import com.grupo5.gamehub.infraestructure.services.AuthService;
+import com.grupo5.gamehub.infraestructure.services.LeaderboardService;
+import com.grupo5.gamehub.infraestructure.services.RankingService;
+import com.grupo5.gamehub.infraestructure.services.RatingService;
+import com.grupo5.gamehub.infraestructure.services.RecentMessageCache;
+import com.grupo5.gamehub.infraestructure.services.StandingsService;
+import com.grupo5.gamehub.security.service.UserDetailsServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administración", description = "Operaciones de mantenimiento reservadas a administradores.")
+public class AdminController {
+
+  private final StandingsService standingsService;
+  private final RankingService rankingService;
+  private final RatingService ratingService;
+  private final LeaderboardService leaderboardService;
+  private final RecentMessageCache recentMessageCache;
+  private final UserDetailsServiceImpl userDetailsService;
+  private final AuthService authService;
+
+  @Autowired
+  public AdminController(StandingsService standingsService, RankingService rankingService,
+                         RatingService ratingService, LeaderboardService leaderboardService,
+                         RecentMessageCache recentMessageCache, UserDetailsServiceImpl userDetailsService,
+                         AuthService authService) {
+    this.standingsService = standingsService;
+    this.rankingService = rankingService;
+    this.ratingService = ratingService;
+    this.leaderboardService = leaderboardService;
+    this.recentMessageCache = recentMessageCache;
+    this.userDetailsService = userDetailsService;
+    this.authService = authService;
+  }
+
+  @Operation(summary = "Reconstruir la clasificación de un torneo", description = "Recalcula la tabla tournament_standings de un torneo a partir de sus partidas completadas.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Clasificación reconstruida",
+                  content = @Content(schema = @Schema(implementation = StandingsRebuildResponse.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content),
+          @ApiResponse(responseCode = "404", description = "Torneo no encontrado",
+                  content = @Content),
+          @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @PostMapping("/standings/rebuild/{tournamentId}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<StandingsRebuildResponse> rebuildTournamentStandings(
+          @Parameter(description = "ID del torneo cuya clasificación se reconstruye")
+          @PathVariable Long tournamentId) {
+    try {
+      StandingsRebuildResponse response = standingsService.rebuild(tournamentId);
+      rankingService.evictTournamentRanking(tournamentId);
+      return ResponseEntity.ok(response);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    }
+  }
+
+  @Operation(summary = "Reconstruir la clasificación de todos los torneos", description = "Recalcula en paralelo la tabla tournament_standings de todos los torneos. Los resultados de cada torneo quedan bloqueados solo mientras se reconstruye ese torneo.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Clasificaciones reconstruidas",
+                  content = @Content(schema = @Schema(implementation = StandingsRebuildResponse.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content),
+          @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @PostMapping("/standings/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<StandingsRebuildResponse> rebuildAllStandings() {
+    try {
+      StandingsRebuildResponse response = standingsService.rebuildAll();
+      rankingService.evictAllTournamentRankings();
+      return ResponseEntity.ok(response);
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    }
+  }
+
+  @Operation(summary = "Reconstruir las valoraciones globales", description = "Recalcula la valoración (points) y la posición global (rank) de todos los jugadores a partir del historial de partidas, agrupándolas por periodos. Los jugadores de un mismo periodo se calculan en paralelo.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Valoraciones reconstruidas",
+                  content = @Content(schema = @Schema(implementation = RatingReplayResponse.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content),
+          @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @PostMapping("/ratings/replay")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<RatingReplayResponse> replayRatings() {
+    try {
+      RatingReplayResponse response = ratingService.replayAll();
+      rankingService.evictAllTournamentRankings();
+      leaderboardService.rebuild();
+      return ResponseEntity.ok(response);
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    }
+  }
+
+  @Operation(summary = "Estado de la caché de mensajes recientes", description = "Devuelve cuántas salas de chat y mensajes hay en memoria, los aciertos y fallos acumulados al leer los últimos mensajes y las salas expulsadas por el límite global.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Estadísticas de la caché",
+                  content = @Content(schema = @Schema(implementation = RecentMessageCacheStats.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @GetMapping("/chat/recent-cache")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<RecentMessageCacheStats> getRecentMessageCacheStats() {
+    return ResponseEntity.ok(recentMessageCache.stats());
+  }
+
+  @Operation(summary = "Estado de la caché de usuarios de autenticación", description = "Devuelve cuántos usuarios hay en memoria, los aciertos y fallos acumulados, el tiempo medio de carga desde la base de datos y las expulsiones por tamaño o caducidad.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Estadísticas de la caché",
+                  content = @Content(schema = @Schema(implementation = UserDetailsCacheStats.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @GetMapping("/auth/user-cache")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<UserDetailsCacheStats> getUserDetailsCacheStats() {
+    return ResponseEntity.ok(userDetailsService.stats());
+  }
+
+  @Operation(summary = "Registrar jugadores en bloque", description = "Importa hasta 1000 jugadores con rol PLAYER en inserciones por lotes. Las filas incompletas, repetidas en la petición o con username/email ya registrados se devuelven como rechazadas sin impedir el resto.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Importación realizada; incluye las filas rechazadas y el motivo",
+                  content = @Content(schema = @Schema(implementation = BulkRegistrationResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Lista vacía o con más de 1000 jugadores",
+                  content = @Content),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content),
+          @ApiResponse(responseCode = "503", description = "Servidor saturado calculando contraseñas, reintentar más tarde",
+                  content = @Content),
+          @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @PostMapping("/users/bulk")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<BulkRegistrationResponse> registerUsers(@RequestBody List<RegisterRequest> requests) {
+    try {
+      return ResponseEntity.ok(authService.registerAll(requests));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+    } catch (Exception e) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    }
+  }
+}
@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -18,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Gestión de usuarios", description = "Endpoints para registro y autenticación de usuarios.")
@@ -35,11 +38,20 @@ public class AuthController {
           @ApiResponse(responseCode = "201", description = "Usuario registrado exitosamente y JWT devuelto",
                   content = @Content(schema = @Schema(implementation = AuthResponse.class))),
           @ApiResponse(responseCode = "400", description = "Solicitud inválida (ej. usuario ya existe, datos incompletos)",
+                  content = @Content),
+          @ApiResponse(responseCode = "429", description = "Demasiadas peticiones de autenticación simultáneas desde el mismo cliente",
+                  content = @Content),
+          @ApiResponse(responseCode = "503", description = "Servidor saturado calculando contraseñas, reintentar más tarde",
                   content = @Content)
   })
   @PostMapping("/register")
   public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
-    AuthResponse response = authService.register(request);
+    AuthResponse response;
+    try {
+      response = authService.register(request);
+    } catch (RejectedExecutionException e) {
+      return busy();
+    }
     if (response.getToken() != null) {
       return new ResponseEntity<>(response, HttpStatus.CREATED);
     } else {
@@ -52,15 +64,30 @@ public class AuthController {
           @ApiResponse(responseCode = "200", description = "Credenciales válidas, JWT devuelto",
                   content = @Content(schema = @Schema(implementation = AuthResponse.class))),
           @ApiResponse(responseCode = "401", description = "Credenciales inválidas",
+                  content = @Content),
+          @ApiResponse(responseCode = "429", description = "Demasiadas peticiones de autenticación simultáneas desde el mismo cliente",
+                  content = @Content),
+          @ApiResponse(responseCode = "503", description = "Servidor saturado calculando contraseñas, reintentar más tarde",
                   content = @Content)
   })
   @PostMapping("/login")
   public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-    AuthResponse response = authService.login(request);
+    AuthResponse response;
+    try {
+      response = authService.login(request);
+    } catch (RejectedExecutionException e) {
+      return busy();
+    }
     if (response.getToken() != null) {
       return new ResponseEntity<>(response, HttpStatus.OK);
     } else {
       return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
     }
   }
-}
\ No newline at end of file
+
+  private ResponseEntity<AuthResponse> busy() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new AuthResponse(null, "Server busy, try again later"));
+  }
+}
@@ -0,0 +1,134 @@
+package com.grupo5.gamehub.api.controllers;
+
+import com.grupo5.gamehub.api.dtos.leaderboard.LeaderboardEntryResponse;
+import com.grupo5.gamehub.infraestructure.services.LeaderboardService;
+import com.grupo5.gamehub.infraestructure.services.UserService;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@Tag(name = "Clasificación global", description = "Endpoints para consultar la clasificación global de jugadores por valoración.")
+public class LeaderboardController {
+
+  private static final int MAX_LIMIT = 100;
+  private static final int MAX_RADIUS = 50;
+
+  private final LeaderboardService leaderboardService;
+  private final UserService userService;
+
+  @Autowired
+  public LeaderboardController(LeaderboardService leaderboardService, UserService userService) {
+    this.leaderboardService = leaderboardService;
+    this.userService = userService;
+  }
+
+  @Operation(summary = "Obtener los mejores jugadores", description = "Devuelve los 'limit' jugadores con más puntos (máximo " + MAX_LIMIT + "). Acceso público.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Top de jugadores devuelto exitosamente",
+                  content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntryResponse.class)))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' inválido",
+                  content = @Content)
+  })
+  @GetMapping("/top")
+  public ResponseEntity<List<LeaderboardEntryResponse>> getTop(
+          @Parameter(description = "Número de jugadores a devolver (1-" + MAX_LIMIT + ")")
+          @RequestParam(defaultValue = "10") int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    }
+    return ResponseEntity.ok(leaderboardService.getTop(limit));
+  }
+
+  @Operation(summary = "Obtener la posición global de un jugador", description = "Devuelve puntos y posición global de un jugador. Acceso público.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Posición devuelta exitosamente",
+                  content = @Content(schema = @Schema(implementation = LeaderboardEntryResponse.class))),
+          @ApiResponse(responseCode = "404", description = "El jugador no existe o aún no tiene valoración",
+                  content = @Content)
+  })
+  @GetMapping("/users/{userId}")
+  public ResponseEntity<LeaderboardEntryResponse> getEntry(
+          @Parameter(description = "ID del jugador")
+          @PathVariable Long userId) {
+    return leaderboardService.getEntry(userId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+  }
+
+  @Operation(summary = "Obtener los jugadores alrededor de otro", description = "Devuelve hasta 'radius' jugadores por encima y por debajo del indicado (máximo " + MAX_RADIUS + "). Acceso público.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Jugadores devueltos exitosamente",
+                  content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntryResponse.class)))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'radius' inválido",
+                  content = @Content),
+          @ApiResponse(responseCode = "404", description = "El jugador no existe o aún no tiene valoración",
+                  content = @Content)
+  })
+  @GetMapping("/users/{userId}/around")
+  public ResponseEntity<List<LeaderboardEntryResponse>> getAround(
+          @Parameter(description = "ID del jugador")
+          @PathVariable Long userId,
+          @Parameter(description = "Jugadores a cada lado (1-" + MAX_RADIUS + ")")
+          @RequestParam(defaultValue = "5") int radius) {
+    if (radius < 1 || radius > MAX_RADIUS) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    }
+    List<LeaderboardEntryResponse> around = leaderboardService.getAround(userId, radius);
+    if (around.isEmpty()) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+    }
+    return ResponseEntity.ok(around);
+  }
+
+  @Operation(summary = "Obtener los jugadores alrededor del usuario autenticado", description = "Igual que /users/{userId}/around para el usuario del token JWT.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Jugadores devueltos exitosamente",
+                  content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntryResponse.class)))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'radius' inválido",
+                  content = @Content),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "404", description = "El usuario aún no tiene valoración",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @GetMapping("/me/around")
+  public ResponseEntity<List<LeaderboardEntryResponse>> getAroundMe(
+          @Parameter(description = "Jugadores a cada lado (1-" + MAX_RADIUS + ")")
+          @RequestParam(defaultValue = "5") int radius,
+          Principal principal) {
+    if (principal == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+    }
+    try {
+      if (principal instanceof Authentication && ((Authentication) principal).getPrincipal() instanceof AuthenticatedUser) {
+        return getAround(((AuthenticatedUser) ((Authentication) principal).getPrincipal()).getId(), radius);
+      }
+      return getAround(userService.getUserIdByUsername(principal.getName()), radius);
+    } catch (UsernameNotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+    }
+  }
+}
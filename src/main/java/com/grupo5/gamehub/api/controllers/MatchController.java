@@ -1,10 +1,15 @@
 package com.grupo5.gamehub.api.controllers;
 
 import com.grupo5.gamehub.api.dtos.matches.MatchGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.MatchPageResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResultUpdateRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleResponse;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
 import com.grupo5.gamehub.infraestructure.services.MatchService;
 import com.grupo5.gamehub.infraestructure.services.TournamentService;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,12 +30,16 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/matches")
 @Tag(name = "Emparejamientos y resultados", description = "Endpoints para la generación, consulta y actualización de partidas.")
 public class MatchController {
 
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final Pattern CURSOR_PATTERN = Pattern.compile("\\d{1,9}_\\d{1,18}");
+
   private final MatchService matchService;
   private final TournamentService tournamentService;
 
@@ -48,6 +57,11 @@ public class MatchController {
       throw new IllegalStateException("Usuario no autenticado.");
     }
 
+    // El id viaja en el token: solo los principales sin él obligan a buscarlo por username
+    if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+      return ((AuthenticatedUser) authentication.getPrincipal()).getId();
+    }
+
     if (authentication.getPrincipal() instanceof UserDetails) {
       UserDetails userDetails = (UserDetails) authentication.getPrincipal();
       username = userDetails.getUsername();
@@ -64,7 +78,7 @@ public class MatchController {
     return tournamentService.getUserIdByUsername(username);
   }
 
-  @Operation(summary = "Generar emparejamientos automáticos por ronda", description = "Permite a un ADMIN generar nuevas partidas para un torneo en una ronda específica.")
+  @Operation(summary = "Generar emparejamientos automáticos por ronda", description = "Permite a un ADMIN generar nuevas partidas para un torneo en una ronda específica. Con pairingMode=SWISS los jugadores se emparejan por puntuación sin repetir enfrentamientos; por defecto el emparejamiento es aleatorio. Con un número impar de jugadores uno descansa (bye): en SWISS es el peor clasificado que aún no ha descansado. El bye no se guarda como partida ni suma puntos en la clasificación.")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "201", description = "Emparejamientos generados exitosamente",
                   content = @Content(schema = @Schema(implementation = MatchResponse.class))),
@@ -83,7 +97,7 @@ public class MatchController {
   public ResponseEntity<List<MatchResponse>> generateMatches(
           @Parameter(description = "ID del torneo para el cual generar los emparejamientos")
           @PathVariable Long tournamentId,
-          @RequestBody(description = "Detalles para la generación de emparejamientos, como el número de ronda", required = true,
+          @RequestBody(description = "Detalles para la generación de emparejamientos: número de ronda y modo de emparejamiento (opcional)", required = true,
                   content = @Content(schema = @Schema(implementation = MatchGenerationRequest.class)))
           @org.springframework.web.bind.annotation.RequestBody MatchGenerationRequest request) {
     try {
@@ -96,6 +110,38 @@ public class MatchController {
     }
   }
 
+  @Operation(summary = "Generar el calendario completo de un torneo", description = "Permite a un ADMIN crear de una vez todas las partidas de un torneo que aún no tiene ninguna: liga todos contra todos (ROUND_ROBIN, opcionalmente a ida y vuelta) o cuadro de eliminación directa o doble (SINGLE_ELIMINATION, DOUBLE_ELIMINATION) sembrado según la posición global de los jugadores. En los cuadros, las partidas de rondas posteriores se crean sin jugadores y se completan al registrar los resultados.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "201", description = "Calendario generado exitosamente",
+                  content = @Content(schema = @Schema(implementation = ScheduleResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Solicitud inválida (ej. torneo no encontrado, el torneo ya tiene partidas, demasiadas partidas)",
+                  content = @Content),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
+                  content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (solo usuarios con rol ADMIN)",
+                  content = @Content),
+          @ApiResponse(responseCode = "500", description = "Error interno del servidor",
+                  content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @PostMapping("/schedule/{tournamentId}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ScheduleResponse> generateSchedule(
+          @Parameter(description = "ID del torneo para el cual generar el calendario")
+          @PathVariable Long tournamentId,
+          @RequestBody(description = "Formato del calendario y, para ROUND_ROBIN, si es a ida y vuelta", required = true,
+                  content = @Content(schema = @Schema(implementation = ScheduleGenerationRequest.class)))
+          @org.springframework.web.bind.annotation.RequestBody ScheduleGenerationRequest request) {
+    try {
+      ScheduleResponse schedule = matchService.generateSchedule(tournamentId, request);
+      return new ResponseEntity<>(schedule, HttpStatus.CREATED);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    } catch (Exception e) {
+      return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
   @Operation(summary = "Consultar una partida", description = "Permite a cualquier usuario obtener los detalles de una partida específica.")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "200", description = "Detalles de la partida devueltos exitosamente",
@@ -151,26 +197,41 @@ public class MatchController {
     }
   }
 
-  @Operation(summary = "Listar partidas por torneo", description = "Permite a cualquier usuario obtener todas las partidas asociadas a un torneo específico.")
+  @Operation(summary = "Listar partidas por torneo", description = "Permite a cualquier usuario obtener las partidas de un torneo, ordenadas por ronda e id, en páginas de hasta " + MAX_PAGE_SIZE + ". Se pueden filtrar por ronda, estado y jugador; para la página siguiente se envía el 'nextCursor' de la respuesta en el parámetro 'cursor'.")
   @ApiResponses(value = {
-          @ApiResponse(responseCode = "200", description = "Lista de partidas del torneo devuelta exitosamente",
-                  content = @Content(schema = @Schema(implementation = MatchResponse.class))),
+          @ApiResponse(responseCode = "200", description = "Página de partidas del torneo devuelta exitosamente",
+                  content = @Content(schema = @Schema(implementation = MatchPageResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' o 'cursor' inválido",
+                  content = @Content),
           @ApiResponse(responseCode = "404", description = "Torneo no encontrado",
                   content = @Content),
           @ApiResponse(responseCode = "500", description = "Error interno del servidor",
                   content = @Content)
   })
   @GetMapping("/tournament/{tournamentId}")
-  public ResponseEntity<List<MatchResponse>> getMatchesByTournament(
+  public ResponseEntity<MatchPageResponse> getMatchesByTournament(
           @Parameter(description = "ID del torneo para obtener sus partidas")
-          @PathVariable Long tournamentId) {
+          @PathVariable Long tournamentId,
+          @Parameter(description = "Solo partidas de esta ronda")
+          @RequestParam(required = false) Integer round,
+          @Parameter(description = "Solo partidas en este estado")
+          @RequestParam(required = false) MatchStatus status,
+          @Parameter(description = "Solo partidas en las que participa este jugador")
+          @RequestParam(required = false) Long playerId,
+          @Parameter(description = "Valor 'nextCursor' de la página anterior")
+          @RequestParam(required = false) String cursor,
+          @Parameter(description = "Número máximo de partidas de la página")
+          @RequestParam(defaultValue = "100") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE || (cursor != null && !CURSOR_PATTERN.matcher(cursor).matches())) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
     try {
-      List<MatchResponse> matches = matchService.getMatchesByTournament(tournamentId);
-      return new ResponseEntity<>(matches, HttpStatus.OK);
+      MatchPageResponse page = matchService.getMatchesByTournament(tournamentId, round, status, playerId, cursor, limit);
+      return new ResponseEntity<>(page, HttpStatus.OK);
     } catch (IllegalArgumentException e) {
       return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     } catch (Exception e) {
       return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
     }
   }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.grupo5.gamehub.api.dtos.messages.MessageRequest;
 import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
 import com.grupo5.gamehub.infraestructure.services.MessageService;
 import com.grupo5.gamehub.infraestructure.services.UserService;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +15,14 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -29,6 +32,8 @@ import java.util.List;
 @Tag(name = "Chat básico (HTTP polling)", description = "Endpoints para el envío y recepción de mensajes de chat en torneos y partidas.")
 public class MessageController {
 
+  private static final int MAX_PAGE_SIZE = 200;
+
   private final MessageService messageService;
   private final UserService userService;
 
@@ -38,10 +43,12 @@ public class MessageController {
     this.userService = userService;
   }
 
-  @Operation(summary = "Listar mensajes del torneo", description = "Permite a usuarios autenticados (PLAYER, ADMIN) listar los mensajes de un torneo específico.")
+  @Operation(summary = "Listar mensajes del torneo", description = "Permite a usuarios autenticados (PLAYER, ADMIN) listar los mensajes de un torneo específico, en orden cronológico y en páginas de hasta " + MAX_PAGE_SIZE + ". Sin cursor devuelve los más recientes; con 'before' los anteriores a ese id de mensaje y con 'after' los posteriores.")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "200", description = "Lista de mensajes del torneo devuelta exitosamente",
                   content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' fuera de rango o 'before' y 'after' a la vez",
+                  content = @Content),
           @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
                   content = @Content),
           @ApiResponse(responseCode = "403", description = "Acceso denegado (el usuario no es participante ni ADMIN del torneo)",
@@ -56,9 +63,18 @@ public class MessageController {
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<List<MessageResponse>> getTournamentMessages(
           @Parameter(description = "ID del torneo para obtener los mensajes")
-          @PathVariable Long tournamentId) {
+          @PathVariable Long tournamentId,
+          @Parameter(description = "Devuelve los mensajes anteriores a este id")
+          @RequestParam(required = false) Long before,
+          @Parameter(description = "Devuelve los mensajes posteriores a este id")
+          @RequestParam(required = false) Long after,
+          @Parameter(description = "Número máximo de mensajes (1-" + MAX_PAGE_SIZE + ")")
+          @RequestParam(defaultValue = "50") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE || (before != null && after != null)) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    }
     try {
-      List<MessageResponse> messages = messageService.getTournamentMessages(tournamentId);
+      List<MessageResponse> messages = messageService.getTournamentMessages(tournamentId, before, after, limit);
       return ResponseEntity.ok(messages);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
@@ -95,20 +111,25 @@ public class MessageController {
           @Valid @RequestBody MessageRequest messageRequest) {
     try {
       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      Long senderId = null;
       String username = null;
       if (authentication != null && authentication.isAuthenticated()) {
-        if (authentication.getPrincipal() instanceof UserDetails) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+          senderId = ((AuthenticatedUser) authentication.getPrincipal()).getId();
+        } else if (authentication.getPrincipal() instanceof UserDetails) {
           username = ((UserDetails) authentication.getPrincipal()).getUsername();
         } else if (authentication.getPrincipal() instanceof String) {
           username = (String) authentication.getPrincipal();
         }
       }
 
-      if (username == null) {
+      if (senderId == null && username == null) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
       }
 
-      Long senderId = userService.getUserIdByUsername(username);
+      if (senderId == null) {
+        senderId = userService.getUserIdByUsername(username);
+      }
 
       MessageResponse message = messageService.sendMessageToTournament(tournamentId, senderId, messageRequest);
       return ResponseEntity.status(HttpStatus.CREATED).body(message);
@@ -121,10 +142,12 @@ public class MessageController {
     }
   }
 
-  @Operation(summary = "Listar mensajes de la partida", description = "Permite a usuarios autenticados (PLAYER, ADMIN) listar los mensajes de una partida específica.")
+  @Operation(summary = "Listar mensajes de la partida", description = "Permite a usuarios autenticados (PLAYER, ADMIN) listar los mensajes de una partida específica, en orden cronológico y con los mismos cursores 'before'/'after' que el chat del torneo.")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "200", description = "Lista de mensajes de la partida devuelta exitosamente",
                   content = @Content(schema = @Schema(implementation = MessageResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' fuera de rango o 'before' y 'after' a la vez",
+                  content = @Content),
           @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
                   content = @Content),
           @ApiResponse(responseCode = "403", description = "Acceso denegado (el usuario no es participante ni ADMIN de la partida)",
@@ -139,9 +162,18 @@ public class MessageController {
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<List<MessageResponse>> getMatchMessages(
           @Parameter(description = "ID de la partida para obtener los mensajes")
-          @PathVariable Long matchId) {
+          @PathVariable Long matchId,
+          @Parameter(description = "Devuelve los mensajes anteriores a este id")
+          @RequestParam(required = false) Long before,
+          @Parameter(description = "Devuelve los mensajes posteriores a este id")
+          @RequestParam(required = false) Long after,
+          @Parameter(description = "Número máximo de mensajes (1-" + MAX_PAGE_SIZE + ")")
+          @RequestParam(defaultValue = "50") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE || (before != null && after != null)) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    }
     try {
-      List<MessageResponse> messages = messageService.getMatchMessages(matchId);
+      List<MessageResponse> messages = messageService.getMatchMessages(matchId, before, after, limit);
       return ResponseEntity.ok(messages);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
@@ -178,20 +210,25 @@ public class MessageController {
           @Valid @RequestBody MessageRequest messageRequest) {
     try {
       Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      Long senderId = null;
       String username = null;
       if (authentication != null && authentication.isAuthenticated()) {
-        if (authentication.getPrincipal() instanceof UserDetails) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+          senderId = ((AuthenticatedUser) authentication.getPrincipal()).getId();
+        } else if (authentication.getPrincipal() instanceof UserDetails) {
           username = ((UserDetails) authentication.getPrincipal()).getUsername();
         } else if (authentication.getPrincipal() instanceof String) {
           username = (String) authentication.getPrincipal();
         }
       }
 
-      if (username == null) {
+      if (senderId == null && username == null) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
       }
 
-      Long senderId = userService.getUserIdByUsername(username);
+      if (senderId == null) {
+        senderId = userService.getUserIdByUsername(username);
+      }
 
       MessageResponse message = messageService.sendMessageToMatch(matchId, senderId, messageRequest);
       return ResponseEntity.status(HttpStatus.CREATED).body(message);
@@ -203,4 +240,48 @@ public class MessageController {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
     }
   }
-}
\ No newline at end of file
+
+  @Operation(summary = "Suscribirse al chat del torneo en vivo", description = "Abre un flujo Server-Sent Events con los mensajes nuevos del torneo (evento 'message', con el id del mensaje). Los permisos son los mismos que para listar los mensajes y se comprueban al conectar; el historial se obtiene con GET /messages. Se envía un comentario de latido periódico y se desconecta a los clientes que no consumen a tiempo.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)", content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (el usuario no es participante ni ADMIN del torneo)", content = @Content),
+          @ApiResponse(responseCode = "404", description = "Torneo no encontrado", content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @GetMapping(value = "/tournaments/{tournamentId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<SseEmitter> streamTournamentMessages(
+          @Parameter(description = "ID del torneo")
+          @PathVariable Long tournamentId) {
+    try {
+      return ResponseEntity.ok(messageService.subscribeToTournamentMessages(tournamentId));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+  }
+
+  @Operation(summary = "Suscribirse al chat de la partida en vivo", description = "Abre un flujo Server-Sent Events con los mensajes nuevos de la partida (evento 'message', con el id del mensaje). Los permisos son los mismos que para listar los mensajes y se comprueban al conectar.")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Flujo de eventos abierto", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)", content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (el usuario no es participante ni ADMIN de la partida)", content = @Content),
+          @ApiResponse(responseCode = "404", description = "Partida no encontrada", content = @Content)
+  })
+  @SecurityRequirement(name = "bearerAuth")
+  @GetMapping(value = "/matches/{matchId}/messages/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<SseEmitter> streamMatchMessages(
+          @Parameter(description = "ID de la partida")
+          @PathVariable Long matchId) {
+    try {
+      return ResponseEntity.ok(messageService.subscribeToMatchMessages(matchId));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.grupo5.gamehub.api.controllers;
 
+import com.grupo5.gamehub.api.dtos.ranking.RankingSnapshot;
 import com.grupo5.gamehub.api.dtos.ranking.TournamentRankingResponse;
 import com.grupo5.gamehub.infraestructure.services.RankingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,11 +11,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -29,10 +34,14 @@ public class RankingController {
     this.rankingService = rankingService;
   }
 
-  @Operation(summary = "Obtener tabla de clasificación de un torneo", description = "Permite a cualquier usuario consultar la tabla de clasificación de un torneo específico.")
+  @Operation(summary = "Obtener tabla de clasificación de un torneo", description = "Permite a cualquier usuario consultar la tabla de clasificación de un torneo específico. Con 'limit' devuelve solo los primeros puestos. La respuesta lleva un ETag; si se envía en 'If-None-Match' y la clasificación no ha cambiado se responde 304 sin cuerpo.")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "200", description = "Tabla de clasificación del torneo devuelta exitosamente",
                   content = @Content(schema = @Schema(implementation = TournamentRankingResponse.class))),
+          @ApiResponse(responseCode = "304", description = "La clasificación no ha cambiado desde el ETag indicado",
+                  content = @Content),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' inválido",
+                  content = @Content),
           @ApiResponse(responseCode = "404", description = "Torneo no encontrado o no hay ranking disponible aún",
                   content = @Content),
           @ApiResponse(responseCode = "500", description = "Error interno del servidor",
@@ -41,14 +50,46 @@ public class RankingController {
   @GetMapping("/tournaments/{tournamentId}/ranking")
   public ResponseEntity<TournamentRankingResponse> getTournamentRanking(
           @Parameter(description = "ID del torneo para obtener su ranking")
-          @PathVariable Long tournamentId) {
+          @PathVariable Long tournamentId,
+          @Parameter(description = "Número máximo de jugadores a devolver (opcional, top-k)")
+          @RequestParam(required = false) Integer limit,
+          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (limit != null && limit < 1) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+    }
     try {
-      TournamentRankingResponse ranking = rankingService.getTournamentRanking(tournamentId);
-      return ResponseEntity.ok(ranking);
+      RankingSnapshot snapshot = rankingService.getTournamentRankingSnapshot(tournamentId, limit);
+      // no-cache: el cliente puede guardar la respuesta pero debe revalidarla con el ETag en cada consulta
+      if (matchesETag(ifNoneMatch, snapshot.getEtag())) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+      }
+      return ResponseEntity.ok()
+              .eTag(snapshot.getEtag())
+              .cacheControl(CacheControl.noCache())
+              .body(snapshot.getRanking());
     } catch (IllegalArgumentException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
     } catch (Exception e) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
     }
   }
+
+  private boolean matchesETag(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.grupo5.gamehub.api.controllers;
 
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentCapacityRequest;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentCreationRequest;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentJoinRequest;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentPageResponse;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentSummaryResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.WaitlistPositionResponse;
+import com.grupo5.gamehub.domain.enums.TournamentSort;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
 import com.grupo5.gamehub.infraestructure.services.TournamentService;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +20,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,13 +30,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/tournaments")
 @Tag(name = "Gestión de torneos", description = "Endpoints para la creación, unión y consulta de torneos.")
 public class TournamentController {
 
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final TournamentService tournamentService;
 
   @Autowired
@@ -44,6 +52,11 @@ public class TournamentController {
       throw new IllegalStateException("Usuario no autenticado.");
     }
 
+    // El id viaja en el token: solo los principales sin él obligan a buscarlo por username
+    if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+      return ((AuthenticatedUser) authentication.getPrincipal()).getId();
+    }
+
     if (authentication.getPrincipal() instanceof UserDetails) {
       UserDetails userDetails = (UserDetails) authentication.getPrincipal();
       username = userDetails.getUsername();
@@ -100,18 +113,37 @@ public class TournamentController {
   }
 
 
-  @Operation(summary = "Listar todos los torneos", description = "Permite a cualquier usuario obtener una lista de todos los torneos disponibles. Acceso público.")
+  @Operation(summary = "Listar torneos", description = "Permite a cualquier usuario obtener los torneos en páginas de hasta " + MAX_PAGE_SIZE + ", como resumen (número de jugadores y nombre del creador, sin la lista de jugadores). Se pueden filtrar por estado y por inicio del nombre y ordenar por fecha (NEWEST) o nombre (NAME); para la página siguiente se envía el 'nextCursor' de la respuesta en el parámetro 'cursor'. Acceso público.")
   @ApiResponses(value = {
-          @ApiResponse(responseCode = "200", description = "Lista de torneos devuelta exitosamente",
+          @ApiResponse(responseCode = "200", description = "Página de torneos devuelta exitosamente",
                   content = @Content(mediaType = "application/json",
-                          schema = @Schema(implementation = TournamentResponse.class))),
+                          schema = @Schema(implementation = TournamentPageResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Parámetro 'limit' o 'cursor' inválido",
+                  content = @Content),
           @ApiResponse(responseCode = "500", description = "Error interno del servidor",
                   content = @Content)
   })
   @GetMapping
-  public ResponseEntity<List<TournamentResponse>> getAllTournaments() {
-    List<TournamentResponse> tournaments = tournamentService.getAllTournaments();
-    return new ResponseEntity<>(tournaments, HttpStatus.OK);
+  public ResponseEntity<TournamentPageResponse> getAllTournaments(
+          @Parameter(description = "Solo torneos en este estado")
+          @RequestParam(required = false) TournamentStatus status,
+          @Parameter(description = "Solo torneos cuyo nombre empieza por este texto")
+          @RequestParam(required = false) String namePrefix,
+          @Parameter(description = "Orden del listado")
+          @RequestParam(defaultValue = "NEWEST") TournamentSort sort,
+          @Parameter(description = "Valor 'nextCursor' de la página anterior")
+          @RequestParam(required = false) String cursor,
+          @Parameter(description = "Número máximo de torneos de la página")
+          @RequestParam(defaultValue = "20") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    try {
+      TournamentPageResponse page = tournamentService.getTournamentPage(status, namePrefix, sort, cursor, limit);
+      return new ResponseEntity<>(page, HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
   }
 
 
@@ -140,13 +172,16 @@ public class TournamentController {
 
   @Operation(
           summary = "Unir a un usuario (jugador) a un torneo",
-          description = "Permite a un usuario autenticado con rol 'PLAYER' unirse a un torneo existente. Requiere autenticación.",
+          description = "Permite a un usuario autenticado con rol 'PLAYER' unirse a un torneo existente. Si el torneo está lleno y tiene lista de espera, el jugador queda en la cola (202) y puede consultar su posición en /waitlist/position en lugar de repetir la petición. Requiere autenticación.",
           security = @SecurityRequirement(name = "bearerAuth")
   )
   @ApiResponses(value = {
-          @ApiResponse(responseCode = "200", description = "Usuario unido al torneo exitosamente",
+          @ApiResponse(responseCode = "200", description = "Usuario unido al torneo exitosamente (resumen del torneo con el número de inscritos, sin la lista de jugadores)",
                   content = @Content(mediaType = "application/json",
-                          schema = @Schema(implementation = TournamentResponse.class))),
+                          schema = @Schema(implementation = TournamentSummaryResponse.class))),
+          @ApiResponse(responseCode = "202", description = "Torneo lleno: el usuario queda en la lista de espera",
+                  content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = WaitlistPositionResponse.class))),
           @ApiResponse(responseCode = "400", description = "Solicitud inválida (ej. torneo no encontrado, usuario ya unido, torneo lleno)",
                   content = @Content),
           @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)",
@@ -156,7 +191,7 @@ public class TournamentController {
   })
   @PostMapping("/{tournamentId}/join")
   @PreAuthorize("isAuthenticated()") // O si usas roles: @PreAuthorize("hasRole('PLAYER')")
-  public ResponseEntity<TournamentResponse> joinTournament(
+  public ResponseEntity<?> joinTournament(
           @Parameter(description = "ID del torneo al que el usuario desea unirse")
           @PathVariable Long tournamentId,
           @RequestBody(description = "Datos adicionales para unirse al torneo (opcional)", required = false,
@@ -170,10 +205,107 @@ public class TournamentController {
     }
 
     try {
-      TournamentResponse updatedTournament = tournamentService.joinTournament(tournamentId, userId);
+      TournamentSummaryResponse updatedTournament = tournamentService.joinTournament(tournamentId, userId);
       return new ResponseEntity<>(updatedTournament, HttpStatus.OK);
+    } catch (IllegalStateException e) {
+      if (!tournamentService.isWaitlistEnabled(tournamentId)) {
+        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+      }
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+
+    try {
+      WaitlistPositionResponse position = tournamentService.joinWaitlist(tournamentId, userId);
+      return new ResponseEntity<>(position, position.isRegistered() ? HttpStatus.OK : HttpStatus.ACCEPTED);
     } catch (IllegalArgumentException | IllegalStateException e) {
       return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
     }
   }
-}
\ No newline at end of file
+
+  @Operation(
+          summary = "Abandonar un torneo o su lista de espera",
+          description = "Da de baja al usuario autenticado de un torneo que aún no ha empezado, o lo saca de su lista de espera. La plaza liberada pasa al primero de la cola.",
+          security = @SecurityRequirement(name = "bearerAuth")
+  )
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "204", description = "Baja realizada", content = @Content),
+          @ApiResponse(responseCode = "400", description = "Torneo no encontrado, ya empezado o usuario no inscrito", content = @Content),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)", content = @Content)
+  })
+  @DeleteMapping("/{tournamentId}/join")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<Void> leaveTournament(
+          @Parameter(description = "ID del torneo que el usuario desea abandonar")
+          @PathVariable Long tournamentId) {
+    Long userId;
+    try {
+      userId = getAuthenticatedUserId();
+    } catch (RuntimeException e) {
+      return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+
+    try {
+      tournamentService.leaveTournament(tournamentId, userId);
+      return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  @Operation(
+          summary = "Consultar la posición en la lista de espera",
+          description = "Devuelve la posición del usuario autenticado en la lista de espera del torneo (1 = el siguiente en entrar), o 'registered' a true si ya tiene plaza. Es una consulta ligera pensada para sondeo.",
+          security = @SecurityRequirement(name = "bearerAuth")
+  )
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Posición devuelta exitosamente",
+                  content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = WaitlistPositionResponse.class))),
+          @ApiResponse(responseCode = "401", description = "No autorizado (falta token JWT o no válido)", content = @Content),
+          @ApiResponse(responseCode = "404", description = "El usuario no está inscrito ni en la lista de espera", content = @Content)
+  })
+  @GetMapping("/{tournamentId}/waitlist/position")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<WaitlistPositionResponse> getWaitlistPosition(
+          @Parameter(description = "ID del torneo")
+          @PathVariable Long tournamentId) {
+    Long userId;
+    try {
+      userId = getAuthenticatedUserId();
+    } catch (RuntimeException e) {
+      return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+    }
+
+    try {
+      return new ResponseEntity<>(tournamentService.getWaitlistPosition(tournamentId, userId), HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+  }
+
+  @Operation(
+          summary = "Cambiar la capacidad de un torneo",
+          description = "Permite a un 'ADMIN' modificar el número máximo de jugadores. Si aumenta y hay lista de espera, los primeros de la cola se inscriben automáticamente en un solo lote.",
+          security = @SecurityRequirement(name = "bearerAuth")
+  )
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Capacidad actualizada",
+                  content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = TournamentResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Torneo no encontrado, capacidad inválida o menor que los jugadores inscritos", content = @Content),
+          @ApiResponse(responseCode = "403", description = "Acceso denegado (el usuario no tiene el rol 'ADMIN')", content = @Content)
+  })
+  @PatchMapping("/{tournamentId}/max-players")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<TournamentResponse> updateMaxPlayers(
+          @Parameter(description = "ID del torneo")
+          @PathVariable Long tournamentId,
+          @Valid @org.springframework.web.bind.annotation.RequestBody TournamentCapacityRequest request) {
+    try {
+      return new ResponseEntity<>(tournamentService.updateMaxPlayers(tournamentId, request.getMaxPlayers()), HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+  }
+}
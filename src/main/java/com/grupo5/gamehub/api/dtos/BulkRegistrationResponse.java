@@ -0,0 +1,16 @@
+package com.grupo5.gamehub.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResponse {
+  private int requested;
+  private int created;
+  private List<RejectedRegistration> rejected;
+}
@@ -0,0 +1,14 @@
+package com.grupo5.gamehub.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRegistration {
+  private String username;
+  private String email;
+  private String reason;
+}
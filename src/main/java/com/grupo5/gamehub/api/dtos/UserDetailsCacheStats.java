@@ -0,0 +1,20 @@
+package com.grupo5.gamehub.api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDetailsCacheStats {
+  private long users;
+  private long hits;
+  private long misses;
+  private double hitRate;
+  private long loads;
+  private double averageLoadMillis;
+  private long evictions;
+}
@@ -0,0 +1,17 @@
+package com.grupo5.gamehub.api.dtos.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+  private Long userId;
+  private String username;
+  private int points;
+  private int rank;
+}
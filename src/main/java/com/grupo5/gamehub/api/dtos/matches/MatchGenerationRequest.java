@@ -1,5 +1,6 @@
 package com.grupo5.gamehub.api.dtos.matches;
 
+import com.grupo5.gamehub.domain.enums.PairingMode;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -15,4 +16,11 @@ public class MatchGenerationRequest {
   @NotNull(message = "El número de ronda no puede ser nulo.")
   @Min(value = 1, message = "El número de ronda debe ser al menos 1.")
   private Integer roundNumber;
-}
\ No newline at end of file
+
+  // Opcional; si no se indica se usa RANDOM
+  private PairingMode pairingMode;
+
+  public MatchGenerationRequest(Integer roundNumber) {
+    this.roundNumber = roundNumber;
+  }
+}
@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.matches;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MatchPageResponse {
+  private List<MatchResponse> matches;
+  // null cuando no hay más partidas; se pasa tal cual en el parámetro 'cursor' para pedir la siguiente página
+  private String nextCursor;
+}
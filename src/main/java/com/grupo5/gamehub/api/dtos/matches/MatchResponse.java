@@ -1,5 +1,6 @@
 package com.grupo5.gamehub.api.dtos.matches;
 
+import com.grupo5.gamehub.domain.enums.BracketType;
 import com.grupo5.gamehub.domain.enums.MatchStatus;
 import com.grupo5.gamehub.domain.enums.Result;
 import lombok.AllArgsConstructor;
@@ -21,4 +22,8 @@ public class MatchResponse {
   private Result result;
   private MatchStatus status;
   private Integer roundNumber;
+  // Solo en cuadros de eliminación
+  private BracketType bracket;
+  private Long nextMatchId;
+  private Long loserNextMatchId;
 }
\ No newline at end of file
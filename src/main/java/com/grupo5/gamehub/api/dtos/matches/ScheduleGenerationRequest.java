@@ -0,0 +1,20 @@
+package com.grupo5.gamehub.api.dtos.matches;
+
+import com.grupo5.gamehub.domain.enums.ScheduleFormat;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleGenerationRequest {
+  @NotNull(message = "El formato del calendario no puede ser nulo.")
+  private ScheduleFormat format;
+
+  // Solo para ROUND_ROBIN: ida y vuelta
+  private boolean doubleRoundRobin;
+}
@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.matches;
+
+import com.grupo5.gamehub.domain.enums.ScheduleFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleResponse {
+  private Long tournamentId;
+  private ScheduleFormat format;
+  private int rounds;
+  private int matchesCreated;
+}
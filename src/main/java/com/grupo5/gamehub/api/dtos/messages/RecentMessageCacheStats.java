@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.messages;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentMessageCacheStats {
+  private long rooms;
+  private long cachedMessages;
+  private long hits;
+  private long misses;
+  private long evictedRooms;
+}
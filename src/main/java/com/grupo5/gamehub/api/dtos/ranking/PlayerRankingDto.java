@@ -15,6 +15,7 @@ public class PlayerRankingDto {
   private int gamesPlayed;
   private int gamesWon;
   private int gamesLost;
+  private int gamesDrawn;
   private int totalPoints;
   private Integer currentGlobalRank;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.grupo5.gamehub.api.dtos.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Ranking junto con su ETag (fuerte), calculado a partir del contenido
+@Getter
+@AllArgsConstructor
+public class RankingSnapshot {
+  private TournamentRankingResponse ranking;
+  private String etag;
+}
@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingReplayResponse {
+  private String algorithm;
+  private int matchesReplayed;
+  private int periods;
+  private int playersRated;
+  private long elapsedMs;
+}
@@ -0,0 +1,16 @@
+package com.grupo5.gamehub.api.dtos.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingsRebuildResponse {
+  private int tournamentsRebuilt;
+  private int rowsWritten;
+  private long elapsedMs;
+}
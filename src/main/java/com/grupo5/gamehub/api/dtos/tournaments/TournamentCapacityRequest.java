@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.tournaments;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentCapacityRequest {
+  @NotNull(message = "La capacidad máxima de jugadores no puede ser nula")
+  @Min(value = 2, message = "Un torneo debe tener al menos 2 jugadores")
+  private Integer maxPlayers;
+}
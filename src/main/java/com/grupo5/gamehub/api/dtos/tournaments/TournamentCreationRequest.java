@@ -19,4 +19,11 @@ public class TournamentCreationRequest {
   @NotNull(message = "La capacidad máxima de jugadores no puede ser nula")
   @Min(value = 2, message = "Un torneo debe tener al menos 2 jugadores")
   private Integer maxPlayers;
+
+  // Opcional: si es true, las inscripciones con el torneo lleno pasan a la lista de espera
+  private Boolean waitlistEnabled;
+
+  public TournamentCreationRequest(String name, Integer maxPlayers) {
+    this(name, maxPlayers, null);
+  }
 }
\ No newline at end of file
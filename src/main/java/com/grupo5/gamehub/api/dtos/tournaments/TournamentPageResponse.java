@@ -0,0 +1,18 @@
+package com.grupo5.gamehub.api.dtos.tournaments;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentPageResponse {
+  private List<TournamentSummaryResponse> tournaments;
+  // null en la última página; se envía en el parámetro 'cursor' (con el mismo 'sort') para pedir la siguiente
+  private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.grupo5.gamehub.api.dtos.tournaments;
+
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentSummaryResponse {
+  private Long id;
+  private String name;
+  private TournamentStatus status;
+  private Integer maxPlayers;
+  private Integer playerCount;
+  private LocalDateTime createdAt;
+  private String creatorUsername;
+}
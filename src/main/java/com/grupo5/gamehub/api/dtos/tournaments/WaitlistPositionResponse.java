@@ -0,0 +1,17 @@
+package com.grupo5.gamehub.api.dtos.tournaments;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionResponse {
+  private Long tournamentId;
+  private boolean registered; // true si el jugador ya tiene plaza (ha salido de la cola)
+  private Long position; // 1 = el siguiente en entrar; null si ya está inscrito
+  private long waiting; // Total de jugadores en la lista de espera
+}
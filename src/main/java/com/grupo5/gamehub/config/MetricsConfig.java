@@ -0,0 +1,127 @@
+package com.grupo5.gamehub.config;
+
+import com.grupo5.gamehub.infraestructure.services.MessageWriteBehind;
+import com.grupo5.gamehub.infraestructure.services.RecentMessageCache;
+import com.grupo5.gamehub.infraestructure.support.HibernateRequestStats;
+import com.grupo5.gamehub.security.auth.BoundedPasswordEncoder;
+import com.grupo5.gamehub.security.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas propias además de las de Actuator (HTTP, JVM, Hikari, Hibernate). Los tiempos de los servicios
+ * salen de las anotaciones @Timed. Aquí se publican las sentencias SQL y entidades cargadas por petición,
+ * y el estado de las cachés y colas que antes solo se veían en /api/admin.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+  private final MeterRegistry meterRegistry;
+
+  public MetricsConfig(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new RequestDatabaseMetrics(meterRegistry));
+  }
+
+  // Mismos nombres que CaffeineCacheMetrics (cache.gets, cache.size...) para reutilizar los paneles de caché
+  @Bean
+  public MeterBinder gameHubCacheMetrics(UserDetailsServiceImpl userDetailsService, RecentMessageCache recentMessageCache) {
+    return registry -> {
+      FunctionCounter.builder("cache.gets", userDetailsService, service -> service.stats().getHits())
+              .tags("cache", "auth-users", "result", "hit").register(registry);
+      FunctionCounter.builder("cache.gets", userDetailsService, service -> service.stats().getMisses())
+              .tags("cache", "auth-users", "result", "miss").register(registry);
+      Gauge.builder("cache.size", userDetailsService, service -> service.stats().getUsers())
+              .tag("cache", "auth-users").register(registry);
+      FunctionTimer.builder("cache.load", userDetailsService,
+                      service -> service.stats().getLoads(),
+                      service -> service.stats().getAverageLoadMillis() * service.stats().getLoads(),
+                      TimeUnit.MILLISECONDS)
+              .tag("cache", "auth-users").register(registry);
+
+      FunctionCounter.builder("cache.gets", recentMessageCache, cache -> cache.stats().getHits())
+              .tags("cache", "chat-recent", "result", "hit").register(registry);
+      FunctionCounter.builder("cache.gets", recentMessageCache, cache -> cache.stats().getMisses())
+              .tags("cache", "chat-recent", "result", "miss").register(registry);
+      FunctionCounter.builder("cache.evictions", recentMessageCache, cache -> cache.stats().getEvictedRooms())
+              .tag("cache", "chat-recent").register(registry);
+      Gauge.builder("cache.size", recentMessageCache, cache -> cache.stats().getRooms())
+              .tag("cache", "chat-recent").register(registry);
+      Gauge.builder("gamehub.chat.recent.messages", recentMessageCache, cache -> cache.stats().getCachedMessages())
+              .description("Mensajes guardados entre todas las salas de la caché de mensajes recientes")
+              .register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder gameHubQueueMetrics(PasswordEncoder passwordEncoder, MessageWriteBehind messageWriteBehind) {
+    return registry -> {
+      if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+        Gauge.builder("gamehub.auth.hashing.queued", bounded, BoundedPasswordEncoder::queuedTasks)
+                .description("Hashes de contraseña esperando un hilo del pool")
+                .register(registry);
+      }
+      Gauge.builder("gamehub.chat.write_behind.pending", messageWriteBehind, MessageWriteBehind::pendingCount)
+              .description("Mensajes aceptados que todavía no están en la base de datos")
+              .register(registry);
+    };
+  }
+
+  // Sentencias y entidades por petición, etiquetadas con el patrón de la ruta (no con la URL, para no
+  // disparar la cardinalidad)
+  static class RequestDatabaseMetrics implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    RequestDatabaseMetrics(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+      HibernateRequestStats.reset();
+      return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+      record("gamehub.http.db.statements", "Sentencias SQL preparadas por petición",
+              request.getMethod(), uri, HibernateRequestStats.statements());
+      record("gamehub.http.db.entity.loads", "Entidades cargadas por Hibernate por petición",
+              request.getMethod(), uri, HibernateRequestStats.entityLoads());
+      HibernateRequestStats.clear();
+    }
+
+    private void record(String name, String description, String method, String uri, long value) {
+      DistributionSummary.builder(name)
+              .description(description)
+              .tags("method", method, "uri", uri)
+              .publishPercentileHistogram()
+              .maximumExpectedValue(1000.0)
+              .register(meterRegistry)
+              .record(value);
+    }
+  }
+}
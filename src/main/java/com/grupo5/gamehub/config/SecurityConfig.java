@@ -1,8 +1,11 @@
 package com.grupo5.gamehub.config;
 
+import com.grupo5.gamehub.security.auth.BoundedPasswordEncoder;
 import com.grupo5.gamehub.security.jwt.JwtRequestFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import jakarta.servlet.DispatcherType;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -11,6 +14,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,15 +29,23 @@ public class SecurityConfig {
 
   private final JwtRequestFilter jwtRequestFilter;
   private final UserDetailsService userDetailsService;
+  private final UserDetailsPasswordService userDetailsPasswordService;
 
-  public SecurityConfig(JwtRequestFilter jwtRequestFilter, UserDetailsService userDetailsService) {
+  public SecurityConfig(JwtRequestFilter jwtRequestFilter, UserDetailsService userDetailsService,
+                        UserDetailsPasswordService userDetailsPasswordService) {
     this.jwtRequestFilter = jwtRequestFilter;
     this.userDetailsService = userDetailsService;
+    this.userDetailsPasswordService = userDetailsPasswordService;
   }
 
+  // BCrypt fuera del hilo de la petición, en un pool del tamaño de la CPU (threads=0) con cola acotada
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(@Value("${gamehub.auth.bcrypt.strength:10}") int strength,
+                                         @Value("${gamehub.auth.hashing.threads:0}") int threads,
+                                         @Value("${gamehub.auth.hashing.queue-capacity:200}") int queueCapacity,
+                                         @Value("${gamehub.auth.hashing.max-wait-ms:3000}") long maxWaitMs) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, maxWaitMs);
   }
 
   @Bean
@@ -42,19 +54,25 @@ public class SecurityConfig {
   }
 
   @Bean
-  public DaoAuthenticationProvider authenticationProvider() {
+  public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
-    authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setPasswordEncoder(passwordEncoder);
+    // Tras un login correcto, si el hash guardado tiene un coste menor que el configurado se vuelve a calcular
+    authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
     return authProvider;
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
     http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                    // Los flujos SSE terminan con un dispatch ASYNC que no vuelve a pasar por el filtro JWT;
+                    // la petición ya se autorizó al abrir el flujo
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                     // Rutas de autenticación (login, register) - Acceso público
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/public/**").permitAll()
@@ -74,13 +92,21 @@ public class SecurityConfig {
                     ).permitAll() // Permite acceso público a Swagger UI y OpenAPI docs
 
 
+                    // Actuator: salud y métricas para el scraper de Prometheus, el resto solo ADMIN
+                    .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                     // Endpoint público de ranking para torneos
                     .requestMatchers(HttpMethod.GET, "/api/tournaments/{id}/ranking").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/leaderboard/top", "/api/leaderboard/users/**").permitAll()
 
                     // Rutas que requieren rol ADMIN
+                    .requestMatchers("/api/admin/**").hasRole("ADMIN") // Operaciones de mantenimiento
                     .requestMatchers(HttpMethod.POST, "/api/tournaments").hasRole("ADMIN") // Crear torneo
                     .requestMatchers(HttpMethod.POST, "/api/matches/generate/{tournamentId}").hasRole("ADMIN") // Generar matches
+                    .requestMatchers(HttpMethod.POST, "/api/matches/schedule/{tournamentId}").hasRole("ADMIN") // Generar calendario completo
                     .requestMatchers(HttpMethod.PUT, "/api/matches/{id}/result").hasRole("ADMIN") // Actualizar resultado de match
+                    .requestMatchers(HttpMethod.PATCH, "/api/tournaments/{id}/max-players").hasRole("ADMIN") // Cambiar capacidad
 
                     // Rutas GET de torneos y matches (consulta) - Acceso público
                     .requestMatchers(HttpMethod.GET, "/api/tournaments", "/api/tournaments/{id}").permitAll()
@@ -88,6 +114,8 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.GET, "/api/users/{id}").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/users/me").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/tournaments/{id}/join").hasRole("PLAYER")
+                    .requestMatchers(HttpMethod.DELETE, "/api/tournaments/{id}/join").hasRole("PLAYER")
+                    .requestMatchers(HttpMethod.GET, "/api/tournaments/{id}/waitlist/position").authenticated()
 
 
                     // Rutas de chat (requieren autenticación)
@@ -95,12 +123,14 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.POST, "/api/tournaments/{id}/messages").authenticated()
                     .requestMatchers(HttpMethod.GET, "/api/matches/{id}/messages").authenticated()
                     .requestMatchers(HttpMethod.POST, "/api/matches/{id}/messages").authenticated()
+                    .requestMatchers(HttpMethod.GET, "/api/tournaments/{id}/messages/stream").authenticated()
+                    .requestMatchers(HttpMethod.GET, "/api/matches/{id}/messages/stream").authenticated()
 
 
                     // Todas las demás rutas requieren autenticación por defecto
                     .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
@@ -1,10 +1,12 @@
 package com.grupo5.gamehub.domain.entities;
 
+import com.grupo5.gamehub.domain.enums.BracketType;
 import com.grupo5.gamehub.domain.enums.MatchStatus; // Nueva importación
 import com.grupo5.gamehub.domain.enums.Result;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.List; // Aunque no se usa directamente en este constructor, lo dejo si lo usas en el futuro
 
 @Entity
@@ -13,10 +15,16 @@ import java.util.List; // Aunque no se usa directamente en este constructor, lo
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        // Listado paginado por (ronda, id) dentro del torneo
+        @Index(name = "idx_matches_tournament_round_id", columnList = "tournament_id, round_number, id"),
+        @Index(name = "idx_matches_tournament_status", columnList = "tournament_id, status")
+})
 public class Match {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids reservados de 50 en 50: Hibernate conoce el id sin insertar y puede agrupar los INSERT en lotes
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matches_seq")
+    @SequenceGenerator(name = "matches_seq", sequenceName = "matches_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -28,11 +36,11 @@ public class Match {
     private User winner;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "player1_id", nullable = false)
-    private User player1;
+    @JoinColumn(name = "player1_id")
+    private User player1; // null mientras espera al ganador de una partida anterior del cuadro
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "player2_id", nullable = false)
+    @JoinColumn(name = "player2_id")
     private User player2;
 
     @Enumerated(EnumType.STRING)
@@ -46,6 +54,27 @@ public class Match {
     @Column(nullable = false)
     private Integer roundNumber;
 
+    // Momento en que se registró el resultado; define el periodo al reconstruir las valoraciones
+    private LocalDateTime completedAt;
+
+    // Cuadros de eliminación: a qué partida (y a qué hueco, 1 o 2) pasan el ganador y, en doble eliminación, el perdedor
+    @Enumerated(EnumType.STRING)
+    private BracketType bracket;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_match_id")
+    private Match nextMatch;
+
+    private Integer nextMatchSlot;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "loser_next_match_id")
+    private Match loserNextMatch;
+
+    private Integer loserNextMatchSlot;
+
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Message> messages;
 
@@ -10,14 +10,19 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // Historial paginado por id dentro de cada sala
+        @Index(name = "idx_messages_tournament_id", columnList = "tournament_id, id"),
+        @Index(name = "idx_messages_match_id", columnList = "match_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Message {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_seq")
+    @SequenceGenerator(name = "messages_seq", sequenceName = "messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,6 +4,8 @@ import com.grupo5.gamehub.domain.enums.TournamentStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import jakarta.persistence.Entity;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 import java.time.LocalDateTime;
@@ -16,11 +18,19 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@Table(name = "Tournaments")
+// Solo se escriben las columnas modificadas: guardar el torneo (p. ej. al cambiar de estado) no debe
+// pisar player_count, que las inscripciones actualizan en paralelo con sentencias propias
+@DynamicUpdate
+@Table(name = "Tournaments", indexes = {
+        // Listado paginado: más recientes primero, con o sin filtro de estado
+        @Index(name = "idx_tournaments_created", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_tournaments_status_created", columnList = "status, created_at DESC, id DESC")
+})
 public class Tournament {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tournaments_seq")
+    @SequenceGenerator(name = "tournaments_seq", sequenceName = "tournaments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -33,6 +43,16 @@ public class Tournament {
     @Column(nullable = false)
     private Integer maxPlayers; // Capacidad máxima de jugadores
 
+    // Copia de players.size(): solo la modifica la actualización condicional de TournamentRepository.reserveSlot
+    @ColumnDefault("0")
+    @Column(name = "player_count", nullable = false)
+    private Integer playerCount = 0;
+
+    // Con lista de espera, las inscripciones a un torneo lleno se encolan en vez de rechazarse
+    @ColumnDefault("false")
+    @Column(name = "waitlist_enabled", nullable = false)
+    private boolean waitlistEnabled;
+
     @Column(nullable = false)
     private LocalDateTime createdAt; // Fecha y hora de creación del torneo
 
@@ -44,7 +64,8 @@ public class Tournament {
     @JoinTable(
             name = "tournament_players",
             joinColumns = @JoinColumn(name = "tournament_id"),
-            inverseJoinColumns = @JoinColumn(name = "player_id")
+            inverseJoinColumns = @JoinColumn(name = "player_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_tournament_players", columnNames = {"tournament_id", "player_id"})
     )
     private List<User> players = new ArrayList<>();
 
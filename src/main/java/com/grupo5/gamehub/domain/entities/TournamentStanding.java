@@ -0,0 +1,63 @@
+package com.grupo5.gamehub.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(exclude = {"tournament", "user"})
+@IdClass(TournamentStanding.StandingId.class)
+@Table(name = "tournament_standings",
+        indexes = @Index(name = "idx_tournament_standings_ranking", columnList = "tournament_id, points DESC, won DESC"))
+public class TournamentStanding {
+
+    @Id
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", insertable = false, updatable = false)
+    private Tournament tournament;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private int played;
+
+    @Column(nullable = false)
+    private int won;
+
+    @Column(nullable = false)
+    private int lost;
+
+    @Column(nullable = false)
+    private int drawn;
+
+    @Column(nullable = false)
+    private int points;
+
+    // Se incrementa en cada escritura; permite aplicar en memoria solo la versión más reciente de cada fila
+    @Column(nullable = false)
+    private long version;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class StandingId implements Serializable {
+        private Long tournamentId;
+        private Long userId;
+    }
+}
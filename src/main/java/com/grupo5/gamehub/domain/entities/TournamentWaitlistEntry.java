@@ -0,0 +1,45 @@
+package com.grupo5.gamehub.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString(exclude = {"tournament", "player"})
+@Table(name = "tournament_waitlist",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tournament_waitlist", columnNames = {"tournament_id", "player_id"}),
+        // Cola FIFO por torneo: promoción y cálculo de la posición recorren este índice
+        indexes = @Index(name = "idx_tournament_waitlist_queue", columnList = "tournament_id, created_at, id"))
+public class TournamentWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tournament_waitlist_seq")
+    @SequenceGenerator(name = "tournament_waitlist_seq", sequenceName = "tournament_waitlist_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    private Tournament tournament;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    private User player;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // Momento en que el jugador entró en la cola
+
+    public TournamentWaitlistEntry(Tournament tournament, User player, LocalDateTime createdAt) {
+        this.tournament = tournament;
+        this.player = player;
+        this.createdAt = createdAt;
+    }
+}
@@ -14,11 +14,15 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@Table(name = "Users")
+@Table(name = "Users", indexes = {
+        // Recuento y desplazamiento de posiciones globales por rango de puntos
+        @Index(name = "idx_users_role_points", columnList = "role, points")
+})
 @EqualsAndHashCode(of = {"id"})
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     @Column(unique = true, nullable = false)
     private String username;
@@ -36,6 +40,11 @@ public class User {
     private Integer rank;
     private Integer points ;
 
+    // Valoración exacta; 'points' es su valor redondeado. Desviación y volatilidad solo las usa Glicko-2.
+    private Double rating;
+    private Double ratingDeviation;
+    private Double volatility;
+
     @ManyToMany(mappedBy = "players")
     private List<Tournament> tournaments = new ArrayList<>();
 
@@ -0,0 +1,7 @@
+package com.grupo5.gamehub.domain.enums;
+
+public enum BracketType {
+  WINNERS,
+  LOSERS,
+  GRAND_FINAL
+}
@@ -0,0 +1,6 @@
+package com.grupo5.gamehub.domain.enums;
+
+public enum PairingMode {
+  RANDOM, // Emparejamiento aleatorio (comportamiento original)
+  SWISS   // Sistema suizo: por puntuación y sin repetir enfrentamientos
+}
@@ -0,0 +1,7 @@
+package com.grupo5.gamehub.domain.enums;
+
+public enum ScheduleFormat {
+  ROUND_ROBIN,        // Todos contra todos (método del círculo)
+  SINGLE_ELIMINATION, // Eliminación directa
+  DOUBLE_ELIMINATION  // Doble eliminación: cuadro de ganadores, cuadro de perdedores y final
+}
@@ -0,0 +1,6 @@
+package com.grupo5.gamehub.domain.enums;
+
+public enum TournamentSort {
+  NEWEST, // Más recientes primero (fecha de creación e id descendentes)
+  NAME    // Alfabético por nombre
+}
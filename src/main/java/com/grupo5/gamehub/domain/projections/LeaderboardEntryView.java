@@ -0,0 +1,10 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Jugador con valoración, tal y como lo necesita la clasificación global en memoria
+public interface LeaderboardEntryView {
+  Long getId();
+
+  String getUsername();
+
+  Integer getPoints();
+}
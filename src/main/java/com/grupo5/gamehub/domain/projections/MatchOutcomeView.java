@@ -0,0 +1,20 @@
+package com.grupo5.gamehub.domain.projections;
+
+import java.time.LocalDateTime;
+
+// Resultado de una partida completada, sin cargar entidades
+public interface MatchOutcomeView {
+  Long getId();
+
+  Long getTournamentId();
+
+  Integer getRoundNumber();
+
+  Long getPlayer1Id();
+
+  Long getPlayer2Id();
+
+  Long getWinnerId();
+
+  LocalDateTime getCompletedAt();
+}
@@ -0,0 +1,8 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Jugadores de una partida ya generada; basta para saber quién se ha enfrentado a quién
+public interface MatchPairingView {
+  Long getPlayer1Id();
+
+  Long getPlayer2Id();
+}
@@ -0,0 +1,44 @@
+package com.grupo5.gamehub.domain.projections;
+
+import com.grupo5.gamehub.domain.enums.BracketType;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.Result;
+
+// Columnas de MatchResponse leídas en una sola consulta (torneo y jugadores incluidos)
+public interface MatchResponseView {
+  Long getId();
+
+  Long getTournamentId();
+
+  String getTournamentName();
+
+  Long getPlayer1Id();
+
+  String getPlayer1Username();
+
+  String getPlayer1Email();
+
+  Long getPlayer2Id();
+
+  String getPlayer2Username();
+
+  String getPlayer2Email();
+
+  Long getWinnerId();
+
+  String getWinnerUsername();
+
+  String getWinnerEmail();
+
+  Result getResult();
+
+  MatchStatus getStatus();
+
+  Integer getRoundNumber();
+
+  BracketType getBracket();
+
+  Long getNextMatchId();
+
+  Long getLoserNextMatchId();
+}
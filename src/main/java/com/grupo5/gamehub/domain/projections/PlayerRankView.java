@@ -0,0 +1,8 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Posición global actual de un jugador
+public interface PlayerRankView {
+  Long getId();
+
+  Integer getRank();
+}
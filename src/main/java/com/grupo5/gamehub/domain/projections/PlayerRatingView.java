@@ -0,0 +1,14 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Valoración actual de un jugador, leída directamente de la tabla (no del contexto de persistencia)
+public interface PlayerRatingView {
+  Long getId();
+
+  Double getRating();
+
+  Double getRatingDeviation();
+
+  Double getVolatility();
+
+  Integer getPoints();
+}
@@ -0,0 +1,16 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Contadores de una fila de clasificación tal y como quedan tras una escritura
+public interface StandingCounters {
+  int getPlayed();
+
+  int getWon();
+
+  int getLost();
+
+  int getDrawn();
+
+  int getPoints();
+
+  long getVersion();
+}
@@ -0,0 +1,20 @@
+package com.grupo5.gamehub.domain.projections;
+
+// Fila de clasificación con los datos del jugador, leída en una sola consulta
+public interface StandingView {
+  Long getUserId();
+
+  String getUsername();
+
+  int getPlayed();
+
+  int getWon();
+
+  int getLost();
+
+  int getDrawn();
+
+  int getPoints();
+
+  long getVersion();
+}
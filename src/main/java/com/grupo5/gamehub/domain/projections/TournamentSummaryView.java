@@ -0,0 +1,22 @@
+package com.grupo5.gamehub.domain.projections;
+
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+
+import java.time.LocalDateTime;
+
+// Resumen de un torneo para listados: el número de jugadores sin cargar la lista
+public interface TournamentSummaryView {
+  Long getId();
+
+  String getName();
+
+  TournamentStatus getStatus();
+
+  Integer getMaxPlayers();
+
+  Integer getPlayerCount();
+
+  LocalDateTime getCreatedAt();
+
+  String getCreatorUsername();
+}
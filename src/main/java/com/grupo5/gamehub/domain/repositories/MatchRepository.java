@@ -3,10 +3,17 @@ package com.grupo5.gamehub.domain.repositories;
 import com.grupo5.gamehub.domain.entities.Match;
 import com.grupo5.gamehub.domain.entities.Tournament;
 import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.projections.MatchOutcomeView;
+import com.grupo5.gamehub.domain.projections.MatchPairingView;
+import com.grupo5.gamehub.domain.projections.MatchResponseView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
@@ -16,6 +23,53 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
   // Método para encontrar todas las partidas de un torneo
   List<Match> findByTournament(Tournament tournament);
 
+  boolean existsByTournamentId(Long tournamentId);
+
+  // Permiso de chat de la partida sin cargar la partida ni sus jugadores
+  @Query("select count(m) > 0 from Match m where m.id = :matchId and (m.player1.id = :userId or m.player2.id = :userId)")
+  boolean isMatchPlayer(@Param("matchId") Long matchId, @Param("userId") Long userId);
+
   // Nuevo método para encontrar partidas por torneo y estado
   List<Match> findByTournamentIdAndStatus(Long tournamentId, MatchStatus status);
-}
\ No newline at end of file
+
+  // Historial de resultados en orden cronológico (las partidas anteriores a completedAt van primero)
+  @Query("select m.id as id, m.tournament.id as tournamentId, m.roundNumber as roundNumber, " +
+          "m.player1.id as player1Id, m.player2.id as player2Id, m.winner.id as winnerId, m.completedAt as completedAt " +
+          "from Match m where m.status = :status order by m.completedAt asc nulls first, m.id asc")
+  List<MatchOutcomeView> findOutcomesByStatus(@Param("status") MatchStatus status);
+
+  // Solo los ids de los jugadores de cada partida del torneo, sin cargar entidades
+  @Query("select m.player1.id as player1Id, m.player2.id as player2Id from Match m " +
+          "where m.tournament.id = :tournamentId and m.player1 is not null and m.player2 is not null")
+  List<MatchPairingView> findPairingsByTournamentId(@Param("tournamentId") Long tournamentId);
+
+  String MATCH_RESPONSE_SELECT = "select m.id as id, t.id as tournamentId, t.name as tournamentName, " +
+          "p1.id as player1Id, p1.username as player1Username, p1.email as player1Email, " +
+          "p2.id as player2Id, p2.username as player2Username, p2.email as player2Email, " +
+          "w.id as winnerId, w.username as winnerUsername, w.email as winnerEmail, " +
+          "m.result as result, m.status as status, m.roundNumber as roundNumber, m.bracket as bracket, " +
+          "m.nextMatch.id as nextMatchId, m.loserNextMatch.id as loserNextMatchId " +
+          "from Match m join m.tournament t left join m.player1 p1 left join m.player2 p2 left join m.winner w ";
+
+  // Partidas del torneo con torneo y jugadores en la misma consulta (sin un select por relación LAZY)
+  @Query(MATCH_RESPONSE_SELECT + "where t.id = :tournamentId order by m.roundNumber asc, m.id asc")
+  List<MatchResponseView> findResponsesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+  @Query(MATCH_RESPONSE_SELECT + "where m.id = :id")
+  Optional<MatchResponseView> findResponseById(@Param("id") Long id);
+
+  // Página por clave (ronda, id): la primera página se pide con (0, 0). Los filtros nulos no se aplican.
+  @Query(MATCH_RESPONSE_SELECT + "where t.id = :tournamentId " +
+          "and (m.roundNumber, m.id) > (:afterRound, :afterId) " +
+          "and (:roundNumber is null or m.roundNumber = :roundNumber) " +
+          "and (:status is null or m.status = :status) " +
+          "and (:playerId is null or p1.id = :playerId or p2.id = :playerId) " +
+          "order by m.roundNumber asc, m.id asc")
+  List<MatchResponseView> findResponsePage(@Param("tournamentId") Long tournamentId,
+                                           @Param("afterRound") Integer afterRound,
+                                           @Param("afterId") Long afterId,
+                                           @Param("roundNumber") Integer roundNumber,
+                                           @Param("status") MatchStatus status,
+                                           @Param("playerId") Long playerId,
+                                           Pageable pageable);
+}
@@ -1,14 +1,36 @@
 package com.grupo5.gamehub.domain.repositories;
 
 import com.grupo5.gamehub.domain.entities.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-  List<Message> findByTournamentIdOrderBySentAtAsc(Long tournamentId);
 
-  List<Message> findByMatchIdOrderBySentAtAsc(Long matchId);
-}
\ No newline at end of file
+  // Historial por cursor sobre (sala, id): las páginas 'before' vienen de la más nueva a la más antigua y las
+  // 'after' al revés; la más reciente se pide con beforeId = Long.MAX_VALUE. Ambas recorren idx_messages_*_id.
+  @Query("select m from Message m join fetch m.sender " +
+          "where m.tournament.id = :tournamentId and m.id < :beforeId order by m.id desc")
+  List<Message> findTournamentPageBefore(@Param("tournamentId") Long tournamentId, @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+  @Query("select m from Message m join fetch m.sender " +
+          "where m.tournament.id = :tournamentId and m.id > :afterId order by m.id asc")
+  List<Message> findTournamentPageAfter(@Param("tournamentId") Long tournamentId, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+  @Query("select m from Message m join fetch m.sender " +
+          "where m.match.id = :matchId and m.id < :beforeId order by m.id desc")
+  List<Message> findMatchPageBefore(@Param("matchId") Long matchId, @Param("beforeId") Long beforeId,
+                                    Pageable pageable);
+
+  @Query("select m from Message m join fetch m.sender " +
+          "where m.match.id = :matchId and m.id > :afterId order by m.id asc")
+  List<Message> findMatchPageAfter(@Param("matchId") Long matchId, @Param("afterId") Long afterId,
+                                   Pageable pageable);
+}
@@ -1,9 +1,19 @@
 package com.grupo5.gamehub.domain.repositories;
 
 import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.TournamentSummaryView;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +21,62 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long> {
 
   Optional<Tournament> findByName(String name);
 
+  @Query("select t.id from Tournament t")
+  List<Long> findAllIds();
+
+  // Reserva una plaza de forma atómica: devuelve 0 si el torneo está lleno o ya no admite inscripciones.
+  // La fila queda bloqueada hasta el commit, así que las inscripciones a un mismo torneo se serializan aquí.
+  @Modifying
+  @Query("update Tournament t set t.playerCount = t.playerCount + 1 " +
+          "where t.id = :tournamentId and t.status = :status and t.playerCount < t.maxPlayers")
+  int reserveSlot(@Param("tournamentId") Long tournamentId, @Param("status") TournamentStatus status);
+
+  // Inserta directamente en la tabla de unión para no cargar la lista de jugadores
+  @Modifying
+  @Query(value = "insert into tournament_players (tournament_id, player_id) values (:tournamentId, :playerId)",
+          nativeQuery = true)
+  void addPlayer(@Param("tournamentId") Long tournamentId, @Param("playerId") Long playerId);
+
+  @Modifying
+  @Query(value = "delete from tournament_players where tournament_id = :tournamentId and player_id = :playerId",
+          nativeQuery = true)
+  int removePlayer(@Param("tournamentId") Long tournamentId, @Param("playerId") Long playerId);
+
+  // Bloquea la fila del torneo: cambios de capacidad, bajas y promociones de la lista de espera se serializan
+  // con reserveSlot, que también la bloquea
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t from Tournament t where t.id = :id")
+  Optional<Tournament> findByIdForUpdate(@Param("id") Long id);
+
+  @Query("select count(p) > 0 from Tournament t join t.players p where t.id = :tournamentId and p.id = :playerId")
+  boolean isPlayerRegistered(@Param("tournamentId") Long tournamentId, @Param("playerId") Long playerId);
+
+  String SUMMARY_SELECT = "select t.id as id, t.name as name, t.status as status, t.maxPlayers as maxPlayers, " +
+          "t.playerCount as playerCount, t.createdAt as createdAt, c.username as creatorUsername " +
+          "from Tournament t join t.creator c ";
+
+  // 'namePattern' ya viene con los comodines escapados y terminado en '%'
+  String SUMMARY_FILTERS = "and (:status is null or t.status = :status) " +
+          "and (:namePattern is null or t.name like :namePattern escape '\\') ";
+
+  // Más recientes primero; la primera página se pide con una clave mayor que cualquier fila
+  @Query(SUMMARY_SELECT + "where (t.createdAt, t.id) < (:beforeCreatedAt, :beforeId) " + SUMMARY_FILTERS +
+          "order by t.createdAt desc, t.id desc")
+  List<TournamentSummaryView> findSummariesNewestFirst(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                       @Param("beforeId") Long beforeId,
+                                                       @Param("status") TournamentStatus status,
+                                                       @Param("namePattern") String namePattern,
+                                                       Pageable pageable);
+
+  // Resumen de un solo torneo (respuesta de la inscripción): el contador de plazas, sin cargar la lista
+  @Query(SUMMARY_SELECT + "where t.id = :id")
+  Optional<TournamentSummaryView> findSummaryById(@Param("id") Long id);
+
+  // Por nombre (único, así que basta como clave); la primera página se pide con ''
+  @Query(SUMMARY_SELECT + "where t.name > :afterName " + SUMMARY_FILTERS + "order by t.name asc")
+  List<TournamentSummaryView> findSummariesByName(@Param("afterName") String afterName,
+                                                  @Param("status") TournamentStatus status,
+                                                  @Param("namePattern") String namePattern,
+                                                  Pageable pageable);
 
 }
\ No newline at end of file
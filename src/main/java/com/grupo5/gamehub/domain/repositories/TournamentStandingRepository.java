@@ -0,0 +1,90 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.TournamentStanding;
+import com.grupo5.gamehub.domain.projections.StandingCounters;
+import com.grupo5.gamehub.domain.projections.StandingView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TournamentStandingRepository extends JpaRepository<TournamentStanding, TournamentStanding.StandingId> {
+
+  // Clasificación completa de un torneo en una sola consulta (usa idx_tournament_standings_ranking)
+  @Query("select s.userId as userId, u.username as username, s.played as played, s.won as won, " +
+          "s.lost as lost, s.drawn as drawn, s.points as points, s.version as version " +
+          "from TournamentStanding s join s.user u " +
+          "where s.tournamentId = :tournamentId " +
+          "order by s.points desc, s.won desc, u.username asc")
+  List<StandingView> findRankingByTournamentId(@Param("tournamentId") Long tournamentId);
+
+  // Suma el resultado de una partida a la fila del jugador (creándola si no existe) y devuelve los contadores resultantes
+  @Query(value = "insert into tournament_standings (tournament_id, user_id, played, won, lost, drawn, points, version) " +
+          "values (:tournamentId, :userId, 1, :won, :lost, :drawn, :points, 1) " +
+          "on conflict (tournament_id, user_id) do update set " +
+          "played = tournament_standings.played + 1, " +
+          "won = tournament_standings.won + excluded.won, " +
+          "lost = tournament_standings.lost + excluded.lost, " +
+          "drawn = tournament_standings.drawn + excluded.drawn, " +
+          "points = tournament_standings.points + excluded.points, " +
+          "version = tournament_standings.version + 1 " +
+          "returning played, won, lost, drawn, points, version", nativeQuery = true)
+  StandingCounters applyResult(@Param("tournamentId") Long tournamentId, @Param("userId") Long userId,
+                               @Param("won") int won, @Param("lost") int lost,
+                               @Param("drawn") int drawn, @Param("points") int points);
+
+  @Modifying
+  @Query(value = "insert into tournament_standings (tournament_id, user_id, played, won, lost, drawn, points, version) " +
+          "values (:tournamentId, :userId, 0, 0, 0, 0, 0, 0) " +
+          "on conflict (tournament_id, user_id) do nothing", nativeQuery = true)
+  int insertIfAbsent(@Param("tournamentId") Long tournamentId, @Param("userId") Long userId);
+
+  @Modifying
+  @Query("delete from TournamentStanding s where s.tournamentId = :tournamentId and s.userId = :userId")
+  int deleteByTournamentIdAndUserId(@Param("tournamentId") Long tournamentId, @Param("userId") Long userId);
+
+  // Bloquea las partidas del torneo para que ningún resultado se confirme mientras se reconstruye
+  @Query(value = "select m.id from matches m where m.tournament_id = :tournamentId for share", nativeQuery = true)
+  List<Long> lockMatchesOfTournament(@Param("tournamentId") Long tournamentId);
+
+  // Recalcula todas las filas del torneo a partir de la tabla matches
+  @Modifying
+  @Query(value = "with results as ( " +
+          "  select m.player1_id as user_id, " +
+          "         case when m.winner_id = m.player1_id then 1 else 0 end as won, " +
+          "         case when m.winner_id = m.player2_id then 1 else 0 end as lost, " +
+          "         case when m.winner_id is null then 1 else 0 end as drawn " +
+          "  from matches m where m.tournament_id = :tournamentId and m.status = 'COMPLETED' " +
+          "  union all " +
+          "  select m.player2_id, " +
+          "         case when m.winner_id = m.player2_id then 1 else 0 end, " +
+          "         case when m.winner_id = m.player1_id then 1 else 0 end, " +
+          "         case when m.winner_id is null then 1 else 0 end " +
+          "  from matches m where m.tournament_id = :tournamentId and m.status = 'COMPLETED' " +
+          "), members as ( " +
+          "  select tp.player_id as user_id from tournament_players tp where tp.tournament_id = :tournamentId " +
+          "  union " +
+          "  select r.user_id from results r " +
+          ") " +
+          "insert into tournament_standings (tournament_id, user_id, played, won, lost, drawn, points, version) " +
+          "select :tournamentId, mb.user_id, count(r.user_id), coalesce(sum(r.won), 0), coalesce(sum(r.lost), 0), " +
+          "       coalesce(sum(r.drawn), 0), coalesce(sum(r.won), 0) * :pointsPerWin, 1 " +
+          "from members mb left join results r on r.user_id = mb.user_id " +
+          "group by mb.user_id " +
+          "on conflict (tournament_id, user_id) do update set " +
+          "played = excluded.played, won = excluded.won, lost = excluded.lost, drawn = excluded.drawn, " +
+          "points = excluded.points, version = tournament_standings.version + 1", nativeQuery = true)
+  int rebuildTournament(@Param("tournamentId") Long tournamentId, @Param("pointsPerWin") int pointsPerWin);
+
+  // Elimina filas de jugadores que ya no pertenecen al torneo ni tienen partidas completadas en él
+  @Modifying
+  @Query(value = "delete from tournament_standings s where s.tournament_id = :tournamentId " +
+          "and not exists (select 1 from tournament_players tp where tp.tournament_id = s.tournament_id and tp.player_id = s.user_id) " +
+          "and not exists (select 1 from matches m where m.tournament_id = s.tournament_id and m.status = 'COMPLETED' " +
+          "                and (m.player1_id = s.user_id or m.player2_id = s.user_id))", nativeQuery = true)
+  int deleteStaleRows(@Param("tournamentId") Long tournamentId);
+}
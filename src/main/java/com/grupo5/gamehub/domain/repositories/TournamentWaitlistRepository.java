@@ -0,0 +1,41 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.TournamentWaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TournamentWaitlistRepository extends JpaRepository<TournamentWaitlistEntry, Long> {
+
+  Optional<TournamentWaitlistEntry> findByTournamentIdAndPlayerId(Long tournamentId, Long playerId);
+
+  long countByTournamentId(Long tournamentId);
+
+  // Primeros de la cola, con el jugador ya cargado para registrarlo en la clasificación
+  @Query("select w from TournamentWaitlistEntry w join fetch w.player " +
+          "where w.tournament.id = :tournamentId order by w.createdAt asc, w.id asc")
+  List<TournamentWaitlistEntry> findQueue(@Param("tournamentId") Long tournamentId, Pageable pageable);
+
+  // Posición (1 = el siguiente en entrar) de la entrada con clave (createdAt, id)
+  @Query("select count(w) from TournamentWaitlistEntry w " +
+          "where w.tournament.id = :tournamentId and (w.createdAt, w.id) <= (:createdAt, :id)")
+  long countUpTo(@Param("tournamentId") Long tournamentId, @Param("createdAt") LocalDateTime createdAt,
+                 @Param("id") Long id);
+
+  // Inscribe de una vez a los jugadores de las entradas indicadas; se salta a quien ya estuviera inscrito
+  @Modifying
+  @Query(value = "insert into tournament_players (tournament_id, player_id) " +
+          "select w.tournament_id, w.player_id from tournament_waitlist w where w.id in (:ids) " +
+          "and not exists (select 1 from tournament_players tp " +
+          "where tp.tournament_id = w.tournament_id and tp.player_id = w.player_id)", nativeQuery = true)
+  int promoteToPlayers(@Param("ids") Collection<Long> ids);
+}
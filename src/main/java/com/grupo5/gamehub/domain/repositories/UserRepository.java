@@ -3,12 +3,20 @@ package com.grupo5.gamehub.domain.repositories;
 import aj.org.objectweb.asm.commons.Remapper;
 import com.grupo5.gamehub.domain.entities.User;
 import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.projections.LeaderboardEntryView;
+import com.grupo5.gamehub.domain.projections.PlayerRankView;
+import com.grupo5.gamehub.domain.projections.PlayerRatingView;
 import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.AbstractPersistable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -18,5 +26,65 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
   List<User> findByRole(Role role);
 
+  // Campos de un registro que ya están en uso ('username', 'email' o ambos) en una sola consulta
+  @Query("select case when u.username = :username then 'username' else 'email' end from User u " +
+          "where u.username = :username or u.email = :email")
+  List<String> findTakenFields(@Param("username") String username, @Param("email") String email);
+
+  @Query("select u.username from User u where u.username in :usernames")
+  List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  @Query("select u.email from User u where u.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
   Remapper findById(SingularAttribute<AbstractPersistable, Serializable> id);
-}
\ No newline at end of file
+
+  // Serializa las actualizaciones de valoración y posición global hasta el final de la transacción
+  @Query(value = "select 1 from (select pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+  Integer acquireRatingLock(@Param("key") long key);
+
+  @Query("select u.id as id, u.rating as rating, u.ratingDeviation as ratingDeviation, " +
+          "u.volatility as volatility, u.points as points from User u where u.id in :ids")
+  List<PlayerRatingView> findRatingsByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select u.id as id, u.rank as rank from User u where u.id in :ids")
+  List<PlayerRankView> findRanksByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("update User u set u.rating = :rating, u.ratingDeviation = :deviation, u.volatility = :volatility, " +
+          "u.points = :points where u.id = :id")
+  int updateRating(@Param("id") Long id, @Param("rating") double rating, @Param("deviation") double deviation,
+                   @Param("volatility") double volatility, @Param("points") int points);
+
+  // Suma 'delta' a la posición de los jugadores con puntos en [from, to), salvo el indicado
+  @Modifying
+  @Query("update User u set u.rank = u.rank + :delta where u.role = :role " +
+          "and u.points >= :from and u.points < :to and u.id <> :excludedId")
+  int shiftRanks(@Param("role") Role role, @Param("from") int from, @Param("to") int to,
+                 @Param("delta") int delta, @Param("excludedId") Long excludedId);
+
+  long countByRoleAndPointsGreaterThan(Role role, Integer points);
+
+  @Modifying
+  @Query("update User u set u.rank = :rank where u.id = :id")
+  int updateRank(@Param("id") Long id, @Param("rank") int rank);
+
+  @Modifying
+  @Query("update User u set u.rating = null, u.ratingDeviation = null, u.volatility = null, " +
+          "u.points = null, u.rank = null where u.role = :role")
+  int clearRatings(@Param("role") Role role);
+
+  // Posición global completa (empates comparten puesto); solo para reconstrucciones
+  @Modifying
+  @Query(value = "update users u set rank = r.position from ( " +
+          "  select id, rank() over (order by points desc) as position " +
+          "  from users where role = 'PLAYER' and points is not null " +
+          ") r where u.id = r.id", nativeQuery = true)
+  int recomputeRanks();
+
+  // Página de jugadores con valoración a partir de un id (paginación por clave, sin OFFSET)
+  @Query("select u.id as id, u.username as username, u.points as points from User u " +
+          "where u.role = :role and u.points is not null and u.id > :afterId order by u.id")
+  List<LeaderboardEntryView> findRatedPlayersAfter(@Param("role") Role role, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+}
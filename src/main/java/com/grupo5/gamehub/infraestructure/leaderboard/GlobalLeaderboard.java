@@ -0,0 +1,152 @@
+package com.grupo5.gamehub.infraestructure.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Clasificación global en memoria. Un árbol de Fenwick con un contador por valor de puntos da la posición
+ * de cualquier puntuación en O(log P), y un skip list ordenado (puntos desc, id asc) permite recorrer el
+ * top-K y los vecinos de un jugador en O(log n + K). Los puntos fuera de [minPoints, maxPoints] se cuentan
+ * en el extremo correspondiente.
+ *
+ * No es thread-safe: el acceso concurrente lo coordina LeaderboardServiceImpl.
+ */
+public class GlobalLeaderboard {
+
+  static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::getPoints).reversed()
+          .thenComparing(Entry::getUserId);
+
+  private final int minPoints;
+  private final long[] fenwick;
+  private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>(ORDER);
+  private final Map<Long, Entry> byUser = new HashMap<>();
+
+  public GlobalLeaderboard(int minPoints, int maxPoints) {
+    if (maxPoints < minPoints) {
+      throw new IllegalArgumentException("maxPoints debe ser mayor o igual que minPoints.");
+    }
+    this.minPoints = minPoints;
+    this.fenwick = new long[maxPoints - minPoints + 2];
+  }
+
+  // Aplica los puntos de un jugador salvo que ya se haya aplicado una actualización posterior (sequence mayor)
+  public boolean put(Long userId, String username, int points, long sequence) {
+    Entry current = byUser.get(userId);
+    if (current != null) {
+      if (current.sequence > sequence) {
+        return false;
+      }
+      ordered.remove(current);
+      add(current.points, -1);
+    }
+    Entry entry = new Entry(userId, username, points, sequence);
+    byUser.put(userId, entry);
+    ordered.add(entry);
+    add(points, 1);
+    return true;
+  }
+
+  public void remove(Long userId) {
+    Entry current = byUser.remove(userId);
+    if (current != null) {
+      ordered.remove(current);
+      add(current.points, -1);
+    }
+  }
+
+  public int size() {
+    return byUser.size();
+  }
+
+  public Entry get(Long userId) {
+    return byUser.get(userId);
+  }
+
+  // Posición con empates compartidos: 1 + jugadores con más puntos (igual que User.rank)
+  public int rankOf(int points) {
+    return (int) (size() - prefixCount(index(points))) + 1;
+  }
+
+  public List<Entry> top(int limit) {
+    List<Entry> result = new ArrayList<>(Math.min(limit, size()));
+    Iterator<Entry> iterator = ordered.iterator();
+    while (iterator.hasNext() && result.size() < limit) {
+      result.add(iterator.next());
+    }
+    return result;
+  }
+
+  // Hasta 'radius' jugadores por encima, el propio jugador y hasta 'radius' por debajo
+  public List<Entry> around(Long userId, int radius) {
+    Entry self = byUser.get(userId);
+    if (self == null) {
+      return Collections.emptyList();
+    }
+    List<Entry> above = new ArrayList<>(radius);
+    Iterator<Entry> up = ordered.headSet(self, false).descendingIterator();
+    while (up.hasNext() && above.size() < radius) {
+      above.add(up.next());
+    }
+    Collections.reverse(above);
+
+    List<Entry> result = new ArrayList<>(above);
+    Iterator<Entry> down = ordered.tailSet(self, true).iterator();
+    while (down.hasNext() && result.size() < above.size() + radius + 1) {
+      result.add(down.next());
+    }
+    return result;
+  }
+
+  private int index(int points) {
+    int clamped = Math.max(0, Math.min(points - minPoints, fenwick.length - 2));
+    return clamped + 1;
+  }
+
+  private void add(int points, long delta) {
+    for (int i = index(points); i < fenwick.length; i += i & -i) {
+      fenwick[i] += delta;
+    }
+  }
+
+  // Jugadores con índice <= i
+  private long prefixCount(int i) {
+    long count = 0;
+    for (; i > 0; i -= i & -i) {
+      count += fenwick[i];
+    }
+    return count;
+  }
+
+  public static final class Entry {
+    private final Long userId;
+    private final String username;
+    private final int points;
+    private final long sequence;
+
+    Entry(Long userId, String username, int points, long sequence) {
+      this.userId = userId;
+      this.username = username;
+      this.points = points;
+      this.sequence = sequence;
+    }
+
+    public Long getUserId() {
+      return userId;
+    }
+
+    public String getUsername() {
+      return username;
+    }
+
+    public int getPoints() {
+      return points;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import com.grupo5.gamehub.domain.enums.BracketType;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cuadros de eliminación directa y doble a partir de una lista de jugadores ya ordenada por cabeza de serie.
+ *
+ * El cuadro se dimensiona a la siguiente potencia de dos y se siembra en el orden estándar (1-8, 4-5, 2-7,
+ * 3-6, ...), de forma que los byes caen en las mejores cabezas de serie. Las partidas con bye no se crean:
+ * el jugador pasa directamente a su hueco de la ronda siguiente, y lo mismo ocurre en el cuadro de
+ * perdedores cuando a una partida solo le llega un jugador. Así la eliminación directa tiene siempre n-1
+ * partidas y la doble 2n-2 (final única, sin partida de desempate).
+ *
+ * En la doble eliminación la ronda k del cuadro de perdedores se numera como k+1, de modo que el número de
+ * ronda indica el orden en que se pueden jugar todas las partidas del torneo.
+ */
+public final class EliminationBracket {
+
+  private EliminationBracket() {
+  }
+
+  public static List<ScheduledMatch> single(List<Long> seededPlayerIds) {
+    List<List<Node>> winners = buildWinners(seededPlayerIds);
+    List<Node> nodes = new ArrayList<>();
+    winners.forEach(nodes::addAll);
+    return emit(nodes);
+  }
+
+  public static List<ScheduledMatch> doubleElimination(List<Long> seededPlayerIds) {
+    List<List<Node>> winners = buildWinners(seededPlayerIds);
+    int rounds = winners.size();
+    Node winnersFinal = winners.get(rounds - 1).get(0);
+
+    List<List<Node>> losers = new ArrayList<>();
+    if (rounds > 1) {
+      List<Node> firstRound = winners.get(0);
+      List<Node> current = new ArrayList<>(firstRound.size() / 2);
+      for (int i = 0; i < firstRound.size() / 2; i++) {
+        Node node = new Node(2, BracketType.LOSERS);
+        feed(firstRound.get(2 * i), true, node, 0);
+        feed(firstRound.get(2 * i + 1), true, node, 1);
+        current.add(node);
+      }
+      losers.add(current);
+
+      for (int k = 1; k < rounds; k++) {
+        // Ronda de entrada: los supervivientes reciben a los que caen de la ronda k+1 del cuadro de ganadores.
+        // En rondas alternas se invierte el orden para retrasar las revanchas.
+        List<Node> dropping = winners.get(k);
+        List<Node> dropIn = new ArrayList<>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+          Node node = new Node(2 * k + 1, BracketType.LOSERS);
+          feed(current.get(i), false, node, 0);
+          feed(dropping.get(k % 2 == 1 ? dropping.size() - 1 - i : i), true, node, 1);
+          dropIn.add(node);
+        }
+        losers.add(dropIn);
+        current = dropIn;
+
+        if (k < rounds - 1) {
+          List<Node> consolidation = new ArrayList<>(current.size() / 2);
+          for (int i = 0; i < current.size() / 2; i++) {
+            Node node = new Node(2 * k + 2, BracketType.LOSERS);
+            feed(current.get(2 * i), false, node, 0);
+            feed(current.get(2 * i + 1), false, node, 1);
+            consolidation.add(node);
+          }
+          losers.add(consolidation);
+          current = consolidation;
+        }
+      }
+    }
+
+    Node grandFinal = new Node(rounds > 1 ? 2 * rounds : 2, BracketType.GRAND_FINAL);
+    feed(winnersFinal, false, grandFinal, 0);
+    if (losers.isEmpty()) {
+      feed(winnersFinal, true, grandFinal, 1);
+    } else {
+      feed(losers.get(losers.size() - 1).get(0), false, grandFinal, 1);
+    }
+
+    List<Node> nodes = new ArrayList<>();
+    winners.forEach(nodes::addAll);
+    losers.forEach(nodes::addAll);
+    nodes.add(grandFinal);
+    return emit(nodes);
+  }
+
+  private static List<List<Node>> buildWinners(List<Long> seededPlayerIds) {
+    if (seededPlayerIds.size() < 2) {
+      throw new IllegalArgumentException("Un cuadro de eliminación necesita al menos 2 jugadores.");
+    }
+    int size = Integer.highestOneBit(seededPlayerIds.size() - 1) << 1;
+    int[] order = seedOrder(size);
+
+    List<List<Node>> rounds = new ArrayList<>();
+    List<Node> current = new ArrayList<>(size / 2);
+    for (int i = 0; i < size / 2; i++) {
+      Node node = new Node(1, BracketType.WINNERS);
+      node.slots[0] = seed(seededPlayerIds, order[2 * i]);
+      node.slots[1] = seed(seededPlayerIds, order[2 * i + 1]);
+      current.add(node);
+    }
+    rounds.add(current);
+
+    for (int round = 2; current.size() > 1; round++) {
+      List<Node> next = new ArrayList<>(current.size() / 2);
+      for (int i = 0; i < current.size() / 2; i++) {
+        Node node = new Node(round, BracketType.WINNERS);
+        feed(current.get(2 * i), false, node, 0);
+        feed(current.get(2 * i + 1), false, node, 1);
+        next.add(node);
+      }
+      rounds.add(next);
+      current = next;
+    }
+    return rounds;
+  }
+
+  // Orden estándar de siembra: en cada ronda se enfrentan las cabezas de serie cuya suma es tamaño+1
+  static int[] seedOrder(int size) {
+    int[] order = {1, 2};
+    while (order.length < size) {
+      int[] next = new int[order.length * 2];
+      for (int i = 0; i < order.length; i++) {
+        next[2 * i] = order[i];
+        next[2 * i + 1] = order.length * 2 + 1 - order[i];
+      }
+      order = next;
+    }
+    return order;
+  }
+
+  private static Source seed(List<Long> seededPlayerIds, int seed) {
+    return seed <= seededPlayerIds.size() ? new Source(seededPlayerIds.get(seed - 1), null, false) : null;
+  }
+
+  private static void feed(Node from, boolean loser, Node to, int slot) {
+    to.slots[slot] = new Source(null, from, loser);
+    if (loser) {
+      from.loserTo = to;
+      from.loserSlot = slot;
+    } else {
+      from.winnerTo = to;
+      from.winnerSlot = slot;
+    }
+  }
+
+  // Los nodos llegan en orden de dependencias, así que cada hueco ya está resuelto cuando se visita su partida
+  private static List<ScheduledMatch> emit(List<Node> nodes) {
+    Map<Node, ScheduledMatch> emitted = new IdentityHashMap<>();
+    List<ScheduledMatch> matches = new ArrayList<>();
+    for (Node node : nodes) {
+      Source first = node.slots[0];
+      Source second = node.slots[1];
+      if (first == null || second == null) {
+        // Partida con un solo jugador (o ninguno): quien llega pasa directamente y no hay perdedor
+        if (node.winnerTo != null) {
+          node.winnerTo.slots[node.winnerSlot] = first != null ? first : second;
+        }
+        if (node.loserTo != null) {
+          node.loserTo.slots[node.loserSlot] = null;
+        }
+        continue;
+      }
+
+      ScheduledMatch match = new ScheduledMatch(matches.size(), node.round, node.bracket,
+              first.playerId, second.playerId);
+      link(first, match, 1, emitted);
+      link(second, match, 2, emitted);
+      emitted.put(node, match);
+      matches.add(match);
+    }
+    return matches;
+  }
+
+  private static void link(Source source, ScheduledMatch target, int slot, Map<Node, ScheduledMatch> emitted) {
+    if (source.from == null) {
+      return;
+    }
+    ScheduledMatch from = emitted.get(source.from);
+    if (source.loser) {
+      from.loserGoesTo(target.getIndex(), slot);
+    } else {
+      from.winnerGoesTo(target.getIndex(), slot);
+    }
+  }
+
+  private static final class Node {
+    private final int round;
+    private final BracketType bracket;
+    private final Source[] slots = new Source[2];
+    private Node winnerTo;
+    private int winnerSlot;
+    private Node loserTo;
+    private int loserSlot;
+
+    private Node(int round, BracketType bracket) {
+      this.round = round;
+      this.bracket = bracket;
+    }
+  }
+
+  // Un hueco lo ocupa un jugador concreto o el ganador/perdedor de otra partida
+  private static final class Source {
+    private final Long playerId;
+    private final Node from;
+    private final boolean loser;
+
+    private Source(Long playerId, Node from, boolean loser) {
+      this.playerId = playerId;
+      this.from = from;
+      this.loser = loser;
+    }
+  }
+}
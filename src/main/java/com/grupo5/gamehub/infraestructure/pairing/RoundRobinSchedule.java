@@ -0,0 +1,61 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liga todos contra todos por el método del círculo: el primer jugador queda fijo y el resto gira una
+ * posición por ronda, así que con n jugadores salen n-1 rondas (n si es impar, con un descanso por ronda)
+ * y cada pareja se enfrenta exactamente una vez. La vuelta repite las mismas rondas con los lados cambiados.
+ */
+public final class RoundRobinSchedule {
+
+  private RoundRobinSchedule() {
+  }
+
+  public static long matchCount(int players, boolean doubleRound) {
+    long single = (long) players * (players - 1) / 2;
+    return doubleRound ? single * 2 : single;
+  }
+
+  public static List<ScheduledMatch> generate(List<Long> playerIds, boolean doubleRound) {
+    int size = playerIds.size() + playerIds.size() % 2;
+    Long[] circle = new Long[size];
+    for (int i = 0; i < playerIds.size(); i++) {
+      circle[i] = playerIds.get(i);
+    }
+    // Con número impar la última posición queda vacía: quien se cruza con ella descansa esa ronda
+    int rounds = size - 1;
+
+    List<ScheduledMatch> matches = new ArrayList<>((int) matchCount(playerIds.size(), doubleRound));
+    for (int round = 1; round <= rounds; round++) {
+      for (int i = 0; i < size / 2; i++) {
+        Long home = circle[i];
+        Long away = circle[size - 1 - i];
+        if (home == null || away == null) {
+          continue;
+        }
+        // El jugador fijo cambia de lado cada ronda; los demás ya lo hacen al girar
+        if (i == 0 && round % 2 == 0) {
+          Long swap = home;
+          home = away;
+          away = swap;
+        }
+        matches.add(new ScheduledMatch(matches.size(), round, null, home, away));
+      }
+      Long last = circle[size - 1];
+      System.arraycopy(circle, 1, circle, 2, size - 2);
+      circle[1] = last;
+    }
+
+    if (doubleRound) {
+      int firstLeg = matches.size();
+      for (int i = 0; i < firstLeg; i++) {
+        ScheduledMatch match = matches.get(i);
+        matches.add(new ScheduledMatch(matches.size(), match.getRound() + rounds, null,
+                match.getPlayer2Id(), match.getPlayer1Id()));
+      }
+    }
+    return matches;
+  }
+}
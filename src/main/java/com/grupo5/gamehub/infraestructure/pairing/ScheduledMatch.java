@@ -0,0 +1,73 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import com.grupo5.gamehub.domain.enums.BracketType;
+
+/**
+ * Partida de un calendario generado, todavía sin persistir. Los enlaces a otras partidas son índices en la
+ * lista devuelta por el generador; los huecos 1 y 2 corresponden a player1 y player2.
+ */
+public final class ScheduledMatch {
+  private final int index;
+  private final int round;
+  private final BracketType bracket;
+  private final Long player1Id;
+  private final Long player2Id;
+  private Integer nextIndex;
+  private Integer nextSlot;
+  private Integer loserNextIndex;
+  private Integer loserNextSlot;
+
+  ScheduledMatch(int index, int round, BracketType bracket, Long player1Id, Long player2Id) {
+    this.index = index;
+    this.round = round;
+    this.bracket = bracket;
+    this.player1Id = player1Id;
+    this.player2Id = player2Id;
+  }
+
+  void winnerGoesTo(int index, int slot) {
+    this.nextIndex = index;
+    this.nextSlot = slot;
+  }
+
+  void loserGoesTo(int index, int slot) {
+    this.loserNextIndex = index;
+    this.loserNextSlot = slot;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public int getRound() {
+    return round;
+  }
+
+  public BracketType getBracket() {
+    return bracket;
+  }
+
+  public Long getPlayer1Id() {
+    return player1Id;
+  }
+
+  public Long getPlayer2Id() {
+    return player2Id;
+  }
+
+  public Integer getNextIndex() {
+    return nextIndex;
+  }
+
+  public Integer getNextSlot() {
+    return nextSlot;
+  }
+
+  public Integer getLoserNextIndex() {
+    return loserNextIndex;
+  }
+
+  public Integer getLoserNextSlot() {
+    return loserNextSlot;
+  }
+}
@@ -0,0 +1,208 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Emparejamiento por sistema suizo (variante holandesa simplificada).
+ *
+ * Los jugadores se ordenan por puntos del torneo, valoración global e id, y se agrupan por puntos. Dentro
+ * de cada grupo la mitad superior se enfrenta a la inferior (1º con n/2+1, ...); si ese cruce ya se jugó se
+ * prueba con el siguiente de la mitad inferior. Quien queda sin rival baja al grupo siguiente. Los cruces
+ * ya jugados se consultan en un índice hash por jugador, y los rivales libres se recorren en un índice
+ * ordenado de posiciones sin emparejar: cada jugador solo salta a los que ya ha tenido enfrente. Con r rondas
+ * jugadas, una ronda cuesta O(n log n) por la ordenación más O(n·r·log n) en el peor caso de repeticiones.
+ *
+ * Todo es determinista: con la misma entrada se obtiene siempre el mismo emparejamiento y el mismo bye.
+ */
+public class SwissPairing {
+
+  static final Comparator<Player> STANDING_ORDER = Comparator.comparingInt(Player::getScore).reversed()
+          .thenComparing(Comparator.comparingInt(Player::getRating).reversed())
+          .thenComparing(Player::getId);
+
+  private final Map<Long, Set<Long>> opponents;
+
+  // 'previousPairings' son pares {jugador1, jugador2} de rondas anteriores
+  public SwissPairing(List<long[]> previousPairings) {
+    this.opponents = new HashMap<>();
+    for (long[] pairing : previousPairings) {
+      opponents.computeIfAbsent(pairing[0], id -> new HashSet<>()).add(pairing[1]);
+      opponents.computeIfAbsent(pairing[1], id -> new HashSet<>()).add(pairing[0]);
+    }
+  }
+
+  public boolean havePlayed(Long a, Long b) {
+    Set<Long> played = opponents.get(a);
+    return played != null && played.contains(b);
+  }
+
+  public Result pair(List<Player> players) {
+    List<Player> ordered = new ArrayList<>(players);
+    ordered.sort(STANDING_ORDER);
+
+    Player bye = null;
+    if (ordered.size() % 2 != 0) {
+      bye = chooseBye(ordered);
+      ordered.remove(bye);
+    }
+
+    Map<Integer, List<Player>> groups = new LinkedHashMap<>();
+    for (Player player : ordered) {
+      groups.computeIfAbsent(player.getScore(), score -> new ArrayList<>()).add(player);
+    }
+
+    List<Player[]> pairs = new ArrayList<>(ordered.size() / 2);
+    List<Player> floaters = new ArrayList<>();
+    for (List<Player> group : groups.values()) {
+      List<Player> candidates = new ArrayList<>(floaters.size() + group.size());
+      candidates.addAll(floaters);
+      candidates.addAll(group);
+      floaters = pairGroup(candidates, pairs);
+    }
+    pairRemaining(floaters, pairs);
+
+    return new Result(pairs, bye);
+  }
+
+  // El bye es para el peor clasificado que aún no lo haya tenido (el que tenga más partidas jugadas)
+  private Player chooseBye(List<Player> ordered) {
+    int maxGames = 0;
+    for (Player player : ordered) {
+      maxGames = Math.max(maxGames, player.getGamesPlayed());
+    }
+    for (int i = ordered.size() - 1; i >= 0; i--) {
+      if (ordered.get(i).getGamesPlayed() == maxGames) {
+        return ordered.get(i);
+      }
+    }
+    return ordered.get(ordered.size() - 1);
+  }
+
+  // Empareja la mitad superior con la inferior y devuelve los que bajan al siguiente grupo
+  private List<Player> pairGroup(List<Player> group, List<Player[]> pairs) {
+    List<Player> floaters = new ArrayList<>();
+    List<Player> candidates = group;
+    if (candidates.size() % 2 != 0) {
+      floaters.add(candidates.get(candidates.size() - 1));
+      candidates = candidates.subList(0, candidates.size() - 1);
+    }
+    int half = candidates.size() / 2;
+    List<Player> top = candidates.subList(0, half);
+    List<Player> bottom = candidates.subList(half, candidates.size());
+    NavigableSet<Integer> free = positions(bottom.size());
+
+    for (int i = 0; i < top.size(); i++) {
+      Player player = top.get(i);
+      Integer opponent = findOpponent(player, bottom, free, i);
+      if (opponent == null) {
+        floaters.add(player);
+      } else {
+        free.remove(opponent);
+        pairs.add(new Player[]{player, bottom.get(opponent)});
+      }
+    }
+    for (int j : free) {
+      floaters.add(bottom.get(j));
+    }
+    floaters.sort(STANDING_ORDER);
+    return floaters;
+  }
+
+  // Primero el rival "natural" (misma posición en la mitad inferior), después los siguientes y por último los anteriores
+  private Integer findOpponent(Player player, List<Player> bottom, NavigableSet<Integer> free, int natural) {
+    for (int j : free.tailSet(natural, true)) {
+      if (!havePlayed(player.getId(), bottom.get(j).getId())) {
+        return j;
+      }
+    }
+    for (int j : free.headSet(natural, false).descendingSet()) {
+      if (!havePlayed(player.getId(), bottom.get(j).getId())) {
+        return j;
+      }
+    }
+    return null;
+  }
+
+  // Lo que queda tras el último grupo: se evita repetir si se puede y, si no, se acepta la repetición
+  private void pairRemaining(List<Player> remaining, List<Player[]> pairs) {
+    NavigableSet<Integer> left = positions(remaining.size());
+    while (left.size() >= 2) {
+      Player player = remaining.get(left.pollFirst());
+      Integer opponent = left.first();
+      for (int j : left) {
+        if (!havePlayed(player.getId(), remaining.get(j).getId())) {
+          opponent = j;
+          break;
+        }
+      }
+      left.remove(opponent);
+      pairs.add(new Player[]{player, remaining.get(opponent)});
+    }
+  }
+
+  private static NavigableSet<Integer> positions(int size) {
+    NavigableSet<Integer> positions = new TreeSet<>();
+    for (int i = 0; i < size; i++) {
+      positions.add(i);
+    }
+    return positions;
+  }
+
+  public static final class Player {
+    private final Long id;
+    private final int score;
+    private final int rating;
+    private final int gamesPlayed;
+
+    public Player(Long id, int score, int rating, int gamesPlayed) {
+      this.id = id;
+      this.score = score;
+      this.rating = rating;
+      this.gamesPlayed = gamesPlayed;
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public int getScore() {
+      return score;
+    }
+
+    public int getRating() {
+      return rating;
+    }
+
+    public int getGamesPlayed() {
+      return gamesPlayed;
+    }
+  }
+
+  public static final class Result {
+    private final List<Player[]> pairs;
+    private final Player bye;
+
+    Result(List<Player[]> pairs, Player bye) {
+      this.pairs = Collections.unmodifiableList(pairs);
+      this.bye = bye;
+    }
+
+    public List<Player[]> getPairs() {
+      return pairs;
+    }
+
+    public Player getBye() {
+      return bye;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "gamehub.rating.algorithm", havingValue = "elo", matchIfMissing = true)
+public class EloRatingCalculator implements RatingCalculator {
+
+  private final double initialRating;
+  private final double kFactor;
+
+  public EloRatingCalculator(@Value("${gamehub.rating.initial:1500}") double initialRating,
+                             @Value("${gamehub.rating.elo.k-factor:32}") double kFactor) {
+    this.initialRating = initialRating;
+    this.kFactor = kFactor;
+  }
+
+  @Override
+  public PlayerRating initialRating() {
+    return new PlayerRating(initialRating, 0, 0);
+  }
+
+  @Override
+  public PlayerRating rate(PlayerRating player, List<GameOutcome> games) {
+    double change = 0;
+    for (GameOutcome game : games) {
+      double expected = 1.0 / (1.0 + Math.pow(10, (game.getOpponent().getRating() - player.getRating()) / 400.0));
+      change += kFactor * (game.getScore() - expected);
+    }
+    return new PlayerRating(player.getRating() + change, player.getDeviation(), player.getVolatility());
+  }
+}
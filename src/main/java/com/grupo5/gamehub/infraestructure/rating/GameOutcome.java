@@ -0,0 +1,21 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+// Una partida vista desde un jugador: valoración del rival antes del periodo y puntuación obtenida (1, 0.5 o 0)
+public final class GameOutcome {
+
+  private final PlayerRating opponent;
+  private final double score;
+
+  public GameOutcome(PlayerRating opponent, double score) {
+    this.opponent = opponent;
+    this.score = score;
+  }
+
+  public PlayerRating getOpponent() {
+    return opponent;
+  }
+
+  public double getScore() {
+    return score;
+  }
+}
@@ -0,0 +1,118 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Glicko-2 según "Example of the Glicko-2 system" (M. Glickman). Las valoraciones se guardan en la escala
+ * de Glicko (1500 / 350) y se convierten a la escala interna solo durante el cálculo.
+ */
+@Component
+@ConditionalOnProperty(name = "gamehub.rating.algorithm", havingValue = "glicko2")
+public class Glicko2RatingCalculator implements RatingCalculator {
+
+  private static final double SCALE = 173.7178;
+  private static final double CONVERGENCE = 0.000001;
+
+  private final double initialRating;
+  private final double initialDeviation;
+  private final double initialVolatility;
+  private final double tau;
+
+  public Glicko2RatingCalculator(@Value("${gamehub.rating.initial:1500}") double initialRating,
+                                 @Value("${gamehub.rating.glicko2.initial-deviation:350}") double initialDeviation,
+                                 @Value("${gamehub.rating.glicko2.initial-volatility:0.06}") double initialVolatility,
+                                 @Value("${gamehub.rating.glicko2.tau:0.5}") double tau) {
+    this.initialRating = initialRating;
+    this.initialDeviation = initialDeviation;
+    this.initialVolatility = initialVolatility;
+    this.tau = tau;
+  }
+
+  @Override
+  public PlayerRating initialRating() {
+    return new PlayerRating(initialRating, initialDeviation, initialVolatility);
+  }
+
+  @Override
+  public PlayerRating rate(PlayerRating player, List<GameOutcome> games) {
+    double mu = (player.getRating() - initialRating) / SCALE;
+    double phi = player.getDeviation() / SCALE;
+    double sigma = player.getVolatility();
+
+    if (games.isEmpty()) {
+      // Sin partidas solo aumenta la incertidumbre
+      double phiStar = Math.sqrt(phi * phi + sigma * sigma);
+      return new PlayerRating(player.getRating(), phiStar * SCALE, sigma);
+    }
+
+    double inverseV = 0;
+    double deltaSum = 0;
+    for (GameOutcome game : games) {
+      double muJ = (game.getOpponent().getRating() - initialRating) / SCALE;
+      double phiJ = game.getOpponent().getDeviation() / SCALE;
+      double g = g(phiJ);
+      double e = 1.0 / (1.0 + Math.exp(-g * (mu - muJ)));
+      inverseV += g * g * e * (1 - e);
+      deltaSum += g * (game.getScore() - e);
+    }
+    double v = 1.0 / inverseV;
+    double delta = v * deltaSum;
+
+    double newSigma = newVolatility(phi, sigma, v, delta);
+    double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+    double newPhi = 1.0 / Math.sqrt(1.0 / (phiStar * phiStar) + 1.0 / v);
+    double newMu = mu + newPhi * newPhi * deltaSum;
+
+    return new PlayerRating(newMu * SCALE + initialRating, newPhi * SCALE, newSigma);
+  }
+
+  private static double g(double phi) {
+    return 1.0 / Math.sqrt(1.0 + 3.0 * phi * phi / (Math.PI * Math.PI));
+  }
+
+  // Paso 5 del algoritmo: método de Illinois sobre f(x)
+  private double newVolatility(double phi, double sigma, double v, double delta) {
+    double a = Math.log(sigma * sigma);
+    double phi2 = phi * phi;
+    double delta2 = delta * delta;
+
+    DoubleUnaryOperator f = x -> {
+      double ex = Math.exp(x);
+      double d = phi2 + v + ex;
+      return ex * (delta2 - phi2 - v - ex) / (2.0 * d * d) - (x - a) / (tau * tau);
+    };
+
+    double bracketA = a;
+    double bracketB;
+    if (delta2 > phi2 + v) {
+      bracketB = Math.log(delta2 - phi2 - v);
+    } else {
+      int k = 1;
+      while (f.applyAsDouble(a - k * tau) < 0) {
+        k++;
+      }
+      bracketB = a - k * tau;
+    }
+
+    double fA = f.applyAsDouble(bracketA);
+    double fB = f.applyAsDouble(bracketB);
+    while (Math.abs(bracketB - bracketA) > CONVERGENCE) {
+      double c = bracketA + (bracketA - bracketB) * fA / (fB - fA);
+      double fC = f.applyAsDouble(c);
+      if (fC * fB <= 0) {
+        bracketA = bracketB;
+        fA = fB;
+      } else {
+        fA = fA / 2.0;
+      }
+      bracketB = c;
+      fB = fC;
+    }
+    return Math.exp(bracketA / 2.0);
+  }
+}
@@ -0,0 +1,32 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+// Valoración de un jugador. En ELO solo se usa 'rating'; Glicko-2 usa además la desviación y la volatilidad.
+public final class PlayerRating {
+
+  private final double rating;
+  private final double deviation;
+  private final double volatility;
+
+  public PlayerRating(double rating, double deviation, double volatility) {
+    this.rating = rating;
+    this.deviation = deviation;
+    this.volatility = volatility;
+  }
+
+  public double getRating() {
+    return rating;
+  }
+
+  public double getDeviation() {
+    return deviation;
+  }
+
+  public double getVolatility() {
+    return volatility;
+  }
+
+  // Valor que se guarda en User.points y se usa para la posición global
+  public int getPoints() {
+    return (int) Math.round(rating);
+  }
+}
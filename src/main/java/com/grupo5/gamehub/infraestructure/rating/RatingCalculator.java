@@ -0,0 +1,15 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+import java.util.List;
+
+/**
+ * Algoritmo de valoración. Trabaja por periodos: todas las partidas de un periodo se evalúan contra
+ * las valoraciones que tenían los rivales al empezarlo, así que los jugadores de un mismo periodo
+ * pueden calcularse de forma independiente. Un resultado suelto es un periodo con una sola partida.
+ */
+public interface RatingCalculator {
+
+  PlayerRating initialRating();
+
+  PlayerRating rate(PlayerRating player, List<GameOutcome> games);
+}
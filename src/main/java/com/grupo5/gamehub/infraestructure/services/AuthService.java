@@ -3,8 +3,12 @@ package com.grupo5.gamehub.infraestructure.services;
 import com.grupo5.gamehub.api.dtos.LoginRequest;
 import com.grupo5.gamehub.api.dtos.RegisterRequest;
 import com.grupo5.gamehub.api.dtos.AuthResponse;
+import com.grupo5.gamehub.api.dtos.BulkRegistrationResponse;
+
+import java.util.List;
 
 public interface AuthService {
   AuthResponse register(RegisterRequest request);
+  BulkRegistrationResponse registerAll(List<RegisterRequest> requests);
   AuthResponse login(LoginRequest request);
 }
\ No newline at end of file
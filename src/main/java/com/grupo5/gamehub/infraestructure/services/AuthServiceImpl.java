@@ -1,23 +1,37 @@
 package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.AuthResponse;
+import com.grupo5.gamehub.api.dtos.BulkRegistrationResponse;
 import com.grupo5.gamehub.api.dtos.LoginRequest;
 import com.grupo5.gamehub.api.dtos.RegisterRequest;
+import com.grupo5.gamehub.api.dtos.RejectedRegistration;
 import com.grupo5.gamehub.domain.entities.User;
 import com.grupo5.gamehub.domain.enums.Role;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
 import com.grupo5.gamehub.security.jwt.JwtUtil;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class AuthServiceImpl implements AuthService {
 
+  public static final int MAX_BULK_REGISTRATIONS = 1000;
+
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
@@ -32,26 +46,92 @@ public class AuthServiceImpl implements AuthService {
     this.authenticationManager = authenticationManager;
   }
 
+  // Una sola consulta descarta los duplicados evidentes antes de pagar el hash de la contraseña; las
+  // restricciones únicas de username y email deciden en los registros simultáneos.
   @Override
   public AuthResponse register(RegisterRequest request) {
-    // Validaciones básicas (puedes añadir más)
-    if (userRepository.findByUsername(request.getUsername()).isPresent()) {
-      return new AuthResponse(null, "Username already exists");
+    String conflict = conflictMessage(userRepository.findTakenFields(request.getUsername(), request.getEmail()));
+    if (conflict != null) {
+      return new AuthResponse(null, conflict);
     }
-    if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-      return new AuthResponse(null, "Email already exists");
+
+    User user = newPlayer(request);
+    try {
+      userRepository.saveAndFlush(user);
+    } catch (DataIntegrityViolationException e) {
+      conflict = conflictMessage(userRepository.findTakenFields(request.getUsername(), request.getEmail()));
+      if (conflict == null) {
+        throw e;
+      }
+      return new AuthResponse(null, conflict);
     }
 
-    User user = new User();
-    user.setUsername(request.getUsername());
-    user.setEmail(request.getEmail());
-    user.setPassword(passwordEncoder.encode(request.getPassword()));
-    user.setRole(Role.PLAYER);
-    userRepository.save(user);
+    String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole());
+    return new AuthResponse(token, "User registered successfully");
+  }
+
+  // Importación de jugadores: se descartan las filas incompletas, repetidas o ya registradas y el resto se
+  // inserta en lotes en una transacción. Los hashes se calculan uno tras otro, de modo que la importación
+  // ocupa un solo hilo del pool de contraseñas y no deja sin servicio a los logins.
+  @Override
+  public BulkRegistrationResponse registerAll(List<RegisterRequest> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > MAX_BULK_REGISTRATIONS) {
+      throw new IllegalArgumentException("Se pueden registrar entre 1 y " + MAX_BULK_REGISTRATIONS + " jugadores por petición.");
+    }
 
+    List<RejectedRegistration> rejected = new ArrayList<>();
+    Set<String> usernames = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    List<RegisterRequest> candidates = new ArrayList<>();
+    for (RegisterRequest request : requests) {
+      if (!StringUtils.hasText(request.getUsername()) || !StringUtils.hasText(request.getEmail())
+              || !StringUtils.hasText(request.getPassword())) {
+        rejected.add(rejection(request, "Username, email and password are required"));
+      } else if (!usernames.add(request.getUsername())) {
+        rejected.add(rejection(request, "Duplicated username in request"));
+      } else if (!emails.add(request.getEmail())) {
+        rejected.add(rejection(request, "Duplicated email in request"));
+      } else {
+        candidates.add(request);
+      }
+    }
 
-    String token = jwtUtil.generateToken(user.getUsername());
-    return new AuthResponse(token, "User registered successfully");
+    List<User> users = new ArrayList<>(candidates.size());
+    if (!candidates.isEmpty()) {
+      Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+      Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+      for (RegisterRequest request : candidates) {
+        if (takenUsernames.contains(request.getUsername())) {
+          rejected.add(rejection(request, "Username already exists"));
+        } else if (takenEmails.contains(request.getEmail())) {
+          rejected.add(rejection(request, "Email already exists"));
+        } else {
+          users.add(newPlayer(request));
+        }
+      }
+    }
+
+    int created = users.size();
+    if (!users.isEmpty()) {
+      try {
+        userRepository.saveAll(users);
+      } catch (DataIntegrityViolationException e) {
+        // Alguien se registró entre la comprobación y la inserción: se repite fila a fila para aislarlo
+        created = 0;
+        for (User user : users) {
+          user.setId(null);
+          try {
+            userRepository.saveAndFlush(user);
+            created++;
+          } catch (DataIntegrityViolationException rowConflict) {
+            String conflict = conflictMessage(userRepository.findTakenFields(user.getUsername(), user.getEmail()));
+            rejected.add(new RejectedRegistration(user.getUsername(), user.getEmail(),
+                    conflict != null ? conflict : "Could not be registered"));
+          }
+        }
+      }
+    }
+    return new BulkRegistrationResponse(requests.size(), created, rejected);
   }
 
   @Override
@@ -61,11 +141,38 @@ public class AuthServiceImpl implements AuthService {
               new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
       );
 
-      UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-      String token = jwtUtil.generateToken(userDetails.getUsername());
+      AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+      String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole());
       return new AuthResponse(token, "Login successful");
+    } catch (RejectedExecutionException e) {
+      // Pool de hash de contraseñas saturado: no son credenciales inválidas, el controlador responde 503
+      throw e;
     } catch (Exception e) {
       return new AuthResponse(null, "Invalid credentials");
     }
   }
-}
\ No newline at end of file
+
+  private User newPlayer(RegisterRequest request) {
+    User user = new User();
+    user.setUsername(request.getUsername());
+    user.setEmail(request.getEmail());
+    user.setPassword(passwordEncoder.encode(request.getPassword()));
+    user.setRole(Role.PLAYER);
+    return user;
+  }
+
+  // Con el nombre y el correo ocupados, como antes, prevalece el nombre
+  private static String conflictMessage(List<String> takenFields) {
+    if (takenFields.contains("username")) {
+      return "Username already exists";
+    }
+    if (takenFields.contains("email")) {
+      return "Email already exists";
+    }
+    return null;
+  }
+
+  private static RejectedRegistration rejection(RegisterRequest request, String reason) {
+    return new RejectedRegistration(request.getUsername(), request.getEmail(), reason);
+  }
+}
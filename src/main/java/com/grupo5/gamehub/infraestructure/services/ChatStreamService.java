@@ -0,0 +1,23 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChatStreamService {
+
+  static String tournamentRoom(Long tournamentId) {
+    return "tournament:" + tournamentId;
+  }
+
+  static String matchRoom(Long matchId) {
+    return "match:" + matchId;
+  }
+
+  // Abre una suscripción SSE a la sala; los permisos se comprueban antes, en MessageService
+  SseEmitter subscribe(String room);
+
+  // Reparte un mensaje ya confirmado a los suscriptores conectados, sin tocar la base de datos
+  void publish(String room, MessageResponse message);
+
+  int subscriberCount(String room);
+}
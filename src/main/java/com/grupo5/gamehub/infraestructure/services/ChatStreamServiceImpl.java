@@ -0,0 +1,199 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Salas de chat en memoria con suscriptores SSE. Cada mensaje se serializa una sola vez y se encola en el buffer
+ * acotado de cada suscriptor; un pool de envío vacía los buffers, de modo que quien publica (la petición que
+ * guardó el mensaje) nunca espera a un socket lento. Si el buffer de un suscriptor se llena, se le desconecta:
+ * el cliente (EventSource) vuelve a conectar y recupera el historial por la API de consulta.
+ * Un latido periódico mantiene abiertas las conexiones a través de proxies y detecta las que ya están muertas.
+ */
+@Service
+@Timed(value = "gamehub.service", histogram = true)
+public class ChatStreamServiceImpl implements ChatStreamService {
+
+  private static final Logger log = LoggerFactory.getLogger(ChatStreamServiceImpl.class);
+
+  private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+
+  private final ObjectMapper objectMapper;
+  private final long timeoutMs;
+  private final int bufferSize;
+  private final Map<String, Set<Subscriber>> rooms = new ConcurrentHashMap<>();
+  private final ExecutorService senders;
+  private final ScheduledExecutorService heartbeats;
+
+  public ChatStreamServiceImpl(ObjectMapper objectMapper,
+                               @Value("${gamehub.chat.stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${gamehub.chat.stream.buffer-size:256}") int bufferSize,
+                               @Value("${gamehub.chat.stream.sender-threads:4}") int senderThreads,
+                               @Value("${gamehub.chat.stream.heartbeat-seconds:15}") long heartbeatSeconds) {
+    this.objectMapper = objectMapper;
+    this.timeoutMs = timeoutMs;
+    this.bufferSize = bufferSize;
+    this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("chat-sse-sender-"));
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("chat-sse-heartbeat-"));
+    this.heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public SseEmitter subscribe(String room) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    register(room, emitter);
+    return emitter;
+  }
+
+  Subscriber register(String room, SseEmitter emitter) {
+    Subscriber subscriber = new Subscriber(room, emitter, bufferSize);
+    // Se añade dentro de compute para no competir con remove(), que borra la sala cuando se queda vacía
+    rooms.compute(room, (key, subscribers) -> {
+      Set<Subscriber> members = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+      members.add(subscriber);
+      return members;
+    });
+    emitter.onCompletion(() -> remove(subscriber));
+    emitter.onTimeout(() -> remove(subscriber));
+    emitter.onError(error -> remove(subscriber));
+    return subscriber;
+  }
+
+  @Override
+  public void publish(String room, MessageResponse message) {
+    Set<Subscriber> subscribers = rooms.get(room);
+    if (subscribers == null || subscribers.isEmpty()) {
+      return;
+    }
+    Set<ResponseBodyEmitter.DataWithMediaType> event;
+    try {
+      event = SseEmitter.event()
+              .id(String.valueOf(message.getId()))
+              .name("message")
+              .data(objectMapper.writeValueAsString(message), MediaType.APPLICATION_JSON)
+              .build();
+    } catch (JsonProcessingException e) {
+      log.warn("No se pudo serializar el mensaje {} para la sala {}", message.getId(), room, e);
+      return;
+    }
+    subscribers.forEach(subscriber -> enqueue(subscriber, event));
+  }
+
+  @Override
+  public int subscriberCount(String room) {
+    Set<Subscriber> subscribers = rooms.get(room);
+    return subscribers == null ? 0 : subscribers.size();
+  }
+
+  void sendHeartbeats() {
+    rooms.values().forEach(subscribers -> subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+  }
+
+  private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+    if (subscriber.closed) {
+      return;
+    }
+    if (!subscriber.queue.offer(event)) {
+      log.debug("Suscriptor lento desconectado de la sala {}", subscriber.room);
+      // complete() y send() se sincronizan sobre el emisor: cerrarlo aquí esperaría al hilo atascado en el
+      // socket lento. Solo se marca; quien vacía el suscriptor lo cierra al ver la marca.
+      subscriber.evicted = true;
+      remove(subscriber);
+    }
+    if (subscriber.draining.compareAndSet(false, true)) {
+      senders.execute(() -> drain(subscriber));
+    }
+  }
+
+  // Solo un hilo vacía cada suscriptor a la vez, así que los eventos salen en el orden en que se encolaron.
+  // Al ver el suscriptor cerrado se sale sin soltar draining, así que el cierre por desbordamiento se hace
+  // una sola vez y siempre desde un hilo de envío.
+  private void drain(Subscriber subscriber) {
+    while (true) {
+      Set<ResponseBodyEmitter.DataWithMediaType> event;
+      while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+        try {
+          subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+          remove(subscriber);
+          return;
+        }
+      }
+      if (subscriber.closed) {
+        if (subscriber.evicted) {
+          subscriber.emitter.complete();
+        }
+        return;
+      }
+      subscriber.draining.set(false);
+      if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+        return;
+      }
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscriber.closed = true;
+    subscriber.queue.clear();
+    rooms.computeIfPresent(subscriber.room, (room, subscribers) -> {
+      subscribers.remove(subscriber);
+      return subscribers.isEmpty() ? null : subscribers;
+    });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    heartbeats.shutdownNow();
+    senders.shutdownNow();
+    rooms.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    rooms.clear();
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  static final class Subscriber {
+    private final String room;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean evicted;
+
+    private Subscriber(String room, SseEmitter emitter, int bufferSize) {
+      this.room = room;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.leaderboard.LeaderboardEntryResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderboardService {
+
+  List<LeaderboardEntryResponse> getTop(int limit);
+
+  Optional<LeaderboardEntryResponse> getEntry(Long userId);
+
+  // Jugadores alrededor del indicado (hasta 'radius' por encima y por debajo); vacío si no tiene valoración
+  List<LeaderboardEntryResponse> getAround(Long userId, int radius);
+
+  // Registra los nuevos puntos de un jugador; se aplica en memoria tras el commit.
+  // Debe llamarse con el bloqueo de valoraciones tomado, que es lo que ordena las actualizaciones.
+  void recordPoints(Long userId, String username, int points);
+
+  // Vuelve a cargar la clasificación completa desde la tabla de usuarios
+  int rebuild();
+}
@@ -0,0 +1,150 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.leaderboard.LeaderboardEntryResponse;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.projections.LeaderboardEntryView;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.infraestructure.leaderboard.GlobalLeaderboard;
+import com.grupo5.gamehub.infraestructure.support.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Clasificación global servida desde memoria (ver GlobalLeaderboard). Las actualizaciones llegan desde
+ * RatingServiceImpl con el bloqueo de valoraciones tomado, así que el número de secuencia que se les asigna
+ * sigue el orden de commit aunque los hooks afterCommit se ejecuten desordenados.
+ */
+@Service
+@Timed(value = "gamehub.service", histogram = true)
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+  private static final Logger log = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+  private final UserRepository userRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int minPoints;
+  private final int maxPoints;
+  private final int pageSize;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicLong sequence = new AtomicLong();
+  private GlobalLeaderboard leaderboard;
+
+  public LeaderboardServiceImpl(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                                @Value("${gamehub.leaderboard.min-points:0}") int minPoints,
+                                @Value("${gamehub.leaderboard.max-points:5000}") int maxPoints,
+                                @Value("${gamehub.leaderboard.load-page-size:1000}") int pageSize) {
+    this.userRepository = userRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.minPoints = minPoints;
+    this.maxPoints = maxPoints;
+    this.pageSize = pageSize;
+    this.leaderboard = new GlobalLeaderboard(minPoints, maxPoints);
+  }
+
+  @Override
+  public List<LeaderboardEntryResponse> getTop(int limit) {
+    lock.readLock().lock();
+    try {
+      return toResponses(leaderboard.top(limit));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Optional<LeaderboardEntryResponse> getEntry(Long userId) {
+    lock.readLock().lock();
+    try {
+      return Optional.ofNullable(leaderboard.get(userId)).map(this::toResponse);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public List<LeaderboardEntryResponse> getAround(Long userId, int radius) {
+    lock.readLock().lock();
+    try {
+      return toResponses(leaderboard.around(userId, radius));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void recordPoints(Long userId, String username, int points) {
+    long updateSequence = sequence.incrementAndGet();
+    TransactionHooks.afterCommit(() -> {
+      lock.writeLock().lock();
+      try {
+        leaderboard.put(userId, username, points, updateSequence);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    });
+  }
+
+  @Override
+  public int rebuild() {
+    long start = System.nanoTime();
+    Integer loaded = readOnlyTransaction.execute(status -> {
+      // Con el bloqueo tomado no hay resultados a medio confirmar: todo lo anterior a loadSequence ya está en la tabla
+      userRepository.acquireRatingLock(RatingServiceImpl.RATING_LOCK_KEY);
+      long loadSequence = sequence.get();
+
+      GlobalLeaderboard rebuilt = new GlobalLeaderboard(minPoints, maxPoints);
+      Long afterId = 0L;
+      List<LeaderboardEntryView> page;
+      do {
+        page = userRepository.findRatedPlayersAfter(Role.PLAYER, afterId, PageRequest.ofSize(pageSize));
+        for (LeaderboardEntryView row : page) {
+          rebuilt.put(row.getId(), row.getUsername(), row.getPoints(), loadSequence);
+        }
+        if (!page.isEmpty()) {
+          afterId = page.get(page.size() - 1).getId();
+        }
+      } while (page.size() == pageSize);
+
+      lock.writeLock().lock();
+      try {
+        leaderboard = rebuilt;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      return rebuilt.size();
+    });
+    int players = loaded != null ? loaded : 0;
+    log.info("Clasificación global cargada con {} jugadores en {} ms", players, (System.nanoTime() - start) / 1_000_000);
+    return players;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    rebuild();
+  }
+
+  private List<LeaderboardEntryResponse> toResponses(List<GlobalLeaderboard.Entry> entries) {
+    return entries.stream().map(this::toResponse).collect(Collectors.toList());
+  }
+
+  private LeaderboardEntryResponse toResponse(GlobalLeaderboard.Entry entry) {
+    return new LeaderboardEntryResponse(entry.getUserId(), entry.getUsername(), entry.getPoints(),
+            leaderboard.rankOf(entry.getPoints()));
+  }
+}
@@ -1,15 +1,21 @@
 package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.matches.MatchGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.MatchPageResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResultUpdateRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleResponse;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
 
 import java.util.List;
 
 public interface MatchService {
   List<MatchResponse> generateMatches(Long tournamentId, MatchGenerationRequest request);
+  ScheduleResponse generateSchedule(Long tournamentId, ScheduleGenerationRequest request);
   MatchResponse getMatchById(Long id);
   MatchResponse updateMatchResult(Long id, MatchResultUpdateRequest request);
-  List<MatchResponse> getMatchesByTournament(Long tournamentId);
+  MatchPageResponse getMatchesByTournament(Long tournamentId, Integer roundNumber, MatchStatus status, Long playerId,
+                                           String cursor, int limit);
 
 }
\ No newline at end of file
@@ -1,38 +1,76 @@
 package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.matches.MatchGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.MatchPageResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResultUpdateRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleResponse;
 import com.grupo5.gamehub.api.dtos.matches.UserInMatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.TournamentInMatchResponse;
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
 import com.grupo5.gamehub.domain.entities.Match;
 import com.grupo5.gamehub.domain.entities.Tournament;
 import com.grupo5.gamehub.domain.entities.User;
 import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.PairingMode;
 import com.grupo5.gamehub.domain.enums.Result;
 import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.MatchPairingView;
+import com.grupo5.gamehub.domain.projections.MatchResponseView;
 import com.grupo5.gamehub.domain.repositories.MatchRepository;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.infraestructure.pairing.EliminationBracket;
+import com.grupo5.gamehub.infraestructure.pairing.RoundRobinSchedule;
+import com.grupo5.gamehub.infraestructure.pairing.ScheduledMatch;
+import com.grupo5.gamehub.infraestructure.pairing.SwissPairing;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class MatchServiceImpl implements MatchService {
 
+  private static final Logger log = LoggerFactory.getLogger(MatchServiceImpl.class);
+
+  // Límite de partidas por calendario (una liga de ~450 jugadores a ida y vuelta)
+  static final int MAX_SCHEDULED_MATCHES = 200_000;
+
+  // Cabezas de serie: posición global (sin posición al final), después puntos globales e id
+  static final Comparator<User> SEED_ORDER = Comparator
+          .comparing(User::getRank, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+          .thenComparing(User::getPoints, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+          .thenComparing(User::getId);
+
   private final MatchRepository matchRepository;
   private final TournamentRepository tournamentRepository;
   private final UserRepository userRepository;
+  private final StandingsService standingsService;
+  private final RankingService rankingService;
+  private final RatingService ratingService;
 
-  public MatchServiceImpl(MatchRepository matchRepository, TournamentRepository tournamentRepository, UserRepository userRepository) {
+  public MatchServiceImpl(MatchRepository matchRepository, TournamentRepository tournamentRepository, UserRepository userRepository,
+                          StandingsService standingsService, RankingService rankingService, RatingService ratingService) {
     this.matchRepository = matchRepository;
     this.tournamentRepository = tournamentRepository;
     this.userRepository = userRepository;
+    this.standingsService = standingsService;
+    this.rankingService = rankingService;
+    this.ratingService = ratingService;
   }
 
   @Override
@@ -58,20 +96,26 @@ public class MatchServiceImpl implements MatchService {
     }
 
 
-    List<User> players = new ArrayList<>(tournament.getPlayers());
-    Collections.shuffle(players);
+    List<Match> generatedMatches;
+    if (request.getPairingMode() == PairingMode.SWISS) {
+      generatedMatches = generateSwissMatches(tournament, request.getRoundNumber());
+    } else {
+      List<User> players = new ArrayList<>(tournament.getPlayers());
+      Collections.shuffle(players);
 
-    List<Match> generatedMatches = new ArrayList<>();
-    for (int i = 0; i + 1 < players.size(); i += 2) {
-      User player1 = players.get(i);
-      User player2 = players.get(i + 1);
+      generatedMatches = new ArrayList<>();
+      for (int i = 0; i + 1 < players.size(); i += 2) {
+        User player1 = players.get(i);
+        User player2 = players.get(i + 1);
 
-      Match match = new Match(tournament, player1, player2, request.getRoundNumber());
-      generatedMatches.add(match);
-    }
+        Match match = new Match(tournament, player1, player2, request.getRoundNumber());
+        generatedMatches.add(match);
+      }
 
-    if (players.size() % 2 != 0) {
-      System.out.println("Jugador " + players.get(players.size() - 1).getUsername() + " tiene bye en la ronda " + request.getRoundNumber());
+      if (players.size() % 2 != 0) {
+        log.info("Jugador {} tiene bye en la ronda {} del torneo {}", players.get(players.size() - 1).getUsername(),
+                request.getRoundNumber(), tournamentId);
+      }
     }
 
     List<Match> savedMatches = matchRepository.saveAll(generatedMatches);
@@ -80,16 +124,130 @@ public class MatchServiceImpl implements MatchService {
       tournament.setStatus(TournamentStatus.IN_PROGRESS);
       tournamentRepository.save(tournament);
     }
-
+    rankingService.evictTournamentRanking(tournamentId);
 
     return savedMatches.stream()
             .map(this::convertToMatchResponse)
             .collect(Collectors.toList());
   }
 
+  // Sistema suizo: puntos de la clasificación del torneo y cruces anteriores leídos sin cargar las partidas
+  private List<Match> generateSwissMatches(Tournament tournament, Integer roundNumber) {
+    Map<Long, Integer> scores = standingsService.getStandings(tournament.getId(), null).stream()
+            .collect(Collectors.toMap(PlayerRankingDto::getUserId, PlayerRankingDto::getTotalPoints));
+
+    List<long[]> previousPairings = new ArrayList<>();
+    Map<Long, Integer> gamesPlayed = new HashMap<>();
+    for (MatchPairingView pairing : matchRepository.findPairingsByTournamentId(tournament.getId())) {
+      previousPairings.add(new long[]{pairing.getPlayer1Id(), pairing.getPlayer2Id()});
+      gamesPlayed.merge(pairing.getPlayer1Id(), 1, Integer::sum);
+      gamesPlayed.merge(pairing.getPlayer2Id(), 1, Integer::sum);
+    }
+
+    Map<Long, User> playersById = new HashMap<>();
+    List<SwissPairing.Player> players = new ArrayList<>(tournament.getPlayers().size());
+    for (User user : tournament.getPlayers()) {
+      playersById.put(user.getId(), user);
+      players.add(new SwissPairing.Player(user.getId(), scores.getOrDefault(user.getId(), 0),
+              user.getPoints() != null ? user.getPoints() : 0, gamesPlayed.getOrDefault(user.getId(), 0)));
+    }
+
+    SwissPairing.Result result = new SwissPairing(previousPairings).pair(players);
+    // El bye no se persiste ni puntúa: solo se registra (ver la descripción del endpoint)
+    if (result.getBye() != null) {
+      log.info("Jugador {} tiene bye en la ronda {} del torneo {}", playersById.get(result.getBye().getId()).getUsername(),
+              roundNumber, tournament.getId());
+    }
+
+    List<Match> matches = new ArrayList<>(result.getPairs().size());
+    for (SwissPairing.Player[] pair : result.getPairs()) {
+      matches.add(new Match(tournament, playersById.get(pair[0].getId()), playersById.get(pair[1].getId()), roundNumber));
+    }
+    return matches;
+  }
+
+  @Override
+  @Transactional
+  public ScheduleResponse generateSchedule(Long tournamentId, ScheduleGenerationRequest request) {
+    if (request.getFormat() == null) {
+      throw new IllegalArgumentException("Se debe indicar el formato del calendario.");
+    }
+    Tournament tournament = tournamentRepository.findById(tournamentId)
+            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
+
+    if (tournament.getPlayers().size() < 2) {
+      throw new IllegalStateException("El torneo necesita al menos 2 jugadores para generar partidas.");
+    }
+    if (tournament.getStatus() == TournamentStatus.COMPLETED || tournament.getStatus() == TournamentStatus.CANCELLED) {
+      throw new IllegalStateException("No se pueden generar partidas para un torneo finalizado o cancelado.");
+    }
+    if (matchRepository.existsByTournamentId(tournamentId)) {
+      throw new IllegalStateException("El torneo ya tiene partidas; el calendario completo solo se puede generar antes de la primera ronda.");
+    }
+
+    List<User> players = new ArrayList<>(tournament.getPlayers());
+    players.sort(SEED_ORDER);
+    Map<Long, User> playersById = new HashMap<>();
+    List<Long> seededIds = new ArrayList<>(players.size());
+    for (User player : players) {
+      playersById.put(player.getId(), player);
+      seededIds.add(player.getId());
+    }
+
+    List<ScheduledMatch> schedule;
+    switch (request.getFormat()) {
+      case ROUND_ROBIN:
+        if (RoundRobinSchedule.matchCount(players.size(), request.isDoubleRoundRobin()) > MAX_SCHEDULED_MATCHES) {
+          throw new IllegalArgumentException("El calendario superaría el máximo de " + MAX_SCHEDULED_MATCHES + " partidas.");
+        }
+        schedule = RoundRobinSchedule.generate(seededIds, request.isDoubleRoundRobin());
+        break;
+      case SINGLE_ELIMINATION:
+        schedule = EliminationBracket.single(seededIds);
+        break;
+      default:
+        schedule = EliminationBracket.doubleElimination(seededIds);
+    }
+
+    List<Match> matches = new ArrayList<>(schedule.size());
+    for (ScheduledMatch scheduled : schedule) {
+      Match match = new Match(tournament, playersById.get(scheduled.getPlayer1Id()),
+              playersById.get(scheduled.getPlayer2Id()), scheduled.getRound());
+      match.setBracket(scheduled.getBracket());
+      matches.add(match);
+    }
+
+    // Todo el calendario en una transacción y en dos pasadas. Con order_inserts, un lote en el que una partida
+    // apunta a otra del mismo lote no se puede ordenar y Hibernate lo inserta sin agrupar; por eso primero se
+    // insertan las partidas sin enlaces (INSERT agrupados) y después se enlazan, lo que se escribe al confirmar
+    // como UPDATE agrupados.
+    matchRepository.saveAll(matches);
+    matchRepository.flush();
+    for (ScheduledMatch scheduled : schedule) {
+      Match match = matches.get(scheduled.getIndex());
+      if (scheduled.getNextIndex() != null) {
+        match.setNextMatch(matches.get(scheduled.getNextIndex()));
+        match.setNextMatchSlot(scheduled.getNextSlot());
+      }
+      if (scheduled.getLoserNextIndex() != null) {
+        match.setLoserNextMatch(matches.get(scheduled.getLoserNextIndex()));
+        match.setLoserNextMatchSlot(scheduled.getLoserNextSlot());
+      }
+    }
+
+    if (tournament.getStatus() == TournamentStatus.CREATED) {
+      tournament.setStatus(TournamentStatus.IN_PROGRESS);
+      tournamentRepository.save(tournament);
+    }
+    rankingService.evictTournamentRanking(tournamentId);
+
+    int rounds = schedule.stream().mapToInt(ScheduledMatch::getRound).max().orElse(0);
+    return new ScheduleResponse(tournamentId, request.getFormat(), rounds, matches.size());
+  }
+
   @Override
   public MatchResponse getMatchById(Long id) {
-    return matchRepository.findById(id)
+    return matchRepository.findResponseById(id)
             .map(this::convertToMatchResponse)
             .orElseThrow(() -> new IllegalArgumentException("Partida no encontrada con ID: " + id));
   }
@@ -108,6 +266,13 @@ public class MatchServiceImpl implements MatchService {
       throw new IllegalArgumentException("El resultado de la partida no puede ser 'PENDING' al actualizar.");
     }
 
+    if (match.getPlayer1() == null || match.getPlayer2() == null) {
+      throw new IllegalStateException("La partida todavía no tiene asignados sus dos jugadores.");
+    }
+    if (match.getBracket() != null && request.getResult() == Result.DRAW) {
+      throw new IllegalArgumentException("Una partida de eliminación no puede terminar en EMPATE.");
+    }
+
 
     // Asignar el ganador basado en el resultado
     User winner = null;
@@ -129,22 +294,75 @@ public class MatchServiceImpl implements MatchService {
     match.setWinner(winner);
     match.setResult(request.getResult());
     match.setStatus(MatchStatus.COMPLETED);
+    match.setCompletedAt(LocalDateTime.now());
 
     Match updatedMatch = matchRepository.save(match);
-
+    standingsService.recordResult(updatedMatch);
+    ratingService.applyResult(updatedMatch);
+    advanceInBracket(updatedMatch);
+    rankingService.evictTournamentRanking(updatedMatch.getTournament().getId());
+    rankingService.globalRanksChanged();
 
     return convertToMatchResponse(updatedMatch);
   }
 
+  // El ganador (y en doble eliminación también el perdedor) ocupa su hueco en la siguiente partida del cuadro
+  private void advanceInBracket(Match match) {
+    if (match.getWinner() == null) {
+      return;
+    }
+    User loser = match.getWinner().getId().equals(match.getPlayer1().getId()) ? match.getPlayer2() : match.getPlayer1();
+    placeInSlot(match.getNextMatch(), match.getNextMatchSlot(), match.getWinner());
+    placeInSlot(match.getLoserNextMatch(), match.getLoserNextMatchSlot(), loser);
+  }
+
+  private void placeInSlot(Match target, Integer slot, User player) {
+    if (target == null) {
+      return;
+    }
+    if (slot != null && slot == 2) {
+      target.setPlayer2(player);
+    } else {
+      target.setPlayer1(player);
+    }
+    matchRepository.save(target);
+  }
+
   @Override
-  public List<MatchResponse> getMatchesByTournament(Long tournamentId) {
-    Tournament tournament = tournamentRepository.findById(tournamentId)
-            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
+  public MatchPageResponse getMatchesByTournament(Long tournamentId, Integer roundNumber, MatchStatus status,
+                                                  Long playerId, String cursor, int limit) {
+    int afterRound = 0;
+    long afterId = 0L;
+    if (cursor != null && !cursor.isBlank()) {
+      String[] parts = cursor.split("_");
+      try {
+        if (parts.length != 2) {
+          throw new NumberFormatException(cursor);
+        }
+        afterRound = Integer.parseInt(parts[0]);
+        afterId = Long.parseLong(parts[1]);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+      }
+    }
 
-    List<Match> matches = matchRepository.findByTournament(tournament);
-    return matches.stream()
+    // Se pide una fila de más para saber si hay página siguiente sin contar el total
+    List<MatchResponseView> rows = matchRepository.findResponsePage(tournamentId, afterRound, afterId,
+            roundNumber, status, playerId, PageRequest.ofSize(limit + 1));
+    if (rows.isEmpty() && afterId == 0L && !tournamentRepository.existsById(tournamentId)) {
+      throw new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId);
+    }
+
+    String nextCursor = null;
+    if (rows.size() > limit) {
+      rows = rows.subList(0, limit);
+      MatchResponseView last = rows.get(limit - 1);
+      nextCursor = last.getRoundNumber() + "_" + last.getId();
+    }
+    List<MatchResponse> matches = rows.stream()
             .map(this::convertToMatchResponse)
             .collect(Collectors.toList());
+    return new MatchPageResponse(matches, nextCursor);
   }
 
   private MatchResponse convertToMatchResponse(Match match) {
@@ -176,7 +394,30 @@ public class MatchServiceImpl implements MatchService {
             winnerDto,
             match.getResult(),
             match.getStatus(),
-            match.getRoundNumber()
+            match.getRoundNumber(),
+            match.getBracket(),
+            match.getNextMatch() != null ? match.getNextMatch().getId() : null,
+            match.getLoserNextMatch() != null ? match.getLoserNextMatch().getId() : null
     );
   }
-}
\ No newline at end of file
+
+  private MatchResponse convertToMatchResponse(MatchResponseView view) {
+    return new MatchResponse(
+            view.getId(),
+            new TournamentInMatchResponse(view.getTournamentId(), view.getTournamentName()),
+            toUserInMatch(view.getPlayer1Id(), view.getPlayer1Username(), view.getPlayer1Email()),
+            toUserInMatch(view.getPlayer2Id(), view.getPlayer2Username(), view.getPlayer2Email()),
+            toUserInMatch(view.getWinnerId(), view.getWinnerUsername(), view.getWinnerEmail()),
+            view.getResult(),
+            view.getStatus(),
+            view.getRoundNumber(),
+            view.getBracket(),
+            view.getNextMatchId(),
+            view.getLoserNextMatchId()
+    );
+  }
+
+  private static UserInMatchResponse toUserInMatch(Long id, String username, String email) {
+    return id != null ? new UserInMatchResponse(id, username, email) : null;
+  }
+}
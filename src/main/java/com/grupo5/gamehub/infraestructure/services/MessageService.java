@@ -2,6 +2,7 @@ package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.messages.MessageRequest;
 import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -9,12 +10,19 @@ public interface MessageService {
   // Para enviar un mensaje a un torneo
   MessageResponse sendMessageToTournament(Long tournamentId, Long senderId, MessageRequest messageRequest);
 
-  // Para obtener mensajes de un torneo
-  List<MessageResponse> getTournamentMessages(Long tournamentId);
+  // Página del historial de un torneo en orden cronológico: la más reciente si no hay cursor, los anteriores
+  // a 'before' o los posteriores a 'after' (ids de mensaje)
+  List<MessageResponse> getTournamentMessages(Long tournamentId, Long before, Long after, int limit);
 
   // Para enviar un mensaje a una partida
   MessageResponse sendMessageToMatch(Long matchId, Long senderId, MessageRequest messageRequest);
 
-  // Para obtener mensajes de una partida
-  List<MessageResponse> getMatchMessages(Long matchId);
+  // Igual que getTournamentMessages, para el chat de una partida
+  List<MessageResponse> getMatchMessages(Long matchId, Long before, Long after, int limit);
+
+  // Suscripción en vivo al chat de un torneo (mismos permisos que getTournamentMessages)
+  SseEmitter subscribeToTournamentMessages(Long tournamentId);
+
+  // Suscripción en vivo al chat de una partida (mismos permisos que getMatchMessages)
+  SseEmitter subscribeToMatchMessages(Long matchId);
 }
\ No newline at end of file
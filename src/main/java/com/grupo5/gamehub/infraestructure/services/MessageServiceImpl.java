@@ -4,25 +4,34 @@ import com.grupo5.gamehub.api.dtos.messages.MessageRequest;
 import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
 import com.grupo5.gamehub.api.dtos.messages.UserMessageResponse;
 import com.grupo5.gamehub.domain.entities.Message;
-import com.grupo5.gamehub.domain.entities.Tournament;
 import com.grupo5.gamehub.domain.entities.User;
-import com.grupo5.gamehub.domain.entities.Match;
 import com.grupo5.gamehub.domain.repositories.MessageRepository;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
 import com.grupo5.gamehub.domain.repositories.MatchRepository;
+import com.grupo5.gamehub.infraestructure.support.TransactionHooks;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.grupo5.gamehub.domain.enums.Role;
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class MessageServiceImpl implements MessageService {
 
   private final MessageRepository messageRepository;
@@ -30,23 +39,35 @@ public class MessageServiceImpl implements MessageService {
   private final TournamentRepository tournamentRepository;
   private final MatchRepository matchRepository;
   private final UserService userService;
+  private final ChatStreamService chatStreamService;
+  private final RecentMessageCache recentMessageCache;
+  private final MessageWriteBehind messageWriteBehind;
 
   public MessageServiceImpl(MessageRepository messageRepository, UserRepository userRepository,
                             TournamentRepository tournamentRepository, MatchRepository matchRepository,
-                            UserService userService) {
+                            UserService userService, ChatStreamService chatStreamService,
+                            RecentMessageCache recentMessageCache, MessageWriteBehind messageWriteBehind) {
     this.messageRepository = messageRepository;
     this.userRepository = userRepository;
     this.tournamentRepository = tournamentRepository;
     this.matchRepository = matchRepository;
     this.userService = userService;
+    this.chatStreamService = chatStreamService;
+    this.recentMessageCache = recentMessageCache;
+    this.messageWriteBehind = messageWriteBehind;
   }
 
-  private Long getAuthenticatedUserId() {
+  // Con el principal que crea UserDetailsServiceImpl el id y el rol ya vienen en la petición; con cualquier otro
+  // se buscan por username como antes
+  private AuthenticatedUser getAuthenticatedUser() {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
     if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
       throw new IllegalStateException("Usuario no autenticado.");
     }
+    if (authentication.getPrincipal() instanceof AuthenticatedUser) {
+      return (AuthenticatedUser) authentication.getPrincipal();
+    }
     String username;
     if (authentication.getPrincipal() instanceof UserDetails) {
       username = ((UserDetails) authentication.getPrincipal()).getUsername();
@@ -55,7 +76,10 @@ public class MessageServiceImpl implements MessageService {
     } else {
       throw new IllegalStateException("Formato de principal de autenticación desconocido.");
     }
-    return userService.getUserIdByUsername(username);
+    Long userId = userService.getUserIdByUsername(username);
+    User user = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalStateException("Usuario autenticado no encontrado en el sistema."));
+    return new AuthenticatedUser(user.getId(), user.getUsername(), "", user.getRole());
   }
 
   @Override
@@ -63,35 +87,47 @@ public class MessageServiceImpl implements MessageService {
   public MessageResponse sendMessageToTournament(Long tournamentId, Long senderId, MessageRequest messageRequest) {
     User sender = userRepository.findById(senderId)
             .orElseThrow(() -> new IllegalArgumentException("Sender no encontrado con ID: " + senderId));
-    Tournament tournament = tournamentRepository.findById(tournamentId)
-            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
+    checkTournamentMember(tournamentId, sender.getId(), sender.getRole() == Role.ADMIN,
+            "Solo los participantes del torneo o el administrador pueden enviar mensajes al chat del torneo.");
 
-    if (!tournament.getPlayers().contains(sender) && sender.getRole() != Role.ADMIN) {
-      throw new IllegalStateException("Solo los participantes del torneo o el administrador pueden enviar mensajes al chat del torneo.");
-    }
+    Message message = new Message(sender, messageRequest.getContent(), tournamentRepository.getReferenceById(tournamentId));
+    return store(message, ChatStreamService.tournamentRoom(tournamentId));
+  }
 
-    Message message = new Message(sender, messageRequest.getContent(), tournament);
-    Message savedMessage = messageRepository.save(message);
-    return mapToMessageResponse(savedMessage);
+  // Con escritura diferida el mensaje se da por guardado en cuanto tiene id y el INSERT lo hace el escritor en
+  // segundo plano; si su cola está llena, se inserta aquí con el mismo id (uno nuevo adelantaría a los de la cola)
+  private MessageResponse store(Message message, String room) {
+    Message stored = message;
+    if (messageWriteBehind.isEnabled()) {
+      message.setId(messageWriteBehind.nextId());
+      message.setSentAt(LocalDateTime.now());
+      if (!messageWriteBehind.submit(message)) {
+        messageWriteBehind.writeNow(message);
+      }
+    } else {
+      stored = messageRepository.save(message);
+    }
+    MessageResponse response = mapToMessageResponse(stored);
+    TransactionHooks.afterCommit(() -> {
+      recentMessageCache.append(room, response);
+      chatStreamService.publish(room, response);
+    });
+    return response;
   }
 
   @Override
-  public List<MessageResponse> getTournamentMessages(Long tournamentId) {
-    Long authenticatedUserId = getAuthenticatedUserId();
+  public List<MessageResponse> getTournamentMessages(Long tournamentId, Long before, Long after, int limit) {
+    checkTournamentChatAccess(tournamentId);
 
-    User authenticatedUser = userRepository.findById(authenticatedUserId)
-            .orElseThrow(() -> new IllegalStateException("Usuario autenticado no encontrado en el sistema."));
-
-    Tournament tournament = tournamentRepository.findById(tournamentId)
-            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
-
-    if (!tournament.getPlayers().contains(authenticatedUser) && authenticatedUser.getRole() != Role.ADMIN) {
-      throw new IllegalStateException("Solo los participantes del torneo o el administrador pueden ver los mensajes del chat del torneo.");
+    if (before == null && after == null) {
+      return latestMessages(ChatStreamService.tournamentRoom(tournamentId), limit,
+              page -> messageRepository.findTournamentPageBefore(tournamentId, Long.MAX_VALUE, page));
     }
-
-    return messageRepository.findByTournamentIdOrderBySentAtAsc(tournamentId).stream()
-            .map(this::mapToMessageResponse)
-            .collect(Collectors.toList());
+    PageRequest page = PageRequest.ofSize(limit);
+    List<Message> messages = after != null
+            ? written(writtenUpTo(), messageRepository.findTournamentPageAfter(tournamentId, after, page))
+            : chronological(messageRepository.findTournamentPageBefore(tournamentId, before, page));
+    return toResponses(messages);
   }
 
   @Override
@@ -99,37 +135,118 @@ public class MessageServiceImpl implements MessageService {
   public MessageResponse sendMessageToMatch(Long matchId, Long senderId, MessageRequest messageRequest) {
     User sender = userRepository.findById(senderId)
             .orElseThrow(() -> new IllegalArgumentException("Sender no encontrado con ID: " + senderId));
-    Match match = matchRepository.findById(matchId)
-            .orElseThrow(() -> new IllegalArgumentException("Partida no encontrada con ID: " + matchId));
+    checkMatchPlayer(matchId, sender.getId(), sender.getRole() == Role.ADMIN,
+            "Solo los jugadores de la partida o el administrador pueden enviar mensajes al chat de la partida.");
 
-    if (!match.getPlayer1().equals(sender) && !match.getPlayer2().equals(sender) && sender.getRole() != Role.ADMIN) {
-      throw new IllegalStateException("Solo los jugadores de la partida o el administrador pueden enviar mensajes al chat de la partida.");
-    }
-
-    Message message = new Message(sender, messageRequest.getContent(), match);
-    Message savedMessage = messageRepository.save(message);
-    return mapToMessageResponse(savedMessage);
+    Message message = new Message(sender, messageRequest.getContent(), matchRepository.getReferenceById(matchId));
+    return store(message, ChatStreamService.matchRoom(matchId));
   }
 
   @Override
-  public List<MessageResponse> getMatchMessages(Long matchId) {
-    Long authenticatedUserId = getAuthenticatedUserId();
-    User authenticatedUser = userRepository.findById(authenticatedUserId)
-            .orElseThrow(() -> new IllegalStateException("Usuario autenticado no encontrado en el sistema."));
+  public List<MessageResponse> getMatchMessages(Long matchId, Long before, Long after, int limit) {
+    checkMatchChatAccess(matchId);
 
-    Match match = matchRepository.findById(matchId)
-            .orElseThrow(() -> new IllegalArgumentException("Partida no encontrada con ID: " + matchId));
+    if (before == null && after == null) {
+      return latestMessages(ChatStreamService.matchRoom(matchId), limit,
+              page -> messageRepository.findMatchPageBefore(matchId, Long.MAX_VALUE, page));
+    }
+    PageRequest page = PageRequest.ofSize(limit);
+    List<Message> messages = after != null
+            ? written(writtenUpTo(), messageRepository.findMatchPageAfter(matchId, after, page))
+            : chronological(messageRepository.findMatchPageBefore(matchId, before, page));
+    return toResponses(messages);
+  }
 
-    // Verificar permisos
-    if (!match.getPlayer1().equals(authenticatedUser) && !match.getPlayer2().equals(authenticatedUser) && authenticatedUser.getRole() != Role.ADMIN) {
-      throw new IllegalStateException("Solo los jugadores de la partida o el administrador pueden ver los mensajes del chat de la partida.");
+  // Los últimos mensajes de una sala salen del buffer en memoria; si la sala no está o no guarda suficientes,
+  // se lee al menos una sala completa para que las siguientes lecturas ya no vayan a la base de datos
+  private List<MessageResponse> latestMessages(String room, int limit, Function<PageRequest, List<Message>> newestFirst) {
+    Optional<List<MessageResponse>> cached = recentMessageCache.latest(room, limit);
+    if (cached.isPresent()) {
+      return cached.get();
     }
+    int loadSize = Math.max(limit, recentMessageCache.roomCapacity());
+    List<MessageResponse> messages = toResponses(chronological(newestFirst.apply(PageRequest.ofSize(loadSize))));
+    recentMessageCache.warm(room, messages);
+    return messages.size() > limit ? new ArrayList<>(messages.subList(messages.size() - limit, messages.size())) : messages;
+  }
 
-    return messageRepository.findByMatchIdOrderBySentAtAsc(matchId).stream()
+  private List<MessageResponse> toResponses(List<Message> messages) {
+    return messages.stream()
             .map(this::mapToMessageResponse)
             .collect(Collectors.toList());
   }
 
+  // Con escritura diferida, un mensaje puede estar ya en la base de datos mientras otro con id menor sigue en la
+  // cola. Las páginas 'after' se cortan en el límite leído antes de la consulta, para que el cursor del cliente
+  // no salte el pendiente: lo recibirá en la siguiente consulta.
+  private long writtenUpTo() {
+    return messageWriteBehind.isEnabled() ? messageWriteBehind.writtenUpTo() : Long.MAX_VALUE;
+  }
+
+  private static List<Message> written(long writtenUpTo, List<Message> ascending) {
+    return ascending.stream()
+            .takeWhile(message -> message.getId() <= writtenUpTo)
+            .collect(Collectors.toList());
+  }
+
+  // Las páginas 'before' llegan de la más nueva a la más antigua
+  private static List<Message> chronological(List<Message> newestFirst) {
+    List<Message> messages = new ArrayList<>(newestFirst);
+    Collections.reverse(messages);
+    return messages;
+  }
+
+  // Los permisos se comprueban una sola vez, al abrir la suscripción; después los mensajes llegan desde memoria
+  @Override
+  public SseEmitter subscribeToTournamentMessages(Long tournamentId) {
+    checkTournamentChatAccess(tournamentId);
+    return chatStreamService.subscribe(ChatStreamService.tournamentRoom(tournamentId));
+  }
+
+  @Override
+  public SseEmitter subscribeToMatchMessages(Long matchId) {
+    checkMatchChatAccess(matchId);
+    return chatStreamService.subscribe(ChatStreamService.matchRoom(matchId));
+  }
+
+  private void checkTournamentChatAccess(Long tournamentId) {
+    AuthenticatedUser user = getAuthenticatedUser();
+    checkTournamentMember(tournamentId, user.getId(), user.isAdmin(),
+            "Solo los participantes del torneo o el administrador pueden ver los mensajes del chat del torneo.");
+  }
+
+  private void checkMatchChatAccess(Long matchId) {
+    AuthenticatedUser user = getAuthenticatedUser();
+    checkMatchPlayer(matchId, user.getId(), user.isAdmin(),
+            "Solo los jugadores de la partida o el administrador pueden ver los mensajes del chat de la partida.");
+  }
+
+  // Consultas por índice sobre tournament_players y matches en lugar de cargar el torneo con todos sus jugadores.
+  // En el caso habitual (un participante) basta una consulta; la de existencia solo distingue 404 de 403.
+  private void checkTournamentMember(Long tournamentId, Long userId, boolean admin, String deniedMessage) {
+    if (!admin && tournamentRepository.isPlayerRegistered(tournamentId, userId)) {
+      return;
+    }
+    if (!tournamentRepository.existsById(tournamentId)) {
+      throw new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId);
+    }
+    if (!admin) {
+      throw new IllegalStateException(deniedMessage);
+    }
+  }
+
+  private void checkMatchPlayer(Long matchId, Long userId, boolean admin, String deniedMessage) {
+    if (!admin && matchRepository.isMatchPlayer(matchId, userId)) {
+      return;
+    }
+    if (!matchRepository.existsById(matchId)) {
+      throw new IllegalArgumentException("Partida no encontrada con ID: " + matchId);
+    }
+    if (!admin) {
+      throw new IllegalStateException(deniedMessage);
+    }
+  }
+
   private MessageResponse mapToMessageResponse(Message message) {
     return new MessageResponse(
             message.getId(),
@@ -0,0 +1,26 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.domain.entities.Message;
+
+public interface MessageWriteBehind {
+
+  boolean isEnabled();
+
+  // Siguiente id de la secuencia de mensajes, del mismo generador que usa Hibernate, sin insertar nada
+  Long nextId();
+
+  // Encola un mensaje con id y fecha ya asignados. Devuelve false si la cola está llena o el escritor se está
+  // cerrando: en ese caso quien llama debe guardarlo por su cuenta.
+  boolean submit(Message message);
+
+  // Inserta en la transacción actual un mensaje con id asignado que submit no aceptó; así conserva su id
+  void writeNow(Message message);
+
+  // Id más alto hasta el que todos los ids asignados ya están confirmados en la base de datos. Las lecturas
+  // 'after' no deben devolver nada por encima: un id mayor puede estar guardado mientras uno menor sigue en cola.
+  // Se lee antes de la consulta.
+  long writtenUpTo();
+
+  // Mensajes aceptados que todavía no están en la base de datos
+  int pendingCount();
+}
@@ -0,0 +1,267 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.domain.entities.Message;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Escritura diferida de mensajes de chat (opcional, gamehub.chat.write-behind.enabled). El mensaje recibe su id
+ * de la secuencia pooled de Hibernate en memoria, se confirma al momento y un hilo escritor lo inserta después
+ * junto con los que se hayan acumulado, en lotes de una transacción cada uno. La cola está acotada: cuando se
+ * llena, MessageService vuelve a guardar de forma síncrona.
+ *
+ * Si la base de datos no responde, el escritor reintenta el mismo lote con espera creciente (hasta
+ * MAX_BACKOFF_MS) y no saca más mensajes de la cola; cuando esta se llena, los nuevos se guardan de forma
+ * síncrona. Solo se descarta un mensaje cuando su fila es inválida (p. ej. su torneo o partida ya no existe).
+ *
+ * Al parar la aplicación se deja de aceptar mensajes y se vacía la cola antes de cerrar el datasource. Lo que
+ * se pierde ante una caída del proceso, o si la base de datos sigue sin responder al cerrar, son los mensajes
+ * aceptados y aún no escritos (ver pendingCount).
+ *
+ * Los ids se guardan desde que se asignan hasta que su fila está confirmada (o se descarta), de modo que
+ * writtenUpTo indica hasta dónde puede avanzar el cursor de un cliente que consulta con 'after'. Cubre los ids
+ * asignados por este proceso.
+ */
+@Service
+public class MessageWriteBehindImpl implements MessageWriteBehind {
+
+  private static final Logger log = LoggerFactory.getLogger(MessageWriteBehindImpl.class);
+
+  private static final String INSERT_SQL =
+          "insert into messages (id, sender_id, content, sent_at, tournament_id, match_id) values (?, ?, ?, ?, ?, ?)";
+  private static final long RETRY_BACKOFF_MS = 100;
+  private static final long MAX_BACKOFF_MS = 5_000;
+  private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final SessionFactoryImplementor sessionFactory;
+  private final IdentifierGenerator idGenerator;
+  private final boolean enabled;
+  private final int batchSize;
+  private final BlockingQueue<Message> queue;
+  private final AtomicInteger pending = new AtomicInteger();
+  // Ids asignados cuya fila aún no está confirmada, y el mayor id asignado (se actualiza después de añadirlo
+  // al conjunto, y writtenUpTo lo lee antes de mirar el conjunto)
+  private final ConcurrentSkipListSet<Long> unwritten = new ConcurrentSkipListSet<>();
+  private final AtomicLong highestAllocated = new AtomicLong(Long.MAX_VALUE);
+  // submit() ofrece bajo el cerrojo de lectura; shutdown() cierra la entrada bajo el de escritura, así que
+  // después ya no puede entrar nada en la cola que el escritor no vaya a ver
+  private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+  private volatile boolean accepting;
+  private volatile boolean running;
+  private final Thread writer;
+
+  public MessageWriteBehindImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${gamehub.chat.write-behind.enabled:false}") boolean enabled,
+                                @Value("${gamehub.chat.write-behind.queue-capacity:10000}") int queueCapacity,
+                                @Value("${gamehub.chat.write-behind.batch-size:50}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    this.idGenerator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(Message.class).getGenerator();
+    this.enabled = enabled;
+    this.batchSize = Math.max(1, batchSize);
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    if (enabled) {
+      // Id de referencia sin usar: todo lo que ya está en la base de datos queda por debajo y todo lo que se
+      // asigne después, por encima hasta que se escriba
+      this.highestAllocated.set(generateId());
+      this.accepting = true;
+      this.running = true;
+      this.writer = new Thread(this::run, "chat-write-behind");
+      this.writer.start();
+    } else {
+      this.writer = null;
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public Long nextId() {
+    Long id = generateId();
+    unwritten.add(id);
+    highestAllocated.accumulateAndGet(id, Math::max);
+    return id;
+  }
+
+  // El optimizador pooled solo va a la base de datos una vez cada allocationSize ids
+  private Long generateId() {
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null);
+    }
+  }
+
+  @Override
+  public void writeNow(Message message) {
+    Long id = message.getId();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          unwritten.remove(id);
+        }
+      });
+      insert(List.of(message));
+    } else {
+      try {
+        transactionTemplate.executeWithoutResult(status -> insert(List.of(message)));
+      } finally {
+        unwritten.remove(id);
+      }
+    }
+  }
+
+  @Override
+  public long writtenUpTo() {
+    long highest = highestAllocated.get();
+    Long firstUnwritten = unwritten.ceiling(Long.MIN_VALUE);
+    return firstUnwritten != null ? Math.min(firstUnwritten - 1, highest) : highest;
+  }
+
+  @Override
+  public boolean submit(Message message) {
+    acceptLock.readLock().lock();
+    try {
+      if (!accepting || !queue.offer(message)) {
+        return false;
+      }
+      pending.incrementAndGet();
+      return true;
+    } finally {
+      acceptLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int pendingCount() {
+    return pending.get();
+  }
+
+  private void run() {
+    List<Message> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        Message first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Error inesperado en el escritor de mensajes", e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  void write(List<Message> batch) throws InterruptedException {
+    if (insertRetrying(batch)) {
+      pending.addAndGet(-batch.size());
+      batch.forEach(message -> unwritten.remove(message.getId()));
+      return;
+    }
+    // Fila a fila, para que un mensaje que no se puede insertar (p. ej. su torneo ya no existe) no arrastre al resto
+    for (Message message : batch) {
+      if (!insertRetrying(List.of(message))) {
+        log.error("Mensaje {} descartado: su fila no es válida", message.getId());
+      }
+      unwritten.remove(message.getId());
+      pending.decrementAndGet();
+    }
+  }
+
+  // Reintenta mientras el fallo sea de la base de datos (conexión, bloqueo, failover); devuelve false si el
+  // fallo es de los datos y repetir no serviría de nada
+  private boolean insertRetrying(List<Message> messages) throws InterruptedException {
+    long backoff = RETRY_BACKOFF_MS;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> insert(messages));
+        return true;
+      } catch (DataIntegrityViolationException e) {
+        log.warn("No se pudieron escribir {} mensajes: datos no válidos", messages.size(), e);
+        return false;
+      } catch (DataAccessException | TransactionException e) {
+        if (attempt == 1) {
+          log.warn("No se pudieron escribir {} mensajes; se reintentará", messages.size(), e);
+        } else {
+          log.warn("No se pudieron escribir {} mensajes (intento {}): {}", messages.size(), attempt, e.getMessage());
+        }
+        Thread.sleep(backoff);
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+      }
+    }
+  }
+
+  private void insert(List<Message> messages) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+      ps.setLong(1, message.getId());
+      ps.setLong(2, message.getSender().getId());
+      ps.setString(3, message.getContent());
+      ps.setObject(4, message.getSentAt());
+      ps.setObject(5, message.getTournament() != null ? message.getTournament().getId() : null, Types.BIGINT);
+      ps.setObject(6, message.getMatch() != null ? message.getMatch().getId() : null, Types.BIGINT);
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (writer == null) {
+      return;
+    }
+    acceptLock.writeLock().lock();
+    try {
+      accepting = false;
+    } finally {
+      acceptLock.writeLock().unlock();
+    }
+    running = false;
+    writer.join(SHUTDOWN_TIMEOUT_MS);
+    // Si la base de datos sigue sin responder, el escritor deja de reintentar
+    writer.interrupt();
+    writer.join(1_000);
+    if (writer.isAlive() || pending.get() > 0) {
+      log.error("El escritor de mensajes se ha cerrado con {} mensajes sin guardar", pending.get());
+    }
+  }
+}
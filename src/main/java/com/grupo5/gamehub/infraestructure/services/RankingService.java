@@ -1,8 +1,24 @@
 package com.grupo5.gamehub.infraestructure.services;
 
+import com.grupo5.gamehub.api.dtos.ranking.RankingSnapshot;
 import com.grupo5.gamehub.api.dtos.ranking.TournamentRankingResponse;
 
 public interface RankingService {
 
   TournamentRankingResponse getTournamentRanking(Long tournamentId);
-}
\ No newline at end of file
+
+  // Igual que el anterior pero limitado a los primeros 'limit' jugadores (null = todos)
+  TournamentRankingResponse getTournamentRanking(Long tournamentId, Integer limit);
+
+  // Ranking servido desde caché junto con su ETag
+  RankingSnapshot getTournamentRankingSnapshot(Long tournamentId, Integer limit);
+
+  // Descarta el ranking en caché del torneo cuando se confirme la transacción actual
+  void evictTournamentRanking(Long tournamentId);
+
+  void evictAllTournamentRankings();
+
+  // Las posiciones globales han cambiado (al confirmarse la transacción actual): los rankings en caché
+  // vuelven a leerlas en su próxima consulta
+  void globalRanksChanged();
+}
@@ -1,130 +1,209 @@
 package com.grupo5.gamehub.infraestructure.services;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
+import com.grupo5.gamehub.api.dtos.ranking.RankingSnapshot;
 import com.grupo5.gamehub.api.dtos.ranking.TournamentRankingResponse;
-import com.grupo5.gamehub.domain.entities.Match;
 import com.grupo5.gamehub.domain.entities.Tournament;
-import com.grupo5.gamehub.domain.enums.MatchStatus;
-import com.grupo5.gamehub.domain.repositories.MatchRepository;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.infraestructure.support.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Comparator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class RankingServiceImpl implements RankingService {
 
   private static final Logger log = LoggerFactory.getLogger(RankingServiceImpl.class);
 
   private final TournamentRepository tournamentRepository;
-  private final MatchRepository matchRepository;
   private final UserRepository userRepository;
+  private final StandingsService standingsService;
+
+  // Ranking completo por torneo. Cada entrada es el futuro de su carga: invalidar la clave quita el futuro
+  // del mapa, y Caffeine descarta el valor si la carga termina después, así que una carga que empezó antes
+  // de un resultado nunca deja en caché datos antiguos.
+  private final AsyncCache<Long, CachedRanking> cache;
+
+  // La posición global la mueven resultados de cualquier torneo. En vez de vaciar todos los rankings, cada
+  // entrada recuerda la versión con la que leyó las posiciones y las vuelve a leer (una consulta por clave
+  // primaria) cuando esa versión ha cambiado. El ETag sigue al contenido, así que solo cambia si alguna cambió.
+  private final AtomicLong globalRankVersion = new AtomicLong();
 
   @Autowired
   public RankingServiceImpl(TournamentRepository tournamentRepository,
-                            MatchRepository matchRepository,
-                            UserRepository userRepository) {
+                            UserRepository userRepository,
+                            StandingsService standingsService,
+                            @Value("${gamehub.ranking.cache.max-size:1000}") long maxCachedTournaments) {
     this.tournamentRepository = tournamentRepository;
-    this.matchRepository = matchRepository;
     this.userRepository = userRepository;
+    this.standingsService = standingsService;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxCachedTournaments)
+            .buildAsync();
   }
 
   @Override
   public TournamentRankingResponse getTournamentRanking(Long tournamentId) {
-    log.info("Iniciando cálculo de ranking para el torneo con ID: {}", tournamentId);
-
-    Tournament tournament = tournamentRepository.findById(tournamentId)
-            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
-
-    log.debug("Torneo encontrado: {}", tournament.getName());
-
-    List<Match> completedMatches = matchRepository.findByTournamentIdAndStatus(tournamentId, MatchStatus.COMPLETED);
-    log.debug("Número de partidas completadas encontradas: {}", completedMatches.size());
-
-    Map<Long, PlayerStats> playerStatsMap = new HashMap<>();
-
-    tournament.getPlayers().forEach(player -> {
-      playerStatsMap.put(player.getId(), new PlayerStats(player.getId(), player.getUsername(),
-              player.getRank(),
-              0));
-    });
-
-
-    for (Match match : completedMatches) {
-      log.trace("Procesando partida: ID {} - Player1: {} vs Player2: {} - Ganador: {}",
-              match.getId(), match.getPlayer1().getUsername(), match.getPlayer2().getUsername(),
-              match.getWinner() != null ? match.getWinner().getUsername() : "N/A");
-
-      PlayerStats p1Stats = playerStatsMap.computeIfAbsent(match.getPlayer1().getId(),
-              id -> new PlayerStats(match.getPlayer1().getId(), match.getPlayer1().getUsername(),
-                      match.getPlayer1().getRank(), 0));
-      p1Stats.gamesPlayed++;
-
-      PlayerStats p2Stats = playerStatsMap.computeIfAbsent(match.getPlayer2().getId(),
-              id -> new PlayerStats(match.getPlayer2().getId(), match.getPlayer2().getUsername(),
-                      match.getPlayer2().getRank(), 0));
-      p2Stats.gamesPlayed++;
-
-      if (match.getWinner() != null) {
-        if (match.getWinner().equals(match.getPlayer1())) {
-          p1Stats.gamesWon++;
-          p2Stats.gamesLost++;
-          p1Stats.totalPoints += 3;
-          log.trace("Player {} ganó, +3 puntos. Total P1: {}", p1Stats.username, p1Stats.totalPoints);
-        } else if (match.getWinner().equals(match.getPlayer2())) {
-          p2Stats.gamesWon++;
-          p1Stats.gamesLost++;
-          p2Stats.totalPoints += 3;
-          log.trace("Player {} ganó, +3 puntos. Total P2: {}", p2Stats.username, p2Stats.totalPoints);
+    return getTournamentRanking(tournamentId, null);
+  }
+
+  @Override
+  public TournamentRankingResponse getTournamentRanking(Long tournamentId, Integer limit) {
+    return getTournamentRankingSnapshot(tournamentId, limit).getRanking();
+  }
+
+  @Override
+  public RankingSnapshot getTournamentRankingSnapshot(Long tournamentId, Integer limit) {
+    CachedRanking cached = getOrLoad(tournamentId);
+    long rankVersion = globalRankVersion.get();
+    if (cached.rankVersion != rankVersion) {
+      cached = refreshGlobalRanks(tournamentId, cached, rankVersion);
+    }
+
+    List<PlayerRankingDto> ranking = cached.response.getRanking();
+    if (limit != null && limit < ranking.size()) {
+      TournamentRankingResponse top = new TournamentRankingResponse(cached.response.getTournamentId(),
+              cached.response.getTournamentName(), ranking.subList(0, limit));
+      return new RankingSnapshot(top, "\"" + cached.hash + "-" + limit + "\"");
+    }
+    return new RankingSnapshot(cached.response, "\"" + cached.hash + "\"");
+  }
+
+  // La carga la hace quien publica el futuro, fuera del compute de Caffeine: así no retiene el monitor del mapa
+  // mientras espera a la base de datos (con hilos virtuales lo fijaría a su portador). Los demás esperan al futuro.
+  // El torneo se busca antes de publicar el futuro: un id inexistente (endpoint público) no pasa por la caché,
+  // que registraría cada carga fallida con su traza en WARN.
+  private CachedRanking getOrLoad(Long tournamentId) {
+    CompletableFuture<CachedRanking> existing = cache.getIfPresent(tournamentId);
+    if (existing == null) {
+      log.debug("Consultando ranking para el torneo con ID: {}", tournamentId);
+      Tournament tournament = tournamentRepository.findById(tournamentId)
+              .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId));
+
+      CompletableFuture<CachedRanking> loading = new CompletableFuture<>();
+      existing = cache.asMap().putIfAbsent(tournamentId, loading);
+      if (existing == null) {
+        try {
+          loading.complete(loadRanking(tournament));
+        } catch (RuntimeException e) {
+          // Caffeine retira las cargas fallidas, así que el error no queda en caché
+          loading.completeExceptionally(e);
+          throw e;
         }
-      } else {
-        log.trace("Partida sin ganador especificado (posible empate o incompleta si no hay resultado explicitado). No se asignan puntos.");
+        existing = loading;
+      }
+    }
+    try {
+      return existing.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
       }
+      throw e;
     }
+  }
+
+  private CachedRanking loadRanking(Tournament tournament) {
+    Long tournamentId = tournament.getId();
+    // La versión se lee antes que las posiciones: un cambio posterior obliga a releerlas en la siguiente consulta
+    long rankVersion = globalRankVersion.get();
+    List<PlayerRankingDto> rankingList = withGlobalRanks(standingsService.getStandings(tournamentId, null));
 
-    List<PlayerRankingDto> rankingList = playerStatsMap.values().stream()
-            .map(stats -> new PlayerRankingDto(
-                    stats.userId,
-                    stats.username,
-                    stats.gamesPlayed,
-                    stats.gamesWon,
-                    stats.gamesLost,
-                    stats.totalPoints,
-                    stats.currentGlobalRank
-            ))
-            .sorted(Comparator.comparingInt(PlayerRankingDto::getTotalPoints).reversed()
-                    .thenComparingInt(PlayerRankingDto::getGamesWon).reversed()
-                    .thenComparing(PlayerRankingDto::getUsername))
-            .collect(Collectors.toList());
-
-    log.info("Ranking para torneo ID {} generado exitosamente con {} jugadores.", tournamentId, rankingList.size());
-    return new TournamentRankingResponse(tournament.getId(), tournament.getName(), rankingList);
+    log.debug("Ranking para torneo ID {} cargado con {} jugadores.", tournamentId, rankingList.size());
+    TournamentRankingResponse response = new TournamentRankingResponse(tournament.getId(), tournament.getName(),
+            Collections.unmodifiableList(rankingList));
+    return new CachedRanking(response, contentHash(response), rankVersion);
   }
 
-  /**
-   */
-  private static class PlayerStats {
-    Long userId;
-    String username;
-    int gamesPlayed = 0;
-    int gamesWon = 0;
-    int gamesLost = 0;
-    int totalPoints = 0;
-    Integer currentGlobalRank = null;
-
-    public PlayerStats(Long userId, String username, Integer currentGlobalRank, Integer initialTournamentPoints) {
-      this.userId = userId;
-      this.username = username;
-      this.currentGlobalRank = currentGlobalRank;
-      this.totalPoints = initialTournamentPoints;
+  private CachedRanking refreshGlobalRanks(Long tournamentId, CachedRanking stale, long rankVersion) {
+    TournamentRankingResponse response = new TournamentRankingResponse(stale.response.getTournamentId(),
+            stale.response.getTournamentName(),
+            Collections.unmodifiableList(withGlobalRanks(stale.response.getRanking())));
+    CachedRanking refreshed = new CachedRanking(response, contentHash(response), rankVersion);
+    // Solo sustituye la entrada leída: si entretanto se invalidó el torneo, la nueva carga no se pisa
+    CompletableFuture<CachedRanking> current = cache.getIfPresent(tournamentId);
+    if (current != null && current.isDone() && !current.isCompletedExceptionally() && current.join() == stale) {
+      cache.asMap().replace(tournamentId, current, CompletableFuture.completedFuture(refreshed));
+    }
+    return refreshed;
+  }
+
+  private List<PlayerRankingDto> withGlobalRanks(List<PlayerRankingDto> standings) {
+    if (standings.isEmpty()) {
+      return standings;
+    }
+    Map<Long, Integer> ranks = new HashMap<>();
+    userRepository.findRanksByIdIn(standings.stream().map(PlayerRankingDto::getUserId).collect(Collectors.toList()))
+            .forEach(view -> ranks.put(view.getId(), view.getRank()));
+    List<PlayerRankingDto> ranked = new ArrayList<>(standings.size());
+    for (PlayerRankingDto row : standings) {
+      ranked.add(new PlayerRankingDto(row.getUserId(), row.getUsername(), row.getGamesPlayed(), row.getGamesWon(),
+              row.getGamesLost(), row.getGamesDrawn(), row.getTotalPoints(), ranks.get(row.getUserId())));
+    }
+    return ranked;
+  }
+
+  @Override
+  public void evictTournamentRanking(Long tournamentId) {
+    TransactionHooks.afterCommit(() -> cache.synchronous().invalidate(tournamentId));
+  }
+
+  @Override
+  public void evictAllTournamentRankings() {
+    TransactionHooks.afterCommit(() -> cache.synchronous().invalidateAll());
+  }
+
+  @Override
+  public void globalRanksChanged() {
+    TransactionHooks.afterCommit(globalRankVersion::incrementAndGet);
+  }
+
+  // Mismo contenido, mismo ETag, aunque la entrada se haya vuelto a cargar o el servidor se haya reiniciado
+  static String contentHash(TournamentRankingResponse response) {
+    StringBuilder content = new StringBuilder()
+            .append(response.getTournamentId()).append('|')
+            .append(response.getTournamentName());
+    for (PlayerRankingDto row : response.getRanking()) {
+      content.append('|').append(row.getUserId())
+              .append(',').append(row.getUsername())
+              .append(',').append(row.getGamesPlayed())
+              .append(',').append(row.getGamesWon())
+              .append(',').append(row.getGamesLost())
+              .append(',').append(row.getGamesDrawn())
+              .append(',').append(row.getTotalPoints())
+              .append(',').append(row.getCurrentGlobalRank());
+    }
+    return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static class CachedRanking {
+    private final TournamentRankingResponse response;
+    private final String hash;
+    private final long rankVersion;
+
+    private CachedRanking(TournamentRankingResponse response, String hash, long rankVersion) {
+      this.response = response;
+      this.hash = hash;
+      this.rankVersion = rankVersion;
     }
   }
-}
\ No newline at end of file
+}
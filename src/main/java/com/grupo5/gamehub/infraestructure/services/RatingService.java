@@ -0,0 +1,13 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.RatingReplayResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+
+public interface RatingService {
+
+  // Actualiza valoración (User.points) y posición global (User.rank) de los dos jugadores de una partida completada
+  void applyResult(Match match);
+
+  // Recalcula todas las valoraciones a partir del historial de partidas
+  RatingReplayResponse replayAll();
+}
@@ -0,0 +1,222 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.RatingReplayResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.projections.MatchOutcomeView;
+import com.grupo5.gamehub.domain.projections.PlayerRatingView;
+import com.grupo5.gamehub.domain.repositories.MatchRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.infraestructure.rating.GameOutcome;
+import com.grupo5.gamehub.infraestructure.rating.PlayerRating;
+import com.grupo5.gamehub.infraestructure.rating.RatingCalculator;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Valoraciones globales. Cada resultado actualiza la valoración de sus dos jugadores y desplaza solo las
+ * posiciones globales del rango de puntos que han cruzado, sin reordenar la tabla de usuarios.
+ */
+@Service
+@Timed(value = "gamehub.service", histogram = true)
+public class RatingServiceImpl implements RatingService {
+
+  private static final Logger log = LoggerFactory.getLogger(RatingServiceImpl.class);
+
+  static final long RATING_LOCK_KEY = 4_715_201L;
+  private static final int PARALLEL_THRESHOLD = 64;
+  private static final int WRITE_BATCH_SIZE = 500;
+
+  private final UserRepository userRepository;
+  private final MatchRepository matchRepository;
+  private final RatingCalculator ratingCalculator;
+  private final JdbcTemplate jdbcTemplate;
+  private final LeaderboardService leaderboardService;
+  private final long periodHours;
+  private final int replayParallelism;
+
+  public RatingServiceImpl(UserRepository userRepository, MatchRepository matchRepository,
+                           RatingCalculator ratingCalculator, JdbcTemplate jdbcTemplate,
+                           LeaderboardService leaderboardService,
+                           @Value("${gamehub.rating.period-hours:24}") long periodHours,
+                           @Value("${gamehub.rating.replay-parallelism:4}") int replayParallelism) {
+    this.userRepository = userRepository;
+    this.matchRepository = matchRepository;
+    this.ratingCalculator = ratingCalculator;
+    this.jdbcTemplate = jdbcTemplate;
+    this.leaderboardService = leaderboardService;
+    this.periodHours = periodHours;
+    this.replayParallelism = replayParallelism;
+  }
+
+  @Override
+  @Transactional
+  public void applyResult(Match match) {
+    if (match.getStatus() != MatchStatus.COMPLETED) {
+      return;
+    }
+    Long player1Id = match.getPlayer1().getId();
+    Long player2Id = match.getPlayer2().getId();
+
+    // Los desplazamientos de posición de dos resultados simultáneos no pueden intercalarse
+    userRepository.acquireRatingLock(RATING_LOCK_KEY);
+    Map<Long, PlayerRatingView> current = userRepository.findRatingsByIdIn(Arrays.asList(player1Id, player2Id)).stream()
+            .collect(Collectors.toMap(PlayerRatingView::getId, Function.identity()));
+    PlayerRatingView view1 = current.get(player1Id);
+    PlayerRatingView view2 = current.get(player2Id);
+    PlayerRating rating1 = toRating(view1);
+    PlayerRating rating2 = toRating(view2);
+
+    double score1 = scoreOf(player1Id, match.getWinner() != null ? match.getWinner().getId() : null);
+    PlayerRating updated1 = ratingCalculator.rate(rating1, List.of(new GameOutcome(rating2, score1)));
+    PlayerRating updated2 = ratingCalculator.rate(rating2, List.of(new GameOutcome(rating1, 1 - score1)));
+
+    store(player1Id, view1.getPoints(), updated1);
+    store(player2Id, view2.getPoints(), updated2);
+    leaderboardService.recordPoints(player1Id, match.getPlayer1().getUsername(), updated1.getPoints());
+    leaderboardService.recordPoints(player2Id, match.getPlayer2().getUsername(), updated2.getPoints());
+    log.debug("Valoraciones tras la partida {}: {} -> {}, {} -> {}", match.getId(),
+            player1Id, updated1.getPoints(), player2Id, updated2.getPoints());
+  }
+
+  private void store(Long userId, Integer oldPoints, PlayerRating rating) {
+    int newPoints = rating.getPoints();
+    userRepository.updateRating(userId, rating.getRating(), rating.getDeviation(), rating.getVolatility(), newPoints);
+
+    // Posición = 1 + jugadores con más puntos. Solo cambia para quienes están entre los puntos viejos y los nuevos.
+    if (oldPoints == null) {
+      userRepository.shiftRanks(Role.PLAYER, Integer.MIN_VALUE, newPoints, 1, userId);
+    } else if (newPoints > oldPoints) {
+      userRepository.shiftRanks(Role.PLAYER, oldPoints, newPoints, 1, userId);
+    } else if (newPoints < oldPoints) {
+      userRepository.shiftRanks(Role.PLAYER, newPoints, oldPoints, -1, userId);
+    }
+    long higher = userRepository.countByRoleAndPointsGreaterThan(Role.PLAYER, newPoints);
+    userRepository.updateRank(userId, (int) higher + 1);
+  }
+
+  private PlayerRating toRating(PlayerRatingView view) {
+    PlayerRating initial = ratingCalculator.initialRating();
+    if (view == null || view.getRating() == null) {
+      return initial;
+    }
+    // Valores ausentes o no válidos (p. ej. tras pasar de ELO a Glicko-2) se sustituyen por los iniciales
+    double deviation = view.getRatingDeviation() != null && view.getRatingDeviation() > 0
+            ? view.getRatingDeviation() : initial.getDeviation();
+    double volatility = view.getVolatility() != null && view.getVolatility() > 0
+            ? view.getVolatility() : initial.getVolatility();
+    return new PlayerRating(view.getRating(), deviation, volatility);
+  }
+
+  private static double scoreOf(Long playerId, Long winnerId) {
+    if (winnerId == null) {
+      return 0.5;
+    }
+    return playerId.equals(winnerId) ? 1.0 : 0.0;
+  }
+
+  @Override
+  @Transactional
+  public RatingReplayResponse replayAll() {
+    long start = System.nanoTime();
+    userRepository.acquireRatingLock(RATING_LOCK_KEY);
+
+    List<MatchOutcomeView> outcomes = matchRepository.findOutcomesByStatus(MatchStatus.COMPLETED);
+    List<List<MatchOutcomeView>> periods = groupIntoPeriods(outcomes);
+
+    Map<Long, PlayerRating> ratings = new HashMap<>();
+    ForkJoinPool pool = new ForkJoinPool(Math.max(1, replayParallelism));
+    try {
+      for (List<MatchOutcomeView> period : periods) {
+        ratings = ratePeriod(period, ratings, pool);
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    userRepository.clearRatings(Role.PLAYER);
+    List<Map.Entry<Long, PlayerRating>> rows = new ArrayList<>(ratings.entrySet());
+    jdbcTemplate.batchUpdate("update users set rating = ?, rating_deviation = ?, volatility = ?, points = ? where id = ?",
+            rows, WRITE_BATCH_SIZE, (ps, row) -> {
+              ps.setDouble(1, row.getValue().getRating());
+              ps.setDouble(2, row.getValue().getDeviation());
+              ps.setDouble(3, row.getValue().getVolatility());
+              ps.setInt(4, row.getValue().getPoints());
+              ps.setLong(5, row.getKey());
+            });
+    userRepository.recomputeRanks();
+
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+    log.info("Valoraciones reconstruidas: {} partidas en {} periodos, {} jugadores ({} ms)",
+            outcomes.size(), periods.size(), ratings.size(), elapsedMs);
+    return new RatingReplayResponse(ratingCalculator.getClass().getSimpleName(), outcomes.size(), periods.size(),
+            ratings.size(), elapsedMs);
+  }
+
+  // Partidas con fecha: un periodo cada 'period-hours'. Partidas anteriores sin fecha: un periodo por ronda de torneo.
+  List<List<MatchOutcomeView>> groupIntoPeriods(List<MatchOutcomeView> outcomes) {
+    long periodSeconds = Math.max(1, periodHours) * 3600;
+    Map<Object, List<MatchOutcomeView>> periods = new LinkedHashMap<>();
+    for (MatchOutcomeView outcome : outcomes) {
+      Object key = outcome.getCompletedAt() == null
+              ? "round:" + outcome.getTournamentId() + ":" + outcome.getRoundNumber()
+              : outcome.getCompletedAt().toEpochSecond(ZoneOffset.UTC) / periodSeconds;
+      periods.computeIfAbsent(key, k -> new ArrayList<>()).add(outcome);
+    }
+    return new ArrayList<>(periods.values());
+  }
+
+  // Todos los jugadores del periodo se evalúan contra las valoraciones previas, así que se calculan en paralelo
+  private Map<Long, PlayerRating> ratePeriod(List<MatchOutcomeView> period, Map<Long, PlayerRating> before,
+                                             ForkJoinPool pool) {
+    PlayerRating initial = ratingCalculator.initialRating();
+    Map<Long, List<GameOutcome>> gamesByPlayer = new HashMap<>();
+    for (MatchOutcomeView outcome : period) {
+      PlayerRating rating1 = before.getOrDefault(outcome.getPlayer1Id(), initial);
+      PlayerRating rating2 = before.getOrDefault(outcome.getPlayer2Id(), initial);
+      double score1 = scoreOf(outcome.getPlayer1Id(), outcome.getWinnerId());
+      gamesByPlayer.computeIfAbsent(outcome.getPlayer1Id(), id -> new ArrayList<>()).add(new GameOutcome(rating2, score1));
+      gamesByPlayer.computeIfAbsent(outcome.getPlayer2Id(), id -> new ArrayList<>()).add(new GameOutcome(rating1, 1 - score1));
+    }
+
+    Map<Long, PlayerRating> after = new HashMap<>(before);
+    if (gamesByPlayer.size() < PARALLEL_THRESHOLD) {
+      after.putAll(rateAll(gamesByPlayer.entrySet().stream(), before, initial));
+      return after;
+    }
+    try {
+      after.putAll(pool.submit(() -> rateAll(gamesByPlayer.entrySet().parallelStream(), before, initial)).get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Reconstrucción de valoraciones interrumpida.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error reconstruyendo valoraciones: " + e.getCause().getMessage(), e.getCause());
+    }
+    return after;
+  }
+
+  private Map<Long, PlayerRating> rateAll(Stream<Map.Entry<Long, List<GameOutcome>>> players,
+                                          Map<Long, PlayerRating> before, PlayerRating initial) {
+    return players.collect(Collectors.toMap(Map.Entry::getKey,
+            entry -> ratingCalculator.rate(before.getOrDefault(entry.getKey(), initial), entry.getValue())));
+  }
+}
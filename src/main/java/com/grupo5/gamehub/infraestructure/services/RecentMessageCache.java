@@ -0,0 +1,25 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import com.grupo5.gamehub.api.dtos.messages.RecentMessageCacheStats;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecentMessageCache {
+
+  // Últimos 'limit' mensajes de la sala en orden cronológico, o vacío si la sala no está en memoria
+  // o no guarda suficientes mensajes para responder sin ir a la base de datos
+  Optional<List<MessageResponse>> latest(String room, int limit);
+
+  // Carga la sala con los mensajes más recientes leídos de la base de datos (en orden cronológico)
+  void warm(String room, List<MessageResponse> messages);
+
+  // Añade un mensaje ya confirmado
+  void append(String room, MessageResponse message);
+
+  // Mensajes que se guardan por sala; al calentar una sala conviene leer al menos estos
+  int roomCapacity();
+
+  RecentMessageCacheStats stats();
+}
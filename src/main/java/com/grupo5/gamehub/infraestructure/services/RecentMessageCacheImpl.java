@@ -0,0 +1,174 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import com.grupo5.gamehub.api.dtos.messages.RecentMessageCacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Últimos mensajes de cada sala de chat en un buffer circular de tamaño fijo. Las salas se crean al escribir
+ * o, si nadie ha escrito desde el arranque, con la primera lectura que va a la base de datos. Cada sala
+ * reserva su capacidad completa en el límite global de mensajes; las salas inactivas caducan y, si aun así
+ * se llega al límite, Caffeine expulsa las menos usadas.
+ */
+@Service
+public class RecentMessageCacheImpl implements RecentMessageCache {
+
+  private final int roomCapacity;
+  private final Cache<String, Ring> rooms;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public RecentMessageCacheImpl(@Value("${gamehub.chat.recent.room-capacity:100}") int roomCapacity,
+                                @Value("${gamehub.chat.recent.max-messages:100000}") long maxMessages,
+                                @Value("${gamehub.chat.recent.idle-minutes:30}") long idleMinutes) {
+    if (roomCapacity < 1) {
+      throw new IllegalArgumentException("gamehub.chat.recent.room-capacity debe ser al menos 1.");
+    }
+    this.roomCapacity = roomCapacity;
+    this.rooms = Caffeine.newBuilder()
+            .maximumWeight(maxMessages)
+            .weigher((String room, Ring ring) -> roomCapacity)
+            .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public Optional<List<MessageResponse>> latest(String room, int limit) {
+    Ring ring = rooms.getIfPresent(room);
+    List<MessageResponse> messages = ring != null ? ring.latest(limit) : null;
+    if (messages == null) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    return Optional.of(messages);
+  }
+
+  @Override
+  public void warm(String room, List<MessageResponse> messages) {
+    rooms.get(room, key -> new Ring(roomCapacity)).warm(messages);
+  }
+
+  @Override
+  public void append(String room, MessageResponse message) {
+    rooms.get(room, key -> new Ring(roomCapacity)).add(message);
+  }
+
+  @Override
+  public int roomCapacity() {
+    return roomCapacity;
+  }
+
+  @Override
+  public RecentMessageCacheStats stats() {
+    long cachedMessages = rooms.asMap().values().stream().mapToLong(Ring::size).sum();
+    return new RecentMessageCacheStats(rooms.estimatedSize(), cachedMessages, hits.sum(), misses.sum(),
+            rooms.stats().evictionCount());
+  }
+
+  // Mensajes de una sala ordenados por id. Los mensajes confirmados casi siempre llegan en orden, pero dos
+  // transacciones pueden confirmar al revés, así que la inserción recoloca desde el final si hace falta.
+  static final class Ring {
+    // ReentrantLock y no synchronized: con hilos virtuales un monitor ocupado fija el hilo a su portador
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MessageResponse[] slots;
+    private int head;
+    private int size;
+    // La sala se ha leído de la base de datos: si no está llena, contiene todo su historial
+    private boolean warmed;
+
+    Ring(int capacity) {
+      this.slots = new MessageResponse[capacity];
+    }
+
+    int size() {
+      lock.lock();
+      try {
+        return size;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    List<MessageResponse> latest(int limit) {
+      lock.lock();
+      try {
+        if (limit > size && !(warmed && size < slots.length)) {
+          return null;
+        }
+        int count = Math.min(limit, size);
+        List<MessageResponse> messages = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+          messages.add(get(i));
+        }
+        return messages;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void warm(List<MessageResponse> messages) {
+      lock.lock();
+      try {
+        for (MessageResponse message : messages) {
+          insert(message);
+        }
+        warmed = true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void add(MessageResponse message) {
+      lock.lock();
+      try {
+        insert(message);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void insert(MessageResponse message) {
+      int position = size;
+      while (position > 0 && get(position - 1).getId() >= message.getId()) {
+        if (get(position - 1).getId().equals(message.getId())) {
+          return;
+        }
+        position--;
+      }
+      if (size == slots.length) {
+        if (position == 0) {
+          // Más antiguo que todo lo que cabe
+          return;
+        }
+        head = (head + 1) % slots.length;
+        size--;
+        position--;
+      }
+      for (int i = size; i > position; i--) {
+        set(i, get(i - 1));
+      }
+      set(position, message);
+      size++;
+    }
+
+    private MessageResponse get(int index) {
+      return slots[(head + index) % slots.length];
+    }
+
+    private void set(int index, MessageResponse message) {
+      slots[(head + index) % slots.length] = message;
+    }
+  }
+}
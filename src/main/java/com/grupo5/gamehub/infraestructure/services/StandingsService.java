@@ -0,0 +1,29 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
+import com.grupo5.gamehub.api.dtos.ranking.StandingsRebuildResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.User;
+
+import java.util.List;
+
+public interface StandingsService {
+  // Aplica el resultado de una partida completada a la clasificación de su torneo (en la transacción actual)
+  void recordResult(Match match);
+
+  // Añade un jugador recién inscrito a la clasificación de su torneo
+  void registerPlayer(Long tournamentId, User player);
+
+  // Quita de la clasificación a un jugador que abandona el torneo antes de empezar
+  void unregisterPlayer(Long tournamentId, Long playerId);
+
+  // Devuelve la clasificación ordenada; si limit no es nulo, solo los primeros 'limit' jugadores.
+  // Las filas no llevan la posición global (currentGlobalRank es null)
+  List<PlayerRankingDto> getStandings(Long tournamentId, Integer limit);
+
+  // Recalcula la clasificación persistida de un torneo a partir de la tabla matches
+  StandingsRebuildResponse rebuild(Long tournamentId);
+
+  // Recalcula la clasificación de todos los torneos en paralelo
+  StandingsRebuildResponse rebuildAll();
+}
@@ -0,0 +1,317 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
+import com.grupo5.gamehub.api.dtos.ranking.StandingsRebuildResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.projections.StandingCounters;
+import com.grupo5.gamehub.domain.projections.StandingView;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentStandingRepository;
+import com.grupo5.gamehub.infraestructure.support.TransactionHooks;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Clasificación por torneo. La fuente de verdad es la tabla tournament_standings, que se actualiza
+ * en la misma transacción que el resultado; encima se mantiene una copia en memoria que se carga
+ * con una sola consulta y se actualiza de forma incremental tras cada commit. La copia solo guarda
+ * datos del torneo: la posición global cambia con resultados de cualquier torneo y la añade RankingService.
+ */
+@Service
+@Timed(value = "gamehub.service", histogram = true)
+public class StandingsServiceImpl implements StandingsService {
+
+  private static final Logger log = LoggerFactory.getLogger(StandingsServiceImpl.class);
+
+  static final int POINTS_PER_WIN = 3;
+
+  static final Comparator<PlayerRankingDto> RANKING_ORDER =
+          Comparator.comparingInt(PlayerRankingDto::getTotalPoints).reversed()
+                  .thenComparing(Comparator.comparingInt(PlayerRankingDto::getGamesWon).reversed())
+                  .thenComparing(PlayerRankingDto::getUsername);
+
+  private final TournamentRepository tournamentRepository;
+  private final TournamentStandingRepository standingRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int rebuildParallelism;
+
+  private final Map<Long, TournamentStandings> standingsByTournament = new ConcurrentHashMap<>();
+
+  public StandingsServiceImpl(TournamentRepository tournamentRepository,
+                              TournamentStandingRepository standingRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${gamehub.standings.rebuild-parallelism:4}") int rebuildParallelism) {
+    this.tournamentRepository = tournamentRepository;
+    this.standingRepository = standingRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.rebuildParallelism = rebuildParallelism;
+  }
+
+  @Override
+  @Transactional
+  public void recordResult(Match match) {
+    if (match.getStatus() != MatchStatus.COMPLETED) {
+      return;
+    }
+    Long tournamentId = match.getTournament().getId();
+    Long winnerId = match.getWinner() != null ? match.getWinner().getId() : null;
+
+    // Se escriben siempre en el mismo orden (id ascendente) para evitar interbloqueos entre partidas simultáneas
+    User first = match.getPlayer1();
+    User second = match.getPlayer2();
+    if (second.getId() < first.getId()) {
+      first = match.getPlayer2();
+      second = match.getPlayer1();
+    }
+    PlayerStats firstStats = applyResult(tournamentId, first, winnerId);
+    PlayerStats secondStats = applyResult(tournamentId, second, winnerId);
+
+    TransactionHooks.afterCommit(() -> {
+      TournamentStandings standings = standingsByTournament.get(tournamentId);
+      if (standings != null) {
+        standings.mergeIfLoaded(firstStats);
+        standings.mergeIfLoaded(secondStats);
+      }
+    });
+  }
+
+  private PlayerStats applyResult(Long tournamentId, User player, Long winnerId) {
+    int won = player.getId().equals(winnerId) ? 1 : 0;
+    int drawn = winnerId == null ? 1 : 0;
+    int lost = winnerId != null && won == 0 ? 1 : 0;
+
+    StandingCounters counters = standingRepository.applyResult(tournamentId, player.getId(),
+            won, lost, drawn, won * POINTS_PER_WIN);
+    return new PlayerStats(player.getId(), player.getUsername(),
+            counters.getPlayed(), counters.getWon(), counters.getLost(), counters.getDrawn(),
+            counters.getPoints(), counters.getVersion());
+  }
+
+  @Override
+  @Transactional
+  public void registerPlayer(Long tournamentId, User player) {
+    standingRepository.insertIfAbsent(tournamentId, player.getId());
+    PlayerStats emptyStats = new PlayerStats(player.getId(), player.getUsername(), 0, 0, 0, 0, 0, 0L);
+
+    TransactionHooks.afterCommit(() -> {
+      TournamentStandings standings = standingsByTournament.get(tournamentId);
+      if (standings != null) {
+        standings.mergeIfLoaded(emptyStats);
+      }
+    });
+  }
+
+  @Override
+  @Transactional
+  public void unregisterPlayer(Long tournamentId, Long playerId) {
+    standingRepository.deleteByTournamentIdAndUserId(tournamentId, playerId);
+    // Las filas en memoria solo se fusionan por versión, así que se descarta el torneo y se recarga al leerlo
+    TransactionHooks.afterCommit(() -> standingsByTournament.remove(tournamentId));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<PlayerRankingDto> getStandings(Long tournamentId, Integer limit) {
+    TournamentStandings standings = standingsByTournament.computeIfAbsent(tournamentId, id -> new TournamentStandings());
+    try {
+      standings.ensureLoaded(() -> load(standings, tournamentId));
+    } catch (RuntimeException e) {
+      standingsByTournament.remove(tournamentId, standings);
+      throw e;
+    }
+
+    List<PlayerRankingDto> ranking = standings.sorted();
+    if (limit != null && limit < ranking.size()) {
+      return ranking.subList(0, limit);
+    }
+    return ranking;
+  }
+
+  private void load(TournamentStandings standings, Long tournamentId) {
+    List<StandingView> rows = standingRepository.findRankingByTournamentId(tournamentId);
+    rows.forEach(row -> standings.merge(new PlayerStats(row.getUserId(), row.getUsername(),
+            row.getPlayed(), row.getWon(), row.getLost(), row.getDrawn(), row.getPoints(), row.getVersion())));
+    log.debug("Clasificación del torneo {} cargada con {} jugadores", tournamentId, rows.size());
+  }
+
+  @Override
+  public StandingsRebuildResponse rebuild(Long tournamentId) {
+    if (!tournamentRepository.existsById(tournamentId)) {
+      throw new IllegalArgumentException("Torneo no encontrado con ID: " + tournamentId);
+    }
+    long start = System.nanoTime();
+    int rows = rebuildInTransaction(tournamentId);
+    return new StandingsRebuildResponse(1, rows, elapsedMs(start));
+  }
+
+  @Override
+  public StandingsRebuildResponse rebuildAll() {
+    long start = System.nanoTime();
+    List<Long> tournamentIds = tournamentRepository.findAllIds();
+    if (tournamentIds.isEmpty()) {
+      return new StandingsRebuildResponse(0, 0, elapsedMs(start));
+    }
+
+    // Cada torneo se reconstruye en su propia transacción, así que pueden procesarse en paralelo
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(rebuildParallelism, tournamentIds.size())));
+    try {
+      List<Future<Integer>> results = tournamentIds.stream()
+              .map(id -> executor.submit(() -> rebuildInTransaction(id)))
+              .collect(Collectors.toList());
+      int rows = 0;
+      for (Future<Integer> result : results) {
+        rows += result.get();
+      }
+      log.info("Clasificación reconstruida para {} torneos ({} filas)", tournamentIds.size(), rows);
+      return new StandingsRebuildResponse(tournamentIds.size(), rows, elapsedMs(start));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Reconstrucción de clasificaciones interrumpida.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error reconstruyendo clasificaciones: " + e.getCause().getMessage(), e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private int rebuildInTransaction(Long tournamentId) {
+    Integer rows = transactionTemplate.execute(status -> {
+      // Mientras dure la reconstrucción no se puede confirmar ningún resultado de este torneo
+      standingRepository.lockMatchesOfTournament(tournamentId);
+      int written = standingRepository.rebuildTournament(tournamentId, POINTS_PER_WIN);
+      standingRepository.deleteStaleRows(tournamentId);
+      return written;
+    });
+    // La siguiente lectura vuelve a cargar la clasificación reparada
+    standingsByTournament.remove(tournamentId);
+    return rows != null ? rows : 0;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillIfEmpty() {
+    if (standingRepository.count() == 0 && tournamentRepository.count() > 0) {
+      log.info("La tabla tournament_standings está vacía; se reconstruye a partir de las partidas existentes.");
+      rebuildAll();
+    }
+  }
+
+  private static long elapsedMs(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
+  /**
+   * Estado en memoria de la clasificación de un torneo. Cada fila lleva la versión de la tabla,
+   * de modo que aplicar dos veces la misma fila (o una más antigua) no tiene efecto.
+   */
+  static class TournamentStandings {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, PlayerStats> statsByPlayer = new HashMap<>();
+    private volatile boolean loaded = false;
+    private volatile List<PlayerRankingDto> sortedSnapshot;
+
+    void ensureLoaded(Runnable loader) {
+      if (loaded) {
+        return;
+      }
+      lock.lock();
+      try {
+        if (!loaded) {
+          loader.run();
+          loaded = true;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void mergeIfLoaded(PlayerStats stats) {
+      lock.lock();
+      try {
+        // Si aún no se ha cargado, la carga posterior ya leerá esta fila de la base de datos
+        if (loaded) {
+          merge(stats);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void merge(PlayerStats stats) {
+      PlayerStats current = statsByPlayer.get(stats.userId);
+      if (current == null || stats.version > current.version) {
+        statsByPlayer.put(stats.userId, stats);
+        sortedSnapshot = null;
+      }
+    }
+
+    List<PlayerRankingDto> sorted() {
+      List<PlayerRankingDto> snapshot = sortedSnapshot;
+      if (snapshot != null) {
+        return snapshot;
+      }
+      lock.lock();
+      try {
+        if (sortedSnapshot == null) {
+          List<PlayerRankingDto> ranking = new ArrayList<>(statsByPlayer.size());
+          statsByPlayer.values().forEach(stats -> ranking.add(stats.toDto()));
+          ranking.sort(RANKING_ORDER);
+          sortedSnapshot = Collections.unmodifiableList(ranking);
+        }
+        return sortedSnapshot;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  static class PlayerStats {
+    final Long userId;
+    final String username;
+    final int gamesPlayed;
+    final int gamesWon;
+    final int gamesLost;
+    final int gamesDrawn;
+    final int totalPoints;
+    final long version;
+
+    PlayerStats(Long userId, String username, int gamesPlayed, int gamesWon, int gamesLost, int gamesDrawn,
+                int totalPoints, long version) {
+      this.userId = userId;
+      this.username = username;
+      this.gamesPlayed = gamesPlayed;
+      this.gamesWon = gamesWon;
+      this.gamesLost = gamesLost;
+      this.gamesDrawn = gamesDrawn;
+      this.totalPoints = totalPoints;
+      this.version = version;
+    }
+
+    PlayerRankingDto toDto() {
+      return new PlayerRankingDto(userId, username, gamesPlayed, gamesWon, gamesLost, gamesDrawn, totalPoints, null);
+    }
+  }
+}
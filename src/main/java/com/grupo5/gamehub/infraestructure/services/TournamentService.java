@@ -1,29 +1,56 @@
 package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentCreationRequest;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentPageResponse;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentSummaryResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.WaitlistPositionResponse;
 import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.TournamentWaitlistEntry;
 import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.TournamentSort;
 import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.TournamentSummaryView;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentWaitlistRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class TournamentService {
 
+  // Clave inicial del listado por fecha: posterior a cualquier torneo
+  private static final LocalDateTime NEWEST_START = LocalDateTime.of(9999, 12, 31, 23, 59);
+
   private final TournamentRepository tournamentRepository;
+  private final TournamentWaitlistRepository waitlistRepository;
   private final UserRepository userRepository;
+  private final StandingsService standingsService;
+  private final RankingService rankingService;
 
   @Autowired
-  public TournamentService(TournamentRepository tournamentRepository, UserRepository userRepository) {
+  public TournamentService(TournamentRepository tournamentRepository, TournamentWaitlistRepository waitlistRepository,
+                           UserRepository userRepository, StandingsService standingsService,
+                           RankingService rankingService) {
     this.tournamentRepository = tournamentRepository;
+    this.waitlistRepository = waitlistRepository;
     this.userRepository = userRepository;
+    this.standingsService = standingsService;
+    this.rankingService = rankingService;
   }
 
   public Long getUserIdByUsername(String username) {
@@ -47,15 +74,61 @@ public class TournamentService {
     tournament.setCreator(creator);
     tournament.setCreatedAt(LocalDateTime.now());
     tournament.setStatus(TournamentStatus.CREATED);
+    tournament.setWaitlistEnabled(Boolean.TRUE.equals(request.getWaitlistEnabled()));
 
     Tournament savedTournament = tournamentRepository.save(tournament);
     return convertToDto(savedTournament);
   }
 
-  public List<TournamentResponse> getAllTournaments() {
-    return tournamentRepository.findAll().stream()
-            .map(this::convertToDto)
+  // Listado para la página principal: resumen en una sola consulta, sin cargar creador ni jugadores
+  public TournamentPageResponse getTournamentPage(TournamentStatus status, String namePrefix, TournamentSort sort,
+                                                  String cursor, int limit) {
+    String namePattern = namePrefix == null || namePrefix.isBlank() ? null
+            : namePrefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    String key = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+    PageRequest page = PageRequest.ofSize(limit + 1);
+
+    List<TournamentSummaryView> rows;
+    if (sort == TournamentSort.NAME) {
+      rows = tournamentRepository.findSummariesByName(key != null ? key : "", status, namePattern, page);
+    } else {
+      LocalDateTime beforeCreatedAt = NEWEST_START;
+      Long beforeId = Long.MAX_VALUE;
+      if (key != null) {
+        int separator = key.lastIndexOf('|');
+        try {
+          beforeCreatedAt = LocalDateTime.parse(key.substring(0, separator));
+          beforeId = Long.parseLong(key.substring(separator + 1));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+          throw new IllegalArgumentException("Cursor de paginación inválido.");
+        }
+      }
+      rows = tournamentRepository.findSummariesNewestFirst(beforeCreatedAt, beforeId, status, namePattern, page);
+    }
+
+    String nextCursor = null;
+    if (rows.size() > limit) {
+      rows = rows.subList(0, limit);
+      TournamentSummaryView last = rows.get(limit - 1);
+      nextCursor = encodeCursor(sort == TournamentSort.NAME ? last.getName() : last.getCreatedAt() + "|" + last.getId());
+    }
+    List<TournamentSummaryResponse> tournaments = rows.stream()
+            .map(TournamentService::toSummary)
             .collect(Collectors.toList());
+    return new TournamentPageResponse(tournaments, nextCursor);
+  }
+
+  // El cursor es opaco para el cliente: la clave de la última fila en Base64 (el nombre puede contener cualquier carácter)
+  private static String encodeCursor(String key) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decodeCursor(String cursor) {
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor de paginación inválido.");
+    }
   }
 
   public TournamentResponse getTournamentById(Long id) {
@@ -64,7 +137,12 @@ public class TournamentService {
             .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
   }
 
-  public TournamentResponse joinTournament(Long tournamentId, Long userId) {
+  // La plaza se reserva con un UPDATE condicional sobre player_count, así que dos inscripciones simultáneas
+  // no pueden llenar el torneo por encima de maxPlayers; la restricción única de tournament_players impide
+  // que el mismo jugador entre dos veces aunque ambas peticiones pasen la comprobación previa. La respuesta es
+  // el resumen con player_count (ya incluida la plaza reservada): la lista de jugadores no se carga.
+  @Transactional
+  public TournamentSummaryResponse joinTournament(Long tournamentId, Long userId) {
     Tournament tournament = tournamentRepository.findById(tournamentId)
             .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
 
@@ -74,16 +152,139 @@ public class TournamentService {
     if (tournament.getStatus() != TournamentStatus.CREATED) {
       throw new IllegalStateException("Solo puedes unirte a torneos en estado 'CREATED'.");
     }
-    if (tournament.getPlayers().size() >= tournament.getMaxPlayers()) {
+    if (tournamentRepository.isPlayerRegistered(tournamentId, userId)) {
+      throw new IllegalArgumentException("El jugador ya está registrado en este torneo.");
+    }
+    if (tournamentRepository.reserveSlot(tournamentId, TournamentStatus.CREATED) == 0) {
       throw new IllegalStateException("El torneo ya está lleno.");
     }
-    if (tournament.getPlayers().contains(player)) {
+    try {
+      tournamentRepository.addPlayer(tournamentId, userId);
+    } catch (DataIntegrityViolationException e) {
+      // Otra petición del mismo jugador se adelantó; al relanzar se deshace también la reserva de plaza
       throw new IllegalArgumentException("El jugador ya está registrado en este torneo.");
     }
 
-    tournament.getPlayers().add(player);
-    Tournament updatedTournament = tournamentRepository.save(tournament);
-    return convertToDto(updatedTournament);
+    standingsService.registerPlayer(tournamentId, player);
+    rankingService.evictTournamentRanking(tournamentId);
+    return tournamentRepository.findSummaryById(tournamentId)
+            .map(TournamentService::toSummary)
+            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
+  }
+
+  public boolean isWaitlistEnabled(Long tournamentId) {
+    return tournamentRepository.findById(tournamentId)
+            .map(Tournament::isWaitlistEnabled)
+            .orElse(false);
+  }
+
+  // Encola al jugador en un torneo lleno. Repetir la petición no crea otra entrada: devuelve la posición actual.
+  @Transactional
+  public WaitlistPositionResponse joinWaitlist(Long tournamentId, Long userId) {
+    Tournament tournament = tournamentRepository.findByIdForUpdate(tournamentId)
+            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
+    User player = userRepository.findById(userId)
+            .orElseThrow(() -> new IllegalArgumentException("Jugador no encontrado."));
+
+    if (tournament.getStatus() != TournamentStatus.CREATED) {
+      throw new IllegalStateException("Solo puedes unirte a torneos en estado 'CREATED'.");
+    }
+    if (!tournament.isWaitlistEnabled()) {
+      throw new IllegalStateException("El torneo no tiene lista de espera.");
+    }
+    if (tournamentRepository.isPlayerRegistered(tournamentId, userId)) {
+      return new WaitlistPositionResponse(tournamentId, true, null, waitlistRepository.countByTournamentId(tournamentId));
+    }
+
+    TournamentWaitlistEntry entry = waitlistRepository.findByTournamentIdAndPlayerId(tournamentId, userId)
+            .orElseGet(() -> waitlistRepository.save(new TournamentWaitlistEntry(tournament, player, LocalDateTime.now())));
+    // Puede haberse liberado una plaza desde que se rechazó la inscripción
+    promoteWaitlist(tournament);
+    return waitlistPosition(tournamentId, userId, entry);
+  }
+
+  @Transactional(readOnly = true)
+  public WaitlistPositionResponse getWaitlistPosition(Long tournamentId, Long userId) {
+    if (tournamentRepository.isPlayerRegistered(tournamentId, userId)) {
+      return new WaitlistPositionResponse(tournamentId, true, null, waitlistRepository.countByTournamentId(tournamentId));
+    }
+    TournamentWaitlistEntry entry = waitlistRepository.findByTournamentIdAndPlayerId(tournamentId, userId)
+            .orElseThrow(() -> new IllegalArgumentException("El jugador no está en la lista de espera de este torneo."));
+    return waitlistPosition(tournamentId, userId, entry);
+  }
+
+  private WaitlistPositionResponse waitlistPosition(Long tournamentId, Long userId, TournamentWaitlistEntry entry) {
+    long waiting = waitlistRepository.countByTournamentId(tournamentId);
+    if (tournamentRepository.isPlayerRegistered(tournamentId, userId)) {
+      return new WaitlistPositionResponse(tournamentId, true, null, waiting);
+    }
+    long position = waitlistRepository.countUpTo(tournamentId, entry.getCreatedAt(), entry.getId());
+    return new WaitlistPositionResponse(tournamentId, false, position, waiting);
+  }
+
+  // Baja de un torneo que aún no ha empezado (o de su lista de espera); la plaza liberada pasa al primero de la cola
+  @Transactional
+  public void leaveTournament(Long tournamentId, Long userId) {
+    Tournament tournament = tournamentRepository.findByIdForUpdate(tournamentId)
+            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
+    if (tournament.getStatus() != TournamentStatus.CREATED) {
+      throw new IllegalStateException("Solo puedes abandonar torneos en estado 'CREATED'.");
+    }
+
+    Optional<TournamentWaitlistEntry> entry = waitlistRepository.findByTournamentIdAndPlayerId(tournamentId, userId);
+    if (entry.isPresent()) {
+      waitlistRepository.delete(entry.get());
+      return;
+    }
+    if (tournamentRepository.removePlayer(tournamentId, userId) == 0) {
+      throw new IllegalArgumentException("El jugador no está registrado en este torneo.");
+    }
+    tournament.setPlayerCount(tournament.getPlayerCount() - 1);
+    standingsService.unregisterPlayer(tournamentId, userId);
+    promoteWaitlist(tournament);
+    rankingService.evictTournamentRanking(tournamentId);
+  }
+
+  // Ampliar la capacidad promociona de golpe a tantos jugadores de la cola como plazas nuevas haya
+  @Transactional
+  public TournamentResponse updateMaxPlayers(Long tournamentId, Integer maxPlayers) {
+    Tournament tournament = tournamentRepository.findByIdForUpdate(tournamentId)
+            .orElseThrow(() -> new IllegalArgumentException("Torneo no encontrado."));
+    if (maxPlayers < tournament.getPlayerCount()) {
+      throw new IllegalArgumentException("La capacidad no puede ser menor que el número de jugadores inscritos ("
+              + tournament.getPlayerCount() + ").");
+    }
+    tournament.setMaxPlayers(maxPlayers);
+    promoteWaitlist(tournament);
+    return convertToDto(tournament);
+  }
+
+  /**
+   * Pasa los primeros de la lista de espera a jugadores inscritos: un INSERT ... SELECT y un DELETE para todo el
+   * lote. El torneo debe venir bloqueado (findByIdForUpdate) y su playerCount se ajusta en la propia entidad.
+   */
+  private int promoteWaitlist(Tournament tournament) {
+    int free = tournament.getMaxPlayers() - tournament.getPlayerCount();
+    if (free <= 0 || tournament.getStatus() != TournamentStatus.CREATED) {
+      return 0;
+    }
+    List<TournamentWaitlistEntry> entries = waitlistRepository.findQueue(tournament.getId(), PageRequest.ofSize(free));
+    if (entries.isEmpty()) {
+      return 0;
+    }
+    List<Long> entryIds = entries.stream().map(TournamentWaitlistEntry::getId).collect(Collectors.toList());
+    int promoted = waitlistRepository.promoteToPlayers(entryIds);
+    waitlistRepository.deleteAllByIdInBatch(entryIds);
+    tournament.setPlayerCount(tournament.getPlayerCount() + promoted);
+
+    entries.forEach(entry -> standingsService.registerPlayer(tournament.getId(), entry.getPlayer()));
+    rankingService.evictTournamentRanking(tournament.getId());
+    return promoted;
+  }
+
+  private static TournamentSummaryResponse toSummary(TournamentSummaryView row) {
+    return new TournamentSummaryResponse(row.getId(), row.getName(), row.getStatus(), row.getMaxPlayers(),
+            row.getPlayerCount(), row.getCreatedAt(), row.getCreatorUsername());
   }
 
   private TournamentResponse convertToDto(Tournament tournament) {
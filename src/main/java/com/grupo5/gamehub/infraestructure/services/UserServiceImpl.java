@@ -3,6 +3,7 @@ package com.grupo5.gamehub.infraestructure.services;
 import com.grupo5.gamehub.api.dtos.UserResponse;
 import com.grupo5.gamehub.domain.entities.User;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import java.util.Optional;
 
 
 @Service
+@Timed(value = "gamehub.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
   private final UserRepository userRepository;
@@ -0,0 +1,46 @@
+package com.grupo5.gamehub.infraestructure.support;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Cuenta las sentencias SQL preparadas y las entidades cargadas por el hilo actual. Hibernate lo instancia
+ * como statement_inspector y como interceptor de la SessionFactory (dos instancias, mismos contadores);
+ * MetricsConfig pone los contadores a cero al empezar cada petición HTTP y los publica al terminar, de modo
+ * que un N+1 aparece como un salto en las sentencias por petición de una ruta.
+ */
+public class HibernateRequestStats implements StatementInspector, Interceptor {
+
+  private static final ThreadLocal<long[]> COUNTERS = ThreadLocal.withInitial(() -> new long[2]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNTERS.get()[0]++;
+    return sql;
+  }
+
+  @Override
+  public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+    COUNTERS.get()[1]++;
+    return false;
+  }
+
+  public static void reset() {
+    long[] counters = COUNTERS.get();
+    counters[0] = 0;
+    counters[1] = 0;
+  }
+
+  public static long statements() {
+    return COUNTERS.get()[0];
+  }
+
+  public static long entityLoads() {
+    return COUNTERS.get()[1];
+  }
+
+  public static void clear() {
+    COUNTERS.remove();
+  }
+}
@@ -0,0 +1,24 @@
+package com.grupo5.gamehub.infraestructure.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionHooks {
+
+  private TransactionHooks() {
+  }
+
+  // Ejecuta la acción tras el commit de la transacción actual, o inmediatamente si no hay transacción activa
+  public static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
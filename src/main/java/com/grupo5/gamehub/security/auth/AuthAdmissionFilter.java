@@ -0,0 +1,73 @@
+package com.grupo5.gamehub.security.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Admisión por IP de login y registro: cada cliente puede tener como mucho N peticiones en curso. Así un
+ * solo cliente no ocupa todo el pool de hash de contraseñas durante una avalancha de logins; el resto recibe
+ * 429. El mapa solo guarda las IP con peticiones en curso, de modo que no crece con el número de clientes.
+ */
+@Component
+public class AuthAdmissionFilter extends OncePerRequestFilter {
+
+  private static final String AUTH_PATH = "/api/auth/";
+
+  private final int maxInFlightPerClient;
+  private final ConcurrentMap<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+  public AuthAdmissionFilter(@Value("${gamehub.auth.admission.max-in-flight-per-client:4}") int maxInFlightPerClient) {
+    this.maxInFlightPerClient = maxInFlightPerClient;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith(AUTH_PATH);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    String client = request.getRemoteAddr();
+    if (!tryAcquire(client)) {
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader("Retry-After", "1");
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getWriter().write("{\"token\":null,\"message\":\"Too many concurrent authentication requests\"}");
+      return;
+    }
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      release(client);
+    }
+  }
+
+  private boolean tryAcquire(String client) {
+    boolean[] acquired = {false};
+    inFlight.compute(client, (key, count) -> {
+      int current = count == null ? 0 : count;
+      if (current >= maxInFlightPerClient) {
+        return count;
+      }
+      acquired[0] = true;
+      return current + 1;
+    });
+    return acquired[0];
+  }
+
+  private void release(String client) {
+    inFlight.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+  }
+}
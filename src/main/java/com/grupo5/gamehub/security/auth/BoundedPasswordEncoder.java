@@ -0,0 +1,81 @@
+package com.grupo5.gamehub.security.auth;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas (BCrypt, intensivo en CPU) en un pool propio del tamaño
+ * de la CPU con una cola acotada, en lugar de en el hilo de la petición. Con la cola llena, o si el trabajo
+ * no termina en el tiempo máximo de espera, lanza RejectedExecutionException para que la petición falle
+ * (503) en vez de acumular hilos esperando. Lo usan el registro y DaoAuthenticationProvider en el login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long maxWaitMs;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs) {
+    this.delegate = delegate;
+    this.maxWaitMs = maxWaitMs;
+    AtomicInteger counter = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+              Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  // Solo lee el coste del hash guardado, no hace falta pasar por el pool
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  public int queuedTasks() {
+    return executor.getQueue().size();
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future = executor.submit(task);
+    try {
+      return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new RejectedExecutionException("El hash de contraseñas no terminó en " + maxWaitMs + " ms.");
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrumpido esperando el hash de contraseñas.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.grupo5.gamehub.security.jwt;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,19 +32,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     final String authorizationHeader = request.getHeader("Authorization"); //
 
-    String username = null;
-    String jwt = null;
-
-    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) { //
-      jwt = authorizationHeader.substring(7);
-      username = jwtUtil.validateTokenAndRetrieveSubject(jwt);
-    }
-
-
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+            && SecurityContextHolder.getContext().getAuthentication() == null) {
+      String jwt = authorizationHeader.substring(7);
+      // Se verifica una sola vez; con los claims de id y rol el principal sale del propio token
+      DecodedJWT decodedJWT = jwtUtil.verify(jwt);
+      UserDetails userDetails = null;
+      if (decodedJWT != null) {
+        userDetails = jwtUtil.toAuthenticatedUser(decodedJWT);
+        if (userDetails == null && decodedJWT.getSubject() != null) {
+          // Tokens emitidos antes de incluir esos claims: se carga el usuario por su nombre
+          userDetails = this.userDetailsService.loadUserByUsername(decodedJWT.getSubject());
+        }
+      }
 
-      if (jwtUtil.validateTokenAndRetrieveSubject(jwt) != null) {
+      if (userDetails != null) {
         UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
         usernamePasswordAuthenticationToken
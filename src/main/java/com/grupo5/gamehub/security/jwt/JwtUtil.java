@@ -1,41 +1,112 @@
 package com.grupo5.gamehub.security.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
-  @Value("${jwt.secret:defaultSecretKeyForDevelopmentAndTestingWhichShouldBeAtLeast32BytesLong}")
-  private String secret;
+  static final String USER_ID_CLAIM = "uid";
+  static final String ROLE_CLAIM = "role";
 
-  @Value("${jwt.expiration.ms:3600000}")
-  private long expirationMs;
+  private final long expirationMs;
+  // Algorithm y JWTVerifier son inmutables y thread-safe: se crean una vez y no en cada petición
+  private final Algorithm algorithm;
+  private final JWTVerifier verifier;
+  // Tokens ya verificados. La clave es el token completo (la búsqueda compara el texto entero, no solo su hash)
+  // y cada entrada caduca a la vez que su token, así que un token caducado nunca sale de aquí.
+  private final Cache<String, DecodedJWT> verifiedTokens;
 
-  // Genera un token JWT para un usuario
-  public String generateToken(String username) {
+  public JwtUtil(@Value("${jwt.secret:defaultSecretKeyForDevelopmentAndTestingWhichShouldBeAtLeast32BytesLong}") String secret,
+                 @Value("${jwt.expiration.ms:3600000}") long expirationMs,
+                 @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+    this.expirationMs = expirationMs;
+    this.algorithm = Algorithm.HMAC256(secret);
+    this.verifier = JWT.require(algorithm).build();
+    this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new Expiry<String, DecodedJWT>() {
+              @Override
+              public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+                Date expiresAt = decodedJWT.getExpiresAt();
+                return expiresAt == null ? Long.MAX_VALUE
+                        : TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAt.getTime() - System.currentTimeMillis()));
+              }
+
+              @Override
+              public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+
+              @Override
+              public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+                return currentDuration;
+              }
+            })
+            .build();
+  }
+
+  // Genera un token JWT para un usuario. El id y el rol viajan en el token para que las peticiones
+  // autenticadas no tengan que buscar al usuario en la base de datos.
+  public String generateToken(Long userId, String username, Role role) {
     return JWT.create()
             .withSubject(username)
+            .withClaim(USER_ID_CLAIM, userId)
+            .withClaim(ROLE_CLAIM, role.name())
             .withIssuedAt(new Date())
             .withExpiresAt(new Date(System.currentTimeMillis() + expirationMs))
-            .sign(Algorithm.HMAC256(secret));
+            .sign(algorithm);
   }
 
   // Valida un token JWT y extrae el nombre de usuario
   public String validateTokenAndRetrieveSubject(String token) {
+    DecodedJWT decodedJWT = verify(token);
+    return decodedJWT != null ? decodedJWT.getSubject() : null;
+  }
+
+  // Principal con los claims de un token ya verificado, o null si el token es anterior a los claims de id y rol
+  // (en ese caso hay que cargar el usuario por su nombre)
+  public AuthenticatedUser toAuthenticatedUser(DecodedJWT decodedJWT) {
+    Long userId = decodedJWT.getClaim(USER_ID_CLAIM).asLong();
+    String role = decodedJWT.getClaim(ROLE_CLAIM).asString();
+    if (userId == null || role == null || decodedJWT.getSubject() == null) {
+      return null;
+    }
+    try {
+      return new AuthenticatedUser(userId, decodedJWT.getSubject(), Role.valueOf(role));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  // Valida firma y caducidad; null si el token no es válido. Los tokens que ya pasaron la verificación se
+  // sirven desde memoria sin recalcular el HMAC ni volver a decodificar el JSON.
+  @Timed(value = "gamehub.jwt.verify", histogram = true)
+  public DecodedJWT verify(String token) {
+    DecodedJWT cached = verifiedTokens.getIfPresent(token);
+    if (cached != null) {
+      return cached;
+    }
     try {
-      DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC256(secret))
-              .build()
-              .verify(token);
-      return decodedJWT.getSubject();
+      DecodedJWT decodedJWT = verifier.verify(token);
+      verifiedTokens.put(token, decodedJWT);
+      return decodedJWT;
     } catch (JWTVerificationException exception){
       return null;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.grupo5.gamehub.security.service;
+
+import com.grupo5.gamehub.domain.enums.Role;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/**
+ * Principal de Spring Security que además lleva el id y el rol del usuario, para que los servicios no tengan
+ * que volver a buscarlo por username en cada petición.
+ */
+public class AuthenticatedUser extends User {
+
+  private final Long id;
+  private final Role role;
+
+  public AuthenticatedUser(Long id, String username, String password, Role role) {
+    super(username, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+    this.id = id;
+    this.role = role;
+  }
+
+  // Principal construido a partir de un token: la contraseña no hace falta
+  public AuthenticatedUser(Long id, String username, Role role) {
+    this(id, username, "", role);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Role getRole() {
+    return role;
+  }
+
+  public boolean isAdmin() {
+    return role == Role.ADMIN;
+  }
+}
@@ -0,0 +1,89 @@
+package com.grupo5.gamehub.security.service;
+
+import com.grupo5.gamehub.domain.entities.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Expulsa a un usuario de la caché de autenticación cuando se confirma un cambio en su username, contraseña o
+ * rol, o el borrado de su fila. Se registra en Hibernate desde aquí para que la entidad no dependa de la capa
+ * de seguridad. Los listeners post-commit solo se llaman tras un commit correcto; si se expulsara antes, una
+ * carga concurrente podría volver a cachear los datos antiguos (ver loadUserByUsername).
+ *
+ * Los UPDATE masivos por JPQL (posiciones, puntos) no pasan por aquí y no tocan campos cacheados.
+ */
+@Component
+public class UserCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  private static final Set<String> CACHED_PROPERTIES = Set.of("username", "password", "role");
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final UserDetailsServiceImpl userDetailsService;
+
+  public UserCacheInvalidator(EntityManagerFactory entityManagerFactory, UserDetailsServiceImpl userDetailsService) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.userDetailsService = userDetailsService;
+  }
+
+  @PostConstruct
+  void register() {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return User.class.equals(persister.getMappedClass());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof User user && changesCachedFields(event)) {
+      userDetailsService.evictUser(user.getId());
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof User user) {
+      userDetailsService.evictUser(user.getId());
+    }
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    // Sin commit la fila no ha cambiado: lo cacheado sigue siendo válido
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+  }
+
+  // Sin propiedades sucias calculadas (p. ej. un merge sin estado previo) se expulsa por si acaso
+  private static boolean changesCachedFields(PostUpdateEvent event) {
+    int[] dirty = event.getDirtyProperties();
+    if (dirty == null) {
+      return true;
+    }
+    String[] names = event.getPersister().getPropertyNames();
+    for (int index : dirty) {
+      if (CACHED_PROPERTIES.contains(names[index])) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,38 +1,127 @@
 package com.grupo5.gamehub.security.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.grupo5.gamehub.api.dtos.UserDetailsCacheStats;
 import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import java.util.List;
-import java.util.Collections;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga de usuarios para la autenticación con una caché acotada por tamaño y tiempo. Se guarda una copia
+ * inmutable de los datos y se devuelve un AuthenticatedUser nuevo en cada llamada, porque Spring Security
+ * borra la contraseña del objeto devuelto tras autenticar. Los usuarios inexistentes no se cachean.
+ * UserCacheInvalidator expulsa a un usuario cuando se confirma un cambio en sus datos cacheados o su borrado.
+ *
+ * Como UserDetailsPasswordService, guarda el nuevo hash cuando DaoAuthenticationProvider lo recalcula tras un
+ * login con un coste de BCrypt menor que el configurado.
+ */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+  private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
   private final UserRepository userRepository;
+  private final Cache<String, CachedUser> users;
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadNanos = new LongAdder();
+  // Se incrementa antes de cada expulsión: una carga que coincide con una no deja su resultado en la caché
+  private final AtomicLong evictions = new AtomicLong();
 
-  public UserDetailsServiceImpl(UserRepository userRepository) {
+  public UserDetailsServiceImpl(UserRepository userRepository,
+                                @Value("${gamehub.auth.user-cache.max-size:10000}") long maxSize,
+                                @Value("${gamehub.auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
     this.userRepository = userRepository;
+    this.users = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
   }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    // La consulta se hace fuera de Caffeine: users.get(key, loader) la ejecutaría dentro del compute del mapa,
+    // que retiene un monitor y fijaría el hilo virtual a su portador mientras espera a la base de datos
+    CachedUser user = users.getIfPresent(username);
+    if (user == null) {
+      long generation = evictions.get();
+      long start = System.nanoTime();
+      user = load(username);
+      loads.increment();
+      loadNanos.add(System.nanoTime() - start);
+      users.put(username, user);
+      // Si hubo una expulsión desde antes de leer, lo leído puede ser anterior al cambio: se retira. Si llega
+      // después de esta comprobación, su removeIf ya encuentra la entrada y la quita él
+      if (evictions.get() != generation) {
+        users.asMap().remove(username, user);
+      }
+    }
+    return new AuthenticatedUser(user.id, user.username, user.password, user.role);
+  }
+
+  @Override
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    // La actualización es una mejora: si falla, el login sigue adelante con el hash antiguo
+    try {
+      User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
+      if (user == null) {
+        return userDetails;
+      }
+      user.setPassword(newPassword);
+      userRepository.save(user);
+      log.info("Hash de contraseña actualizado al coste configurado para el usuario {}", user.getUsername());
+      return new AuthenticatedUser(user.getId(), user.getUsername(), newPassword, user.getRole());
+    } catch (RuntimeException e) {
+      log.warn("No se pudo actualizar el hash de contraseña del usuario {}", userDetails.getUsername(), e);
+      return userDetails;
+    }
+  }
+
+  // Por id para cubrir también los cambios de username, en los que la clave antigua ya no es conocida
+  public void evictUser(Long userId) {
+    evictions.incrementAndGet();
+    users.asMap().values().removeIf(user -> user.id.equals(userId));
+  }
+
+  public UserDetailsCacheStats stats() {
+    CacheStats stats = users.stats();
+    long loadCount = loads.sum();
+    double averageLoadMillis = loadCount == 0 ? 0.0 : loadNanos.sum() / (double) loadCount / 1_000_000.0;
+    return new UserDetailsCacheStats(users.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+            loadCount, averageLoadMillis, stats.evictionCount());
+  }
+
+  private CachedUser load(String username) {
     User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con username: " + username));
+    return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+  }
 
-    List<GrantedAuthority> authorities = Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-    );
+  private static final class CachedUser {
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final Role role;
 
-    return new org.springframework.security.core.userdetails.User(
-            user.getUsername(),
-            user.getPassword(),
-            authorities
-    );
+    private CachedUser(Long id, String username, String password, Role role) {
+      this.id = id;
+      this.username = username;
+      this.password = password;
+      this.role = role;
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,6 @@
+-- Los cuadros de eliminación crean las partidas de rondas posteriores con player1/player2 vacíos hasta que
+-- se conoce al ganador. Las tablas creadas antes conservan NOT NULL en esas columnas y ddl-auto=update
+-- nunca relaja una restricción; DROP NOT NULL no falla si la columna ya admite nulos, así que se puede
+-- ejecutar en cada arranque.
+ALTER TABLE matches ALTER COLUMN player1_id DROP NOT NULL;
+ALTER TABLE matches ALTER COLUMN player2_id DROP NOT NULL;
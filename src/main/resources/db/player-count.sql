@@ -0,0 +1,5 @@
+-- player_count se añadió como copia del número de filas de tournament_players. Con ddl-auto=update la
+-- columna nace a 0 en los torneos existentes; aquí se recalcula solo donde no coincide, así que se puede
+-- ejecutar en cada arranque.
+UPDATE tournaments t SET player_count = (SELECT COUNT(*) FROM tournament_players tp WHERE tp.tournament_id = t.id)
+WHERE t.player_count <> (SELECT COUNT(*) FROM tournament_players tp WHERE tp.tournament_id = t.id);
@@ -0,0 +1,7 @@
+-- Los ids de users, tournaments, matches y messages pasaron de IDENTITY a secuencias con reserva de 50
+-- (allocationSize). Con ddl-auto=update Hibernate crea las secuencias empezando en 1; aquí se colocan por
+-- encima del id más alto existente. Nunca hacen retroceder una secuencia, así que se puede ejecutar en cada arranque.
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50, (SELECT last_value FROM users_seq)));
+SELECT setval('tournaments_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tournaments) + 50, (SELECT last_value FROM tournaments_seq)));
+SELECT setval('matches_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM matches) + 50, (SELECT last_value FROM matches_seq)));
+SELECT setval('messages_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM messages) + 50, (SELECT last_value FROM messages_seq)));
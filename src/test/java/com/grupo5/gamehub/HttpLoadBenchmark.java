@@ -0,0 +1,120 @@
+package com.grupo5.gamehub;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga HTTP contra una instancia ya arrancada: N conexiones concurrentes, cada una encadena peticiones GET
+ * sin pausa durante el tiempo indicado. Imprime peticiones por segundo, errores y latencias p50/p99.
+ * Sirve para comparar los dos modos de ejecución (spring.threads.virtual.enabled=false/true, Java 21) con el
+ * mismo pool de Hikari. Por defecto lee el chat de un torneo, que espera casi todo el tiempo a la base de datos
+ * cuando la caché de mensajes recientes no tiene la sala.
+ *
+ * TOKEN=$(curl -s -X POST localhost:8080/api/auth/login -H 'Content-Type: application/json' \
+ *   -d '{"username":"...","password":"..."}' | jq -r .token)
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -Djdk.httpclient.connectionPoolSize=5000 -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.grupo5.gamehub.HttpLoadBenchmark http://localhost:8080 "/api/tournaments/1/messages?limit=50" $TOKEN 5000 30
+ */
+public class HttpLoadBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println("Uso: HttpLoadBenchmark <baseUrl> <ruta> <token> [conexiones=5000] [segundos=30]");
+      System.exit(1);
+    }
+    URI uri = URI.create(args[0] + args[1]);
+    String token = args[2];
+    int connections = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+    int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+
+    HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(60))
+            .GET()
+            .build();
+
+    // Calentamiento: JIT, pool de Hikari y caches del servidor
+    run(client, request, Math.min(connections, 200), 5);
+    Result result = run(client, request, connections, seconds);
+
+    System.out.printf("%d conexiones, %.1f s: %d peticiones (%.0f/s), %d errores, p50 %d ms, p99 %d ms, máx %d ms%n",
+            connections, result.elapsedSeconds, result.ok + result.errors,
+            (result.ok + result.errors) / result.elapsedSeconds, result.errors,
+            result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+  }
+
+  private static Result run(HttpClient client, HttpRequest request, int connections, int seconds) {
+    long start = System.nanoTime();
+    long deadline = start + Duration.ofSeconds(seconds).toNanos();
+    LongAdder ok = new LongAdder();
+    LongAdder errors = new LongAdder();
+    // Cada conexión encadena sus peticiones, así que su lista solo la toca una respuesta cada vez
+    List<List<Long>> latencies = new ArrayList<>(connections);
+    List<CompletableFuture<Void>> clients = new ArrayList<>(connections);
+    for (int i = 0; i < connections; i++) {
+      List<Long> own = new ArrayList<>();
+      latencies.add(own);
+      clients.add(loop(client, request, deadline, own, ok, errors));
+    }
+    CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+    // Las peticiones en vuelo al llegar al plazo también cuentan, así que se divide por el tiempo real
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    long[] all = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).toArray();
+    Arrays.sort(all);
+    return new Result(ok.sum(), errors.sum(), elapsedSeconds, all);
+  }
+
+  private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+                                              List<Long> latencies, LongAdder ok, LongAdder errors) {
+    if (System.nanoTime() >= deadline) {
+      return CompletableFuture.completedFuture(null);
+    }
+    long start = System.nanoTime();
+    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, failure) -> {
+              latencies.add((System.nanoTime() - start) / 1_000_000);
+              if (failure == null && response.statusCode() < 400) {
+                ok.increment();
+              } else {
+                errors.increment();
+              }
+              return null;
+            })
+            .thenCompose(ignored -> loop(client, request, deadline, latencies, ok, errors));
+  }
+
+  private static final class Result {
+    private final long ok;
+    private final long errors;
+    private final double elapsedSeconds;
+    private final long[] sortedLatencies;
+
+    private Result(long ok, long errors, double elapsedSeconds, long[] sortedLatencies) {
+      this.ok = ok;
+      this.errors = errors;
+      this.elapsedSeconds = elapsedSeconds;
+      this.sortedLatencies = sortedLatencies;
+    }
+
+    private long percentile(double p) {
+      if (sortedLatencies.length == 0) {
+        return 0;
+      }
+      return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1)];
+    }
+  }
+}
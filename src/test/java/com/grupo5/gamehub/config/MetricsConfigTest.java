@@ -0,0 +1,45 @@
+package com.grupo5.gamehub.config;
+
+import com.grupo5.gamehub.infraestructure.support.HibernateRequestStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+  @Test
+  @DisplayName("Debe publicar las sentencias y entidades de cada petición con el patrón de la ruta")
+  void requestDatabaseMetrics_shouldRecordPerRequestCounts() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MetricsConfig.RequestDatabaseMetrics interceptor = new MetricsConfig.RequestDatabaseMetrics(registry);
+    HibernateRequestStats stats = new HibernateRequestStats();
+
+    // Restos de trabajo anterior en el mismo hilo no deben contar para la petición
+    stats.inspect("select 1");
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tournaments/7/ranking");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tournaments/{tournamentId}/ranking");
+    assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    for (int i = 0; i < 3; i++) {
+      stats.inspect("select * from users where id = ?");
+      stats.onLoad(new Object(), (Object) (long) i, null, null, null);
+    }
+    stats.inspect("select * from tournaments where id = ?");
+    interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+    DistributionSummary statements = registry.get("gamehub.http.db.statements")
+            .tags("method", "GET", "uri", "/api/tournaments/{tournamentId}/ranking").summary();
+    DistributionSummary loads = registry.get("gamehub.http.db.entity.loads")
+            .tags("method", "GET", "uri", "/api/tournaments/{tournamentId}/ranking").summary();
+    assertEquals(1, statements.count());
+    assertEquals(4.0, statements.totalAmount());
+    assertEquals(3.0, loads.totalAmount());
+    assertEquals(0, HibernateRequestStats.statements());
+  }
+}
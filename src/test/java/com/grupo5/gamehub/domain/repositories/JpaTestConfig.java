@@ -0,0 +1,15 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Match;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// Solo entidades y repositorios: GameHubApplication arrastraría la configuración de seguridad
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Match.class)
+@EnableJpaRepositories(basePackageClasses = MatchRepository.class)
+public class JpaTestConfig {
+}
@@ -0,0 +1,105 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Inserción de una ronda completa de 4096 jugadores (2048 partidas) sobre H2, sin lotes (una sentencia por
+ * fila, como ocurría con IDENTITY) y con el tamaño de lote configurado. Cuenta las sentencias preparadas.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+class MatchBatchInsertTest {
+
+  private static final int PLAYERS = 4096;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private MatchRepository matchRepository;
+
+  @Test
+  @DisplayName("Una ronda de 4096 jugadores debe insertarse en lotes y no con una sentencia por partida")
+  void saveAll_shouldBatchInsertsForLargeRound() {
+    Tournament tournament = createTournament();
+    Session session = entityManager.unwrap(Session.class);
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+    session.setJdbcBatchSize(1);
+    long unbatched = insertRound(tournament, 1, statistics);
+    session.setJdbcBatchSize(null);
+    long batched = insertRound(tournament, 2, statistics);
+
+    assertEquals(PLAYERS / 2, matchRepository.findByTournamentAndRoundNumber(tournament, 2).size());
+    assertTrue(unbatched >= PLAYERS / 2);
+    assertTrue(batched * 10 < unbatched);
+  }
+
+  private Tournament createTournament() {
+    List<User> players = new ArrayList<>(PLAYERS);
+    for (int i = 0; i < PLAYERS; i++) {
+      User player = new User();
+      player.setUsername("player" + i);
+      player.setEmail("player" + i + "@example.com");
+      player.setPassword("pass");
+      player.setRole(Role.PLAYER);
+      player.setPoints(0);
+      players.add(player);
+    }
+    userRepository.saveAll(players);
+
+    User admin = new User();
+    admin.setUsername("admin");
+    admin.setEmail("admin@example.com");
+    admin.setPassword("pass");
+    admin.setRole(Role.ADMIN);
+    userRepository.save(admin);
+
+    Tournament tournament = new Tournament("Liga grande", TournamentStatus.IN_PROGRESS, PLAYERS, LocalDateTime.now(), admin);
+    tournament.setPlayers(players);
+    tournamentRepository.save(tournament);
+    entityManager.flush();
+    return tournament;
+  }
+
+  // Devuelve las sentencias preparadas
+  private long insertRound(Tournament tournament, int roundNumber, Statistics statistics) {
+    List<User> players = tournament.getPlayers();
+    List<Match> matches = new ArrayList<>(PLAYERS / 2);
+    for (int i = 0; i + 1 < players.size(); i += 2) {
+      matches.add(new Match(tournament, players.get(i), players.get(i + 1), roundNumber));
+    }
+
+    long statementsBefore = statistics.getPrepareStatementCount();
+    matchRepository.saveAll(matches);
+    entityManager.flush();
+    return statistics.getPrepareStatementCount() - statementsBefore;
+  }
+}
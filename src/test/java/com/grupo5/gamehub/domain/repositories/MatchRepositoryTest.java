@@ -0,0 +1,219 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.BracketType;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.Result;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.MatchResponseView;
+import com.grupo5.gamehub.infraestructure.pairing.EliminationBracket;
+import com.grupo5.gamehub.infraestructure.pairing.ScheduledMatch;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+@ExtendWith(OutputCaptureExtension.class)
+class MatchRepositoryTest {
+
+  private static final int PLAYERS = 40;
+  private static final int MATCHES = 2000;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private MatchRepository matchRepository;
+
+  private User createUser(String username, Role role) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("pass");
+    user.setRole(role);
+    return user;
+  }
+
+  @Test
+  @DisplayName("Debe listar 2000 partidas con torneo y jugadores en una sola consulta")
+  void findResponsesByTournamentId_shouldLoadEverythingInOneQuery() {
+    List<User> players = new ArrayList<>(PLAYERS);
+    for (int i = 0; i < PLAYERS; i++) {
+      players.add(createUser("player" + i, Role.PLAYER));
+    }
+    userRepository.saveAll(players);
+    User admin = userRepository.save(createUser("admin", Role.ADMIN));
+    Tournament tournament = new Tournament("Liga", TournamentStatus.IN_PROGRESS, PLAYERS, LocalDateTime.now(), admin);
+    tournament.setPlayers(players);
+    tournamentRepository.save(tournament);
+
+    List<Match> matches = new ArrayList<>(MATCHES);
+    for (int i = 0; i < MATCHES; i++) {
+      User player1 = players.get(i % PLAYERS);
+      User player2 = players.get((i + 1 + i / PLAYERS) % PLAYERS);
+      Match match = new Match(tournament, player1, player2, 1 + i / (PLAYERS / 2));
+      if (i % 2 == 0) {
+        match.setStatus(MatchStatus.COMPLETED);
+        match.setResult(Result.PLAYER1_WINS);
+        match.setWinner(player1);
+      }
+      matches.add(match);
+    }
+    // Una partida de cuadro todavía sin rival, enlazada con la primera una vez insertadas (como en generateSchedule)
+    Match waiting = new Match(tournament, players.get(0), null, MATCHES);
+    waiting.setBracket(BracketType.WINNERS);
+    matchRepository.save(waiting);
+    matchRepository.saveAll(matches);
+    entityManager.flush();
+    matches.get(0).setNextMatch(waiting);
+    matches.get(0).setNextMatchSlot(2);
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    long statementsBefore = statistics.getPrepareStatementCount();
+    List<MatchResponseView> rows = matchRepository.findResponsesByTournamentId(tournament.getId());
+    long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+    assertEquals(1, statements);
+    assertEquals(MATCHES + 1, rows.size());
+    MatchResponseView first = rows.get(0);
+    assertEquals("Liga", first.getTournamentName());
+    assertEquals("player0", first.getPlayer1Username());
+    assertEquals("player0", first.getWinnerUsername());
+    assertEquals(waiting.getId(), first.getNextMatchId());
+    assertNull(rows.get(1).getWinnerId());
+    MatchResponseView last = rows.get(rows.size() - 1);
+    assertEquals(BracketType.WINNERS, last.getBracket());
+    assertNull(last.getPlayer2Id());
+    assertNull(last.getPlayer2Username());
+    assertTrue(matchRepository.findResponseById(last.getId()).isPresent());
+  }
+
+  @Test
+  @DisplayName("Debe recorrer las partidas por (ronda, id) aplicando los filtros")
+  void findResponsePage_shouldPageByRoundAndIdWithFilters() {
+    List<User> players = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      players.add(createUser("p" + i, Role.PLAYER));
+    }
+    userRepository.saveAll(players);
+    User admin = userRepository.save(createUser("admin", Role.ADMIN));
+    Tournament tournament = tournamentRepository.save(
+            new Tournament("Copa", TournamentStatus.IN_PROGRESS, 4, LocalDateTime.now(), admin));
+
+    // Se insertan de la última ronda a la primera: el orden por id no coincide con el de ronda
+    List<Match> matches = new ArrayList<>();
+    for (int round = 3; round >= 1; round--) {
+      matches.add(new Match(tournament, players.get(0), players.get(1), round));
+      matches.add(new Match(tournament, players.get(2), players.get(3), round));
+    }
+    matches.get(0).setStatus(MatchStatus.COMPLETED);
+    matchRepository.saveAll(matches);
+    entityManager.flush();
+    entityManager.clear();
+
+    List<MatchResponseView> first = matchRepository.findResponsePage(tournament.getId(), 0, 0L,
+            null, null, null, PageRequest.ofSize(4));
+    assertEquals(List.of(1, 1, 2, 2), first.stream().map(MatchResponseView::getRoundNumber).collect(Collectors.toList()));
+    assertTrue(first.get(0).getId() < first.get(1).getId());
+
+    MatchResponseView last = first.get(3);
+    List<MatchResponseView> second = matchRepository.findResponsePage(tournament.getId(), last.getRoundNumber(),
+            last.getId(), null, null, null, PageRequest.ofSize(4));
+    assertEquals(List.of(3, 3), second.stream().map(MatchResponseView::getRoundNumber).collect(Collectors.toList()));
+
+    assertEquals(2, matchRepository.findResponsePage(tournament.getId(), 0, 0L, 2, null, null,
+            PageRequest.ofSize(10)).size());
+    assertEquals(1, matchRepository.findResponsePage(tournament.getId(), 0, 0L, null, MatchStatus.COMPLETED, null,
+            PageRequest.ofSize(10)).size());
+    List<MatchResponseView> byPlayer = matchRepository.findResponsePage(tournament.getId(), 0, 0L, null, null,
+            players.get(3).getId(), PageRequest.ofSize(10));
+    assertEquals(3, byPlayer.size());
+    assertTrue(byPlayer.stream().allMatch(row -> row.getPlayer2Id().equals(players.get(3).getId())));
+
+    assertTrue(matchRepository.isMatchPlayer(matches.get(0).getId(), players.get(1).getId()));
+    assertFalse(matchRepository.isMatchPlayer(matches.get(0).getId(), players.get(2).getId()));
+  }
+
+  @Test
+  @DisplayName("Un cuadro de doble eliminación debe insertarse en lotes y enlazarse después")
+  void saveAll_shouldBatchBracketInsertedBeforeLinking(CapturedOutput output) {
+    List<User> players = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      players.add(createUser("seed" + i, Role.PLAYER));
+    }
+    userRepository.saveAll(players);
+    User admin = userRepository.save(createUser("admin", Role.ADMIN));
+    Tournament tournament = tournamentRepository.save(
+            new Tournament("Cuadro", TournamentStatus.IN_PROGRESS, 64, LocalDateTime.now(), admin));
+    Map<Long, User> playersById = players.stream().collect(Collectors.toMap(User::getId, user -> user));
+    List<ScheduledMatch> schedule = EliminationBracket.doubleElimination(
+            players.stream().map(User::getId).collect(Collectors.toList()));
+    entityManager.flush();
+
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    long statementsBefore = statistics.getPrepareStatementCount();
+    // Mismo orden que MatchServiceImpl.generateSchedule: INSERT sin enlaces, flush y enlaces como UPDATE
+    List<Match> matches = new ArrayList<>(schedule.size());
+    for (ScheduledMatch scheduled : schedule) {
+      Match match = new Match(tournament, playersById.get(scheduled.getPlayer1Id()),
+              playersById.get(scheduled.getPlayer2Id()), scheduled.getRound());
+      match.setBracket(scheduled.getBracket());
+      matches.add(match);
+    }
+    matchRepository.saveAll(matches);
+    matchRepository.flush();
+    for (ScheduledMatch scheduled : schedule) {
+      Match match = matches.get(scheduled.getIndex());
+      if (scheduled.getNextIndex() != null) {
+        match.setNextMatch(matches.get(scheduled.getNextIndex()));
+        match.setNextMatchSlot(scheduled.getNextSlot());
+      }
+      if (scheduled.getLoserNextIndex() != null) {
+        match.setLoserNextMatch(matches.get(scheduled.getLoserNextIndex()));
+        match.setLoserNextMatchSlot(scheduled.getLoserNextSlot());
+      }
+    }
+    entityManager.flush();
+    long statements = statistics.getPrepareStatementCount() - statementsBefore;
+    entityManager.clear();
+
+    // ~126 partidas: con lotes de 50, unas pocas sentencias para los INSERT y otras tantas para los UPDATE
+    assertTrue(statements < 20, "sentencias preparadas: " + statements);
+    // Con los enlaces ya puestos al insertar, Hibernate no puede ordenar el lote y lo avisa
+    assertFalse(output.getOut().contains("could not be sorted"));
+    long linked = matchRepository.findResponsesByTournamentId(tournament.getId()).stream()
+            .filter(row -> row.getNextMatchId() != null).count();
+    assertEquals(schedule.stream().filter(scheduled -> scheduled.getNextIndex() != null).count(), linked);
+  }
+}
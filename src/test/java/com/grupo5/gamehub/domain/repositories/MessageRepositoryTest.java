@@ -0,0 +1,99 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Message;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+class MessageRepositoryTest {
+
+  private static final int MESSAGES = 500;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private MessageRepository messageRepository;
+
+  private User createUser(String username, Role role) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("pass");
+    user.setRole(role);
+    return userRepository.save(user);
+  }
+
+  private List<String> contents(List<Message> messages) {
+    return messages.stream().map(Message::getContent).collect(Collectors.toList());
+  }
+
+  @Test
+  @DisplayName("Debe recorrer el historial del torneo por id en ambos sentidos con una sola consulta por página")
+  void findTournamentPage_shouldPageByIdInBothDirections() {
+    User admin = createUser("admin", Role.ADMIN);
+    User player = createUser("player", Role.PLAYER);
+    Tournament tournament = tournamentRepository.save(
+            new Tournament("Copa", TournamentStatus.IN_PROGRESS, 8, LocalDateTime.now(), admin));
+    Tournament other = tournamentRepository.save(
+            new Tournament("Liga", TournamentStatus.IN_PROGRESS, 8, LocalDateTime.now(), admin));
+
+    List<Message> messages = new ArrayList<>(MESSAGES);
+    for (int i = 0; i < MESSAGES; i++) {
+      messages.add(new Message(i % 2 == 0 ? admin : player, "msg" + i, tournament));
+    }
+    messages.add(new Message(player, "otra sala", other));
+    messageRepository.saveAll(messages);
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    long statementsBefore = statistics.getPrepareStatementCount();
+    List<Message> newest = messageRepository.findTournamentPageBefore(tournament.getId(), Long.MAX_VALUE,
+            PageRequest.ofSize(3));
+    // El remitente llega en la misma consulta
+    assertEquals("player", newest.get(0).getSender().getUsername());
+    assertEquals(1, statistics.getPrepareStatementCount() - statementsBefore);
+    assertEquals(List.of("msg499", "msg498", "msg497"), contents(newest));
+
+    List<Message> older = messageRepository.findTournamentPageBefore(tournament.getId(), newest.get(2).getId(),
+            PageRequest.ofSize(3));
+    assertEquals(List.of("msg496", "msg495", "msg494"), contents(older));
+
+    List<Message> newer = messageRepository.findTournamentPageAfter(tournament.getId(), older.get(0).getId(),
+            PageRequest.ofSize(2));
+    assertEquals(List.of("msg497", "msg498"), contents(newer));
+
+    assertTrue(messageRepository.findTournamentPageAfter(tournament.getId(), newest.get(0).getId(),
+            PageRequest.ofSize(3)).isEmpty());
+    assertEquals(List.of("otra sala"), contents(messageRepository.findTournamentPageBefore(other.getId(),
+            Long.MAX_VALUE, PageRequest.ofSize(3))));
+  }
+}
@@ -0,0 +1,98 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.TournamentSummaryView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+class TournamentRepositoryTest {
+
+  private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  private User createUser(String username, Role role) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("pass");
+    user.setRole(role);
+    return userRepository.save(user);
+  }
+
+  private List<String> names(List<TournamentSummaryView> rows) {
+    return rows.stream().map(TournamentSummaryView::getName).collect(Collectors.toList());
+  }
+
+  @Test
+  @DisplayName("Debe listar resúmenes con número de jugadores y creador en una sola consulta, con filtros y cursor")
+  void findSummaries_shouldPageFilterAndCountPlayers() {
+    User admin = createUser("admin", Role.ADMIN);
+    List<User> players = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      players.add(createUser("player" + i, Role.PLAYER));
+    }
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+    String[] names = {"Copa Norte", "Copa_Sur", "Liga Este", "Copa Oeste", "Liga 100%"};
+    for (int i = 0; i < names.length; i++) {
+      Tournament tournament = new Tournament(names[i], i % 2 == 0 ? TournamentStatus.CREATED : TournamentStatus.IN_PROGRESS,
+              8, base.plusDays(i), admin);
+      tournament.setPlayers(new ArrayList<>(players.subList(0, i + 1)));
+      tournament.setPlayerCount(i + 1);
+      tournamentRepository.save(tournament);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    long statementsBefore = statistics.getPrepareStatementCount();
+    List<TournamentSummaryView> first = tournamentRepository.findSummariesNewestFirst(FAR_FUTURE, Long.MAX_VALUE,
+            null, null, PageRequest.ofSize(3));
+    assertEquals(1, statistics.getPrepareStatementCount() - statementsBefore);
+
+    assertEquals(List.of("Liga 100%", "Copa Oeste", "Liga Este"), names(first));
+    assertEquals(5, first.get(0).getPlayerCount());
+    assertEquals("admin", first.get(0).getCreatorUsername());
+
+    TournamentSummaryView last = first.get(2);
+    List<TournamentSummaryView> second = tournamentRepository.findSummariesNewestFirst(last.getCreatedAt(), last.getId(),
+            null, null, PageRequest.ofSize(3));
+    assertEquals(List.of("Copa_Sur", "Copa Norte"), names(second));
+
+    // Los comodines del prefijo llegan escapados: 'Copa_' no debe coincidir con 'Copa Norte'
+    assertEquals(List.of("Copa_Sur"), names(tournamentRepository.findSummariesByName("", null, "Copa\\_%",
+            PageRequest.ofSize(10))));
+    assertEquals(List.of("Copa Norte", "Copa Oeste"), names(tournamentRepository.findSummariesByName("", null, "Copa %",
+            PageRequest.ofSize(10))));
+    assertEquals(List.of("Liga 100%", "Liga Este"), names(tournamentRepository.findSummariesByName("Copa_Sur",
+            TournamentStatus.CREATED, null, PageRequest.ofSize(10))));
+  }
+}
@@ -0,0 +1,86 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.TournamentWaitlistEntry;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+class TournamentWaitlistRepositoryTest {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private TournamentWaitlistRepository waitlistRepository;
+
+  private User createUser(String username, Role role) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("pass");
+    user.setRole(role);
+    return userRepository.save(user);
+  }
+
+  @Test
+  @DisplayName("Debe recorrer la cola en orden de llegada y promocionar el lote sin duplicar inscritos")
+  void queue_shouldBeFifoAndPromoteInOneBatch() {
+    User admin = createUser("admin", Role.ADMIN);
+    Tournament tournament = tournamentRepository.save(
+            new Tournament("Abierto", TournamentStatus.CREATED, 2, LocalDateTime.now(), admin));
+    List<User> players = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      players.add(createUser("player" + i, Role.PLAYER));
+    }
+    // Llegan en orden inverso al de sus ids
+    LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+    for (int i = 0; i < players.size(); i++) {
+      waitlistRepository.save(new TournamentWaitlistEntry(tournament, players.get(i), base.minusMinutes(i)));
+    }
+    tournamentRepository.addPlayer(tournament.getId(), players.get(2).getId());
+    entityManager.flush();
+    entityManager.clear();
+
+    List<TournamentWaitlistEntry> queue = waitlistRepository.findQueue(tournament.getId(), PageRequest.ofSize(2));
+    assertEquals(List.of("player3", "player2"),
+            queue.stream().map(entry -> entry.getPlayer().getUsername()).collect(Collectors.toList()));
+
+    TournamentWaitlistEntry last = waitlistRepository.findByTournamentIdAndPlayerId(tournament.getId(),
+            players.get(0).getId()).orElseThrow();
+    assertEquals(4, waitlistRepository.countUpTo(tournament.getId(), last.getCreatedAt(), last.getId()));
+
+    // player2 ya estaba inscrito: solo entra player3
+    List<Long> ids = queue.stream().map(TournamentWaitlistEntry::getId).collect(Collectors.toList());
+    assertEquals(1, waitlistRepository.promoteToPlayers(ids));
+    waitlistRepository.deleteAllByIdInBatch(ids);
+
+    assertTrue(tournamentRepository.isPlayerRegistered(tournament.getId(), players.get(3).getId()));
+    assertEquals(2, waitlistRepository.countByTournamentId(tournament.getId()));
+    assertEquals(1, waitlistRepository.countUpTo(tournament.getId(), base.minusMinutes(1), Long.MAX_VALUE));
+  }
+}
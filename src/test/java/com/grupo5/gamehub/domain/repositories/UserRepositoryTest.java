@@ -0,0 +1,85 @@
+package com.grupo5.gamehub.domain.repositories;
+
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+class UserRepositoryTest {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private static User player(String username, String email) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(email);
+    user.setPassword("pass");
+    user.setRole(Role.PLAYER);
+    return user;
+  }
+
+  @Test
+  @DisplayName("Debe indicar en una consulta qué campos del registro están ocupados")
+  void findTakenFields_shouldReportUsernameAndEmail() {
+    userRepository.save(player("alice", "alice@example.com"));
+    userRepository.save(player("bob", "bob@example.com"));
+    entityManager.flush();
+
+    assertEquals(List.of(), userRepository.findTakenFields("carol", "carol@example.com"));
+    assertEquals(List.of("username"), userRepository.findTakenFields("alice", "carol@example.com"));
+    assertEquals(List.of("email"), userRepository.findTakenFields("carol", "bob@example.com"));
+    assertEquals(Set.of("username", "email"), Set.copyOf(userRepository.findTakenFields("alice", "bob@example.com")));
+
+    assertEquals(List.of("bob"), userRepository.findExistingUsernames(List.of("bob", "carol")));
+    assertEquals(List.of("alice@example.com"), userRepository.findExistingEmails(List.of("alice@example.com", "x@example.com")));
+  }
+
+  @Test
+  @DisplayName("Las restricciones únicas deben rechazar un username o email repetido")
+  void save_shouldViolateUniqueConstraints() {
+    userRepository.saveAndFlush(player("alice", "alice@example.com"));
+
+    assertThrows(DataIntegrityViolationException.class,
+            () -> userRepository.saveAndFlush(player("alice", "other@example.com")));
+  }
+
+  @Test
+  @DisplayName("Una importación de 200 jugadores debe insertarse en lotes")
+  void saveAll_shouldBatchInserts() {
+    List<User> cohort = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      cohort.add(player("cohort" + i, "cohort" + i + "@example.com"));
+    }
+    Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    long statementsBefore = statistics.getPrepareStatementCount();
+
+    userRepository.saveAll(cohort);
+    entityManager.flush();
+
+    long statements = statistics.getPrepareStatementCount() - statementsBefore;
+    assertTrue(statements < 20, "sentencias preparadas: " + statements);
+    assertEquals(200, userRepository.findExistingUsernames(cohort.stream().map(User::getUsername).collect(Collectors.toList())).size());
+  }
+}
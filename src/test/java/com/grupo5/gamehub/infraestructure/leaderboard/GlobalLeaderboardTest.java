@@ -0,0 +1,78 @@
+package com.grupo5.gamehub.infraestructure.leaderboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalLeaderboardTest {
+
+  private GlobalLeaderboard leaderboard;
+
+  @BeforeEach
+  void setUp() {
+    leaderboard = new GlobalLeaderboard(0, 3000);
+    leaderboard.put(1L, "ana", 1600, 1);
+    leaderboard.put(2L, "bob", 1500, 1);
+    leaderboard.put(3L, "carl", 1500, 1);
+    leaderboard.put(4L, "dora", 1400, 1);
+    leaderboard.put(5L, "eve", 1300, 1);
+  }
+
+  private List<Long> ids(List<GlobalLeaderboard.Entry> entries) {
+    return entries.stream().map(GlobalLeaderboard.Entry::getUserId).collect(Collectors.toList());
+  }
+
+  @Test
+  @DisplayName("Debe calcular la posición con empates compartidos")
+  void rankOf_shouldShareRankOnTies() {
+    assertEquals(1, leaderboard.rankOf(1600));
+    assertEquals(2, leaderboard.rankOf(1500));
+    assertEquals(4, leaderboard.rankOf(1400));
+    assertEquals(6, leaderboard.rankOf(100));
+  }
+
+  @Test
+  @DisplayName("Debe devolver el top-K ordenado por puntos y después por id")
+  void top_shouldReturnOrderedEntries() {
+    assertEquals(List.of(1L, 2L, 3L), ids(leaderboard.top(3)));
+    assertEquals(5, leaderboard.top(50).size());
+  }
+
+  @Test
+  @DisplayName("Debe devolver los vecinos de un jugador, recortando en los extremos")
+  void around_shouldReturnNeighbours() {
+    assertEquals(List.of(2L, 3L, 4L), ids(leaderboard.around(3L, 1)));
+    assertEquals(List.of(1L, 2L, 3L), ids(leaderboard.around(1L, 2)));
+    assertEquals(List.of(3L, 4L, 5L), ids(leaderboard.around(5L, 2)));
+    assertTrue(leaderboard.around(99L, 2).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Debe mover al jugador al actualizar sus puntos e ignorar actualizaciones antiguas")
+  void put_shouldMovePlayerAndIgnoreStaleUpdates() {
+    assertTrue(leaderboard.put(5L, "eve", 1700, 3));
+    assertFalse(leaderboard.put(5L, "eve", 1350, 2));
+
+    assertEquals(List.of(5L, 1L), ids(leaderboard.top(2)));
+    assertEquals(1, leaderboard.rankOf(leaderboard.get(5L).getPoints()));
+    assertEquals(5, leaderboard.rankOf(1400));
+    assertEquals(5, leaderboard.size());
+  }
+
+  @Test
+  @DisplayName("Debe contar en el extremo los puntos fuera de rango")
+  void rankOf_shouldClampOutOfRangePoints() {
+    leaderboard.put(6L, "fred", 5000, 1);
+    leaderboard.put(7L, "gina", -20, 1);
+
+    assertEquals(1, leaderboard.rankOf(5000));
+    assertEquals(7, leaderboard.rankOf(-20));
+    leaderboard.remove(6L);
+    assertEquals(1, leaderboard.rankOf(1600));
+  }
+}
@@ -0,0 +1,95 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import com.grupo5.gamehub.domain.enums.BracketType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EliminationBracketTest {
+
+  private List<Long> players(int count) {
+    return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+  }
+
+  // Cada partida recibe exactamente dos jugadores (directos o de partidas anteriores) y los enlaces van hacia delante
+  private void assertConsistent(List<ScheduledMatch> matches) {
+    int[] incoming = new int[matches.size()];
+    for (ScheduledMatch match : matches) {
+      incoming[match.getIndex()] += (match.getPlayer1Id() != null ? 1 : 0) + (match.getPlayer2Id() != null ? 1 : 0);
+      if (match.getNextIndex() != null) {
+        incoming[match.getNextIndex()]++;
+        assertTrue(matches.get(match.getNextIndex()).getRound() > match.getRound());
+      }
+      if (match.getLoserNextIndex() != null) {
+        incoming[match.getLoserNextIndex()]++;
+        assertTrue(matches.get(match.getLoserNextIndex()).getRound() > match.getRound());
+      }
+    }
+    for (int count : incoming) {
+      assertEquals(2, count);
+    }
+  }
+
+  @Test
+  @DisplayName("Debe sembrar el cuadro en el orden estándar")
+  void seedOrder_shouldMatchStandardBracket() {
+    assertArrayEquals(new int[]{1, 4, 2, 3}, EliminationBracket.seedOrder(4));
+    assertArrayEquals(new int[]{1, 8, 4, 5, 2, 7, 3, 6}, EliminationBracket.seedOrder(8));
+  }
+
+  @Test
+  @DisplayName("La eliminación directa debe tener n-1 partidas y dar los byes a las mejores cabezas de serie")
+  void single_shouldCollapseByes() {
+    List<ScheduledMatch> matches = EliminationBracket.single(players(5));
+
+    assertEquals(4, matches.size());
+    assertConsistent(matches);
+    // Primera ronda: solo 4-5; 1, 2 y 3 pasan directamente a la segunda
+    ScheduledMatch first = matches.get(0);
+    assertEquals(1, first.getRound());
+    assertEquals(4L, first.getPlayer1Id());
+    assertEquals(5L, first.getPlayer2Id());
+    ScheduledMatch semifinal = matches.get(first.getNextIndex());
+    assertEquals(1L, semifinal.getPlayer1Id());
+    assertNull(semifinal.getPlayer2Id());
+    assertEquals(2, first.getNextSlot());
+    ScheduledMatch other = matches.get(2);
+    assertEquals(2L, other.getPlayer1Id());
+    assertEquals(3L, other.getPlayer2Id());
+    assertNull(matches.get(3).getNextIndex());
+
+    for (int count = 2; count <= 70; count++) {
+      List<ScheduledMatch> bracket = EliminationBracket.single(players(count));
+      assertEquals(count - 1, bracket.size());
+      assertConsistent(bracket);
+    }
+  }
+
+  @Test
+  @DisplayName("La doble eliminación debe tener 2n-2 partidas y enviar a los perdedores al cuadro de perdedores")
+  void doubleElimination_shouldLinkLosersBracket() {
+    for (int count = 2; count <= 70; count++) {
+      List<ScheduledMatch> bracket = EliminationBracket.doubleElimination(players(count));
+      assertEquals(2 * count - 2, bracket.size(), "Partidas con " + count + " jugadores");
+      assertConsistent(bracket);
+      ScheduledMatch grandFinal = bracket.get(bracket.size() - 1);
+      assertEquals(BracketType.GRAND_FINAL, grandFinal.getBracket());
+      assertNull(grandFinal.getNextIndex());
+    }
+
+    List<ScheduledMatch> eight = EliminationBracket.doubleElimination(players(8));
+    for (ScheduledMatch match : eight) {
+      if (match.getBracket() == BracketType.WINNERS && match.getRound() < 3) {
+        assertEquals(BracketType.LOSERS, eight.get(match.getLoserNextIndex()).getBracket());
+      }
+      if (match.getBracket() == BracketType.LOSERS) {
+        assertNull(match.getLoserNextIndex());
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundRobinScheduleTest {
+
+  private List<Long> players(int count) {
+    return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+  }
+
+  private static long pairKey(ScheduledMatch match) {
+    long a = Math.min(match.getPlayer1Id(), match.getPlayer2Id());
+    long b = Math.max(match.getPlayer1Id(), match.getPlayer2Id());
+    return a * 1_000_000 + b;
+  }
+
+  @Test
+  @DisplayName("Cada pareja debe enfrentarse una sola vez y nadie debe jugar dos veces en la misma ronda")
+  void generate_shouldPairEveryoneOnce() {
+    for (int count : new int[]{2, 3, 8, 11, 64}) {
+      List<ScheduledMatch> matches = RoundRobinSchedule.generate(players(count), false);
+
+      assertEquals(RoundRobinSchedule.matchCount(count, false), matches.size());
+      Set<Long> pairs = new HashSet<>();
+      Map<Integer, Set<Long>> playersByRound = new HashMap<>();
+      for (ScheduledMatch match : matches) {
+        assertTrue(pairs.add(pairKey(match)), "Enfrentamiento repetido con " + count + " jugadores");
+        Set<Long> round = playersByRound.computeIfAbsent(match.getRound(), r -> new HashSet<>());
+        assertTrue(round.add(match.getPlayer1Id()));
+        assertTrue(round.add(match.getPlayer2Id()));
+      }
+      assertEquals(count % 2 == 0 ? count - 1 : count, playersByRound.size());
+    }
+  }
+
+  @Test
+  @DisplayName("Con número impar cada jugador debe descansar exactamente una ronda")
+  void generate_shouldGiveOneRestPerPlayer_whenOdd() {
+    List<ScheduledMatch> matches = RoundRobinSchedule.generate(players(7), false);
+
+    Map<Long, Integer> games = new HashMap<>();
+    for (ScheduledMatch match : matches) {
+      games.merge(match.getPlayer1Id(), 1, Integer::sum);
+      games.merge(match.getPlayer2Id(), 1, Integer::sum);
+    }
+    assertEquals(7, games.size());
+    games.values().forEach(played -> assertEquals(6, played));
+  }
+
+  @Test
+  @DisplayName("La vuelta debe repetir los enfrentamientos con los lados cambiados en rondas posteriores")
+  void generate_shouldMirrorSecondLeg() {
+    List<ScheduledMatch> matches = RoundRobinSchedule.generate(players(6), true);
+
+    assertEquals(30, matches.size());
+    List<ScheduledMatch> firstLeg = new ArrayList<>(matches.subList(0, 15));
+    for (int i = 0; i < firstLeg.size(); i++) {
+      ScheduledMatch first = firstLeg.get(i);
+      ScheduledMatch second = matches.get(15 + i);
+      assertEquals(first.getPlayer1Id(), second.getPlayer2Id());
+      assertEquals(first.getPlayer2Id(), second.getPlayer1Id());
+      assertEquals(first.getRound() + 5, second.getRound());
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.grupo5.gamehub.infraestructure.pairing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwissPairingTest {
+
+  private SwissPairing.Player player(long id, int score, int rating, int games) {
+    return new SwissPairing.Player(id, score, rating, games);
+  }
+
+  private long[] ids(SwissPairing.Player[] pair) {
+    return new long[]{pair[0].getId(), pair[1].getId()};
+  }
+
+  @Test
+  @DisplayName("Debe enfrentar la mitad superior de cada grupo de puntos con la inferior")
+  void pair_shouldFoldScoreGroups() {
+    List<SwissPairing.Player> players = Arrays.asList(
+            player(1, 3, 1600, 1), player(2, 3, 1550, 1), player(3, 3, 1500, 1), player(4, 3, 1450, 1),
+            player(5, 0, 1400, 1), player(6, 0, 1350, 1), player(7, 0, 1300, 1), player(8, 0, 1250, 1));
+
+    SwissPairing.Result result = new SwissPairing(Collections.emptyList()).pair(players);
+
+    assertNull(result.getBye());
+    assertEquals(4, result.getPairs().size());
+    assertArrayEquals(new long[]{1, 3}, ids(result.getPairs().get(0)));
+    assertArrayEquals(new long[]{2, 4}, ids(result.getPairs().get(1)));
+    assertArrayEquals(new long[]{5, 7}, ids(result.getPairs().get(2)));
+    assertArrayEquals(new long[]{6, 8}, ids(result.getPairs().get(3)));
+  }
+
+  @Test
+  @DisplayName("No debe repetir un enfrentamiento si hay alternativa")
+  void pair_shouldAvoidRematches() {
+    List<SwissPairing.Player> players = Arrays.asList(
+            player(1, 3, 1600, 1), player(2, 3, 1550, 1), player(3, 3, 1500, 1), player(4, 3, 1450, 1));
+
+    SwissPairing.Result result = new SwissPairing(Collections.singletonList(new long[]{1, 3})).pair(players);
+
+    assertArrayEquals(new long[]{1, 4}, ids(result.getPairs().get(0)));
+    assertArrayEquals(new long[]{2, 3}, ids(result.getPairs().get(1)));
+  }
+
+  @Test
+  @DisplayName("El bye debe ir al peor clasificado que aún no lo haya tenido")
+  void pair_shouldGiveByeDeterministically() {
+    // El jugador 5 ya tuvo bye (una partida menos), así que le toca al 4
+    List<SwissPairing.Player> players = Arrays.asList(
+            player(1, 6, 1600, 2), player(2, 3, 1550, 2), player(3, 3, 1500, 2),
+            player(4, 0, 1450, 2), player(5, 0, 1400, 1));
+
+    SwissPairing.Result first = new SwissPairing(Collections.emptyList()).pair(players);
+    SwissPairing.Result second = new SwissPairing(Collections.emptyList()).pair(new ArrayList<>(players));
+
+    assertEquals(4L, first.getBye().getId());
+    assertEquals(2, first.getPairs().size());
+    for (int i = 0; i < first.getPairs().size(); i++) {
+      assertArrayEquals(ids(first.getPairs().get(i)), ids(second.getPairs().get(i)));
+    }
+  }
+
+  @Test
+  @DisplayName("Debe emparejar 10.000 jugadores sin repeticiones en varias rondas")
+  void pair_shouldScaleWithoutRematches() {
+    int size = 10_000;
+    List<long[]> history = new ArrayList<>();
+    int[] scores = new int[size + 1];
+    for (int round = 1; round <= 6; round++) {
+      List<SwissPairing.Player> players = new ArrayList<>(size);
+      for (int id = 1; id <= size; id++) {
+        players.add(player(id, scores[id], 3000 - id / 10, round - 1));
+      }
+
+      SwissPairing.Result result = new SwissPairing(history).pair(players);
+
+      assertEquals(size / 2, result.getPairs().size());
+      Set<Long> seen = new HashSet<>();
+      SwissPairing pastIndex = new SwissPairing(history);
+      for (SwissPairing.Player[] pair : result.getPairs()) {
+        assertFalse(pastIndex.havePlayed(pair[0].getId(), pair[1].getId()));
+        assertTrue(seen.add(pair[0].getId()));
+        assertTrue(seen.add(pair[1].getId()));
+        history.add(ids(pair));
+        // Gana siempre el de id menor
+        scores[(int) Math.min(pair[0].getId(), pair[1].getId())] += 3;
+      }
+    }
+  }
+}
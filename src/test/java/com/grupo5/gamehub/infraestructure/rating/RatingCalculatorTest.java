@@ -0,0 +1,67 @@
+package com.grupo5.gamehub.infraestructure.rating;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingCalculatorTest {
+
+  private final EloRatingCalculator elo = new EloRatingCalculator(1500, 32);
+  private final Glicko2RatingCalculator glicko2 = new Glicko2RatingCalculator(1500, 350, 0.06, 0.5);
+
+  @Test
+  @DisplayName("ELO: una victoria entre iguales suma la mitad del factor K")
+  void elo_shouldAwardHalfKForWinBetweenEquals() {
+    PlayerRating player = elo.initialRating();
+
+    PlayerRating updated = elo.rate(player, Collections.singletonList(new GameOutcome(elo.initialRating(), 1.0)));
+
+    assertEquals(1516.0, updated.getRating(), 1e-9);
+    assertEquals(1516, updated.getPoints());
+  }
+
+  @Test
+  @DisplayName("ELO: el empate contra un rival más fuerte suma puntos y lo que gana uno lo pierde el otro")
+  void elo_shouldBeZeroSumAndFavourUnderdogOnDraw() {
+    PlayerRating weaker = new PlayerRating(1400, 0, 0);
+    PlayerRating stronger = new PlayerRating(1600, 0, 0);
+
+    PlayerRating weakerAfter = elo.rate(weaker, Collections.singletonList(new GameOutcome(stronger, 0.5)));
+    PlayerRating strongerAfter = elo.rate(stronger, Collections.singletonList(new GameOutcome(weaker, 0.5)));
+
+    assertTrue(weakerAfter.getRating() > 1400);
+    assertEquals(0.0, (weakerAfter.getRating() - 1400) + (strongerAfter.getRating() - 1600), 1e-9);
+  }
+
+  @Test
+  @DisplayName("Glicko-2: reproduce el ejemplo del artículo de Glickman")
+  void glicko2_shouldMatchReferenceExample() {
+    PlayerRating player = new PlayerRating(1500, 200, 0.06);
+    List<GameOutcome> games = Arrays.asList(
+            new GameOutcome(new PlayerRating(1400, 30, 0.06), 1.0),
+            new GameOutcome(new PlayerRating(1550, 100, 0.06), 0.0),
+            new GameOutcome(new PlayerRating(1700, 300, 0.06), 0.0));
+
+    PlayerRating updated = glicko2.rate(player, games);
+
+    assertEquals(1464.06, updated.getRating(), 0.01);
+    assertEquals(151.52, updated.getDeviation(), 0.01);
+    assertEquals(0.05999, updated.getVolatility(), 0.00001);
+  }
+
+  @Test
+  @DisplayName("Glicko-2: sin partidas solo aumenta la desviación")
+  void glicko2_shouldOnlyInflateDeviationWithoutGames() {
+    PlayerRating player = new PlayerRating(1500, 200, 0.06);
+
+    PlayerRating updated = glicko2.rate(player, Collections.emptyList());
+
+    assertEquals(1500, updated.getRating(), 1e-9);
+    assertTrue(updated.getDeviation() > 200);
+  }
+}
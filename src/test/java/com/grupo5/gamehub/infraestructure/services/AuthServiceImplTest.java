@@ -0,0 +1,186 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.AuthResponse;
+import com.grupo5.gamehub.api.dtos.BulkRegistrationResponse;
+import com.grupo5.gamehub.api.dtos.RegisterRequest;
+import com.grupo5.gamehub.api.dtos.RejectedRegistration;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.security.jwt.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private PasswordEncoder passwordEncoder;
+
+  @Mock
+  private JwtUtil jwtUtil;
+
+  @Mock
+  private AuthenticationManager authenticationManager;
+
+  private AuthServiceImpl authService;
+
+  @BeforeEach
+  void setUp() {
+    authService = new AuthServiceImpl(userRepository, passwordEncoder, jwtUtil, authenticationManager);
+  }
+
+  private static RegisterRequest request(String username) {
+    return new RegisterRequest(username, username + "@example.com", "pass");
+  }
+
+  @Test
+  @DisplayName("Debe registrar al jugador tras una única consulta de duplicados")
+  void register_shouldCheckBothFieldsInOneQuery() {
+    when(userRepository.findTakenFields("alice", "alice@example.com")).thenReturn(Collections.emptyList());
+    when(passwordEncoder.encode("pass")).thenReturn("hash");
+    when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+      User user = invocation.getArgument(0);
+      user.setId(1L);
+      return user;
+    });
+    when(jwtUtil.generateToken(1L, "alice", Role.PLAYER)).thenReturn("token");
+
+    AuthResponse response = authService.register(request("alice"));
+
+    assertEquals("token", response.getToken());
+    verify(userRepository, times(1)).findTakenFields("alice", "alice@example.com");
+    verify(userRepository, never()).findByUsername(any());
+    verify(userRepository, never()).findByEmail(any());
+  }
+
+  @Test
+  @DisplayName("Con el nombre ocupado no debe calcular el hash ni insertar")
+  void register_shouldRejectTakenUsernameWithoutHashing() {
+    when(userRepository.findTakenFields("alice", "alice@example.com")).thenReturn(List.of("email", "username"));
+
+    AuthResponse response = authService.register(request("alice"));
+
+    assertNull(response.getToken());
+    assertEquals("Username already exists", response.getMessage());
+    verifyNoInteractions(passwordEncoder);
+    verify(userRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  @DisplayName("Un registro simultáneo con el mismo correo debe responder 'Email already exists' por la restricción única")
+  void register_shouldTranslateConstraintViolation() {
+    when(userRepository.findTakenFields("alice", "alice@example.com"))
+            .thenReturn(Collections.emptyList())
+            .thenReturn(List.of("email"));
+    when(passwordEncoder.encode("pass")).thenReturn("hash");
+    when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("uk"));
+
+    AuthResponse response = authService.register(request("alice"));
+
+    assertNull(response.getToken());
+    assertEquals("Email already exists", response.getMessage());
+    verifyNoInteractions(jwtUtil);
+  }
+
+  @Test
+  @DisplayName("Una violación que no se debe a un duplicado no debe ocultarse")
+  void register_shouldRethrowOtherIntegrityViolations() {
+    when(userRepository.findTakenFields(any(), any())).thenReturn(Collections.emptyList());
+    when(passwordEncoder.encode("pass")).thenReturn("hash");
+    when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("not null"));
+
+    assertThrows(DataIntegrityViolationException.class, () -> authService.register(request("alice")));
+  }
+
+  @Test
+  @DisplayName("La importación debe insertar en bloque y rechazar filas incompletas, repetidas o ya registradas")
+  void registerAll_shouldSaveValidRowsAndReportRejected() {
+    List<RegisterRequest> requests = List.of(
+            request("p1"),
+            request("p2"),
+            new RegisterRequest("p1", "other@example.com", "pass"),
+            new RegisterRequest("p3", "p2@example.com", "pass"),
+            new RegisterRequest("p4", null, "pass"),
+            request("taken"),
+            new RegisterRequest("p5", "used@example.com", "pass"));
+    when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+    when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("used@example.com"));
+    when(passwordEncoder.encode("pass")).thenReturn("hash");
+
+    BulkRegistrationResponse response = authService.registerAll(requests);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+    verify(userRepository).saveAll(saved.capture());
+    assertEquals(List.of("p1", "p2"), saved.getValue().stream().map(User::getUsername).collect(Collectors.toList()));
+    assertTrue(saved.getValue().stream().allMatch(user -> user.getRole() == Role.PLAYER && "hash".equals(user.getPassword())));
+
+    assertEquals(7, response.getRequested());
+    assertEquals(2, response.getCreated());
+    assertEquals(List.of("Duplicated username in request", "Duplicated email in request",
+                    "Username, email and password are required", "Username already exists", "Email already exists"),
+            response.getRejected().stream().map(RejectedRegistration::getReason).collect(Collectors.toList()));
+    verify(userRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  @DisplayName("Si el lote choca con un registro simultáneo debe repetirse fila a fila")
+  void registerAll_shouldFallBackToRowByRowOnConflict() {
+    when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Collections.emptyList());
+    when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+    when(passwordEncoder.encode("pass")).thenReturn("hash");
+    when(userRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("uk"));
+    List<Long> idsOnRetry = new ArrayList<>();
+    when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+      User user = invocation.getArgument(0);
+      idsOnRetry.add(user.getId());
+      if (user.getUsername().equals("p2")) {
+        throw new DataIntegrityViolationException("uk");
+      }
+      return user;
+    });
+    when(userRepository.findTakenFields("p2", "p2@example.com")).thenReturn(List.of("username"));
+
+    BulkRegistrationResponse response = authService.registerAll(List.of(request("p1"), request("p2"), request("p3")));
+
+    assertEquals(2, response.getCreated());
+    assertEquals(1, response.getRejected().size());
+    assertEquals("p2", response.getRejected().get(0).getUsername());
+    assertEquals("Username already exists", response.getRejected().get(0).getReason());
+    assertTrue(idsOnRetry.stream().allMatch(id -> id == null));
+  }
+
+  @Test
+  @DisplayName("Debe rechazar importaciones vacías o por encima del máximo")
+  void registerAll_shouldRejectOversizedBatches() {
+    List<RegisterRequest> tooMany = new ArrayList<>();
+    for (int i = 0; i <= AuthServiceImpl.MAX_BULK_REGISTRATIONS; i++) {
+      tooMany.add(request("p" + i));
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> authService.registerAll(tooMany));
+    assertThrows(IllegalArgumentException.class, () -> authService.registerAll(Collections.emptyList()));
+    verifyNoInteractions(userRepository, passwordEncoder);
+  }
+}
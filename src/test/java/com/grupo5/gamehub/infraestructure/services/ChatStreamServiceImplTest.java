@@ -0,0 +1,154 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import com.grupo5.gamehub.api.dtos.messages.UserMessageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatStreamServiceImplTest {
+
+  private static final String ROOM = ChatStreamService.tournamentRoom(10L);
+
+  private ChatStreamServiceImpl chatStreamService;
+
+  @BeforeEach
+  void setUp() {
+    // Buffer de 2 eventos por suscriptor y latido desactivado en la práctica (se invoca a mano)
+    chatStreamService = new ChatStreamServiceImpl(new ObjectMapper().findAndRegisterModules(), 0L, 2, 2, 3600);
+  }
+
+  @AfterEach
+  void tearDown() {
+    chatStreamService.shutdown();
+  }
+
+  private MessageResponse message(long id) {
+    return new MessageResponse(id, new UserMessageResponse(2L, "player1"), "Mensaje " + id, LocalDateTime.now());
+  }
+
+  // Guarda el texto de cada evento; opcionalmente se bloquea en el primer envío o falla
+  private static class RecordingEmitter extends SseEmitter {
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private volatile String completedBy;
+    private final CountDownLatch release;
+    private final boolean failing;
+
+    RecordingEmitter(CountDownLatch release, boolean failing) {
+      this.release = release;
+      this.failing = failing;
+    }
+
+    @Override
+    public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+      if (failing) {
+        throw new IOException("Conexión cerrada");
+      }
+      if (release != null) {
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      events.add(items.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+    }
+
+    @Override
+    public synchronized void complete() {
+      completedBy = Thread.currentThread().getName();
+      completed.countDown();
+    }
+
+    List<String> awaitEvents(int count) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + 5000;
+      while (events.size() < count && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      return events;
+    }
+  }
+
+  @Test
+  @DisplayName("Debe repartir cada mensaje a todos los suscriptores de la sala, en orden")
+  void publish_shouldFanOutToSubscribersInOrder() throws InterruptedException {
+    RecordingEmitter first = new RecordingEmitter(null, false);
+    RecordingEmitter second = new RecordingEmitter(null, false);
+    chatStreamService.register(ROOM, first);
+    chatStreamService.register(ROOM, second);
+    chatStreamService.register(ChatStreamService.matchRoom(10L), new RecordingEmitter(null, false));
+
+    chatStreamService.publish(ROOM, message(1));
+    chatStreamService.publish(ROOM, message(2));
+
+    for (RecordingEmitter emitter : List.of(first, second)) {
+      List<String> events = emitter.awaitEvents(2);
+      assertEquals(2, events.size());
+      assertTrue(events.get(0).contains("id:1") && events.get(0).contains("\"content\":\"Mensaje 1\""));
+      assertTrue(events.get(1).contains("id:2"));
+    }
+    assertEquals(2, chatStreamService.subscriberCount(ROOM));
+  }
+
+  @Test
+  @DisplayName("Debe desconectar al suscriptor lento sin frenar a los demás ni a quien publica")
+  void publish_shouldEvictSlowConsumer() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release, false);
+    RecordingEmitter fast = new RecordingEmitter(null, false);
+    chatStreamService.register(ROOM, slow);
+    chatStreamService.register(ROOM, fast);
+
+    // El primer envío al lento queda bloqueado (con el monitor del emisor tomado); con buffer de 2 se
+    // desborda antes del quinto mensaje y publish no debe esperar a ese envío para cerrarlo
+    long start = System.nanoTime();
+    for (long id = 1; id <= 5; id++) {
+      chatStreamService.publish(ROOM, message(id));
+      Thread.sleep(20);
+    }
+    chatStreamService.sendHeartbeats();
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(6, fast.awaitEvents(6).size());
+    assertEquals(1, chatStreamService.subscriberCount(ROOM));
+    assertTrue(elapsedMs < 2000, "publish esperó " + elapsedMs + " ms");
+    assertEquals(1, slow.completed.getCount());
+
+    release.countDown();
+    assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+    assertTrue(slow.completedBy.startsWith("chat-sse-sender-"));
+    assertTrue(slow.events.size() < 5);
+  }
+
+  @Test
+  @DisplayName("El latido debe llegar a los suscriptores y retirar las conexiones muertas")
+  void sendHeartbeats_shouldPingAndDropDeadConnections() throws InterruptedException {
+    RecordingEmitter alive = new RecordingEmitter(null, false);
+    chatStreamService.register(ROOM, alive);
+    chatStreamService.register(ROOM, new RecordingEmitter(null, true));
+
+    chatStreamService.sendHeartbeats();
+
+    assertTrue(alive.awaitEvents(1).get(0).startsWith(":ping"));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (chatStreamService.subscriberCount(ROOM) > 1 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, chatStreamService.subscriberCount(ROOM));
+  }
+}
@@ -1,17 +1,26 @@
 package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.matches.MatchGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.MatchPageResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.MatchResultUpdateRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleGenerationRequest;
+import com.grupo5.gamehub.api.dtos.matches.ScheduleResponse;
 import com.grupo5.gamehub.api.dtos.matches.TournamentInMatchResponse;
 import com.grupo5.gamehub.api.dtos.matches.UserInMatchResponse;
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
 import com.grupo5.gamehub.domain.entities.Match;
 import com.grupo5.gamehub.domain.entities.Tournament;
 import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.BracketType;
 import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.PairingMode;
 import com.grupo5.gamehub.domain.enums.Result;
 import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.ScheduleFormat;
 import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.MatchPairingView;
+import com.grupo5.gamehub.domain.projections.MatchResponseView;
 import com.grupo5.gamehub.domain.repositories.MatchRepository;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
@@ -19,9 +28,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -46,6 +58,15 @@ class MatchServiceImplTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private StandingsService standingsService;
+
+  @Mock
+  private RankingService rankingService;
+
+  @Mock
+  private RatingService ratingService;
+
   @InjectMocks
   private MatchServiceImpl matchService;
 
@@ -167,9 +188,141 @@ class MatchServiceImplTest {
     verify(tournamentRepository, times(1)).findById(testTournament.getId());
     verify(matchRepository, times(1)).findByTournamentAndRoundNumber(eq(testTournament), eq(request.getRoundNumber()));
     verify(matchRepository, times(1)).saveAll(anyList());
+    verify(rankingService, times(1)).evictTournamentRanking(testTournament.getId());
     verify(tournamentRepository, times(1)).save(testTournament); // Verifica que el estado del torneo se actualizó
   }
 
+  @Test
+  @DisplayName("Debe emparejar por sistema suizo según la clasificación y sin repetir enfrentamientos")
+  void generateMatches_shouldPairBySwissSystem() {
+    testTournament.setPlayers(new ArrayList<>(Arrays.asList(player1, player2, player3, player4)));
+    testTournament.setStatus(TournamentStatus.IN_PROGRESS);
+    MatchGenerationRequest request = new MatchGenerationRequest(2, PairingMode.SWISS);
+
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(matchRepository.findByTournamentAndRoundNumber(eq(testTournament), eq(2))).thenReturn(Collections.emptyList());
+    // Ronda 1: player1 ganó a player3 y player2 ganó a player4
+    when(standingsService.getStandings(testTournament.getId(), null)).thenReturn(Arrays.asList(
+            new PlayerRankingDto(player1.getId(), "player1", 1, 1, 0, 0, 3, 1),
+            new PlayerRankingDto(player2.getId(), "player2", 1, 1, 0, 0, 3, 2),
+            new PlayerRankingDto(player3.getId(), "player3", 1, 0, 1, 0, 0, 3),
+            new PlayerRankingDto(player4.getId(), "player4", 1, 0, 1, 0, 0, 4)));
+    when(matchRepository.findPairingsByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            pairing(player1.getId(), player3.getId()), pairing(player2.getId(), player4.getId())));
+    when(matchRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<MatchResponse> result = matchService.generateMatches(testTournament.getId(), request);
+
+    assertEquals(2, result.size());
+    assertEquals(player1.getId(), result.get(0).getPlayer1().getId());
+    assertEquals(player2.getId(), result.get(0).getPlayer2().getId());
+    assertEquals(player3.getId(), result.get(1).getPlayer1().getId());
+    assertEquals(player4.getId(), result.get(1).getPlayer2().getId());
+    verify(matchRepository, never()).findByTournament(any(Tournament.class));
+  }
+
+  private MatchPairingView pairing(Long player1Id, Long player2Id) {
+    return new MatchPairingView() {
+      public Long getPlayer1Id() { return player1Id; }
+      public Long getPlayer2Id() { return player2Id; }
+    };
+  }
+
+  // --- generateSchedule Tests ---
+
+  @Test
+  @DisplayName("Debe generar el cuadro de eliminación completo sembrado por posición global en una sola inserción")
+  @SuppressWarnings("unchecked")
+  void generateSchedule_shouldPersistSeededBracket() {
+    // Posiciones globales desordenadas respecto al id
+    player1.setRank(3);
+    player2.setRank(1);
+    player3.setRank(null);
+    player4.setRank(2);
+    ArgumentCaptor<List<Match>> saved = ArgumentCaptor.forClass(List.class);
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(matchRepository.existsByTournamentId(testTournament.getId())).thenReturn(false);
+    List<Boolean> linkedWhenInserted = new ArrayList<>();
+    when(matchRepository.saveAll(saved.capture())).thenAnswer(invocation -> {
+      List<Match> batch = invocation.getArgument(0);
+      batch.forEach(m -> linkedWhenInserted.add(m.getNextMatch() != null || m.getLoserNextMatch() != null));
+      return batch;
+    });
+
+    ScheduleResponse response = matchService.generateSchedule(testTournament.getId(),
+            new ScheduleGenerationRequest(ScheduleFormat.SINGLE_ELIMINATION, false));
+
+    assertEquals(3, response.getMatchesCreated());
+    assertEquals(2, response.getRounds());
+    // Se insertan sin enlaces (el lote se puede ordenar y agrupar) y se enlazan tras el flush
+    assertEquals(List.of(false, false, false), linkedWhenInserted);
+    InOrder inOrder = inOrder(matchRepository);
+    inOrder.verify(matchRepository).saveAll(anyList());
+    inOrder.verify(matchRepository).flush();
+    List<Match> matches = saved.getValue();
+    Match last = matches.stream().filter(m -> m.getRoundNumber() == 2).findFirst().orElseThrow();
+    assertEquals(2, last.getRoundNumber());
+    assertNull(last.getPlayer1());
+    assertNull(last.getPlayer2());
+    // Cabezas de serie: player2, player4, player1, player3 (sin posición) -> 1ª vs 4ª y 2ª vs 3ª
+    List<Match> semifinals = matches.stream().filter(m -> m.getRoundNumber() == 1).collect(Collectors.toList());
+    assertEquals(2, semifinals.size());
+    assertTrue(semifinals.stream().anyMatch(m -> m.getPlayer1() == player2 && m.getPlayer2() == player3));
+    assertTrue(semifinals.stream().anyMatch(m -> m.getPlayer1() == player4 && m.getPlayer2() == player1));
+    semifinals.forEach(m -> {
+      assertSame(last, m.getNextMatch());
+      assertEquals(BracketType.WINNERS, m.getBracket());
+    });
+    assertEquals(TournamentStatus.IN_PROGRESS, testTournament.getStatus());
+    verify(matchRepository, times(1)).saveAll(anyList());
+    verify(rankingService, times(1)).evictTournamentRanking(testTournament.getId());
+  }
+
+  @Test
+  @DisplayName("No debe generar el calendario si el torneo ya tiene partidas")
+  void generateSchedule_shouldThrowException_whenMatchesExist() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(matchRepository.existsByTournamentId(testTournament.getId())).thenReturn(true);
+
+    assertThrows(IllegalStateException.class, () -> matchService.generateSchedule(testTournament.getId(),
+            new ScheduleGenerationRequest(ScheduleFormat.ROUND_ROBIN, false)));
+    verify(matchRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  @DisplayName("El ganador de una partida del cuadro debe ocupar su hueco en la siguiente")
+  void updateMatchResult_shouldAdvanceWinnerInBracket() {
+    Match finalMatch = new Match(testTournament, player3, null, 2);
+    finalMatch.setBracket(BracketType.WINNERS);
+    Match semifinal = new Match(testTournament, player1, player2, 1);
+    semifinal.setId(testMatch.getId());
+    semifinal.setBracket(BracketType.WINNERS);
+    semifinal.setNextMatch(finalMatch);
+    semifinal.setNextMatchSlot(2);
+
+    when(matchRepository.findById(semifinal.getId())).thenReturn(Optional.of(semifinal));
+    when(userRepository.findById(player2.getId())).thenReturn(Optional.of(player2));
+    when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    matchService.updateMatchResult(semifinal.getId(), new MatchResultUpdateRequest(player2.getId(), Result.PLAYER2_WINS));
+
+    assertEquals(player3, finalMatch.getPlayer1());
+    assertEquals(player2, finalMatch.getPlayer2());
+    verify(matchRepository).save(finalMatch);
+  }
+
+  @Test
+  @DisplayName("No debe registrar el resultado de una partida del cuadro que aún no tiene rival")
+  void updateMatchResult_shouldThrowException_whenPlayerMissing() {
+    Match waiting = new Match(testTournament, player1, null, 2);
+    waiting.setId(200L);
+    when(matchRepository.findById(waiting.getId())).thenReturn(Optional.of(waiting));
+
+    assertThrows(IllegalStateException.class, () -> matchService.updateMatchResult(waiting.getId(),
+            new MatchResultUpdateRequest(player1.getId(), Result.PLAYER1_WINS)));
+    verify(matchRepository, never()).save(any(Match.class));
+  }
+
   @Test
   @DisplayName("Debe generar partidas exitosamente para un número impar de jugadores (con bye)")
   void generateMatches_shouldGenerateMatchesSuccessfully_oddPlayers() {
@@ -344,12 +497,36 @@ class MatchServiceImplTest {
     verify(tournamentRepository, never()).save(any(Tournament.class));
   }
 
+  // Fila de la consulta de proyección equivalente a la entidad
+  private MatchResponseView responseView(Match match) {
+    return new MatchResponseView() {
+      public Long getId() { return match.getId(); }
+      public Long getTournamentId() { return match.getTournament().getId(); }
+      public String getTournamentName() { return match.getTournament().getName(); }
+      public Long getPlayer1Id() { return match.getPlayer1() != null ? match.getPlayer1().getId() : null; }
+      public String getPlayer1Username() { return match.getPlayer1() != null ? match.getPlayer1().getUsername() : null; }
+      public String getPlayer1Email() { return match.getPlayer1() != null ? match.getPlayer1().getEmail() : null; }
+      public Long getPlayer2Id() { return match.getPlayer2() != null ? match.getPlayer2().getId() : null; }
+      public String getPlayer2Username() { return match.getPlayer2() != null ? match.getPlayer2().getUsername() : null; }
+      public String getPlayer2Email() { return match.getPlayer2() != null ? match.getPlayer2().getEmail() : null; }
+      public Long getWinnerId() { return match.getWinner() != null ? match.getWinner().getId() : null; }
+      public String getWinnerUsername() { return match.getWinner() != null ? match.getWinner().getUsername() : null; }
+      public String getWinnerEmail() { return match.getWinner() != null ? match.getWinner().getEmail() : null; }
+      public Result getResult() { return match.getResult(); }
+      public MatchStatus getStatus() { return match.getStatus(); }
+      public Integer getRoundNumber() { return match.getRoundNumber(); }
+      public BracketType getBracket() { return match.getBracket(); }
+      public Long getNextMatchId() { return match.getNextMatch() != null ? match.getNextMatch().getId() : null; }
+      public Long getLoserNextMatchId() { return match.getLoserNextMatch() != null ? match.getLoserNextMatch().getId() : null; }
+    };
+  }
+
   // --- getMatchById Tests ---
 
   @Test
   @DisplayName("Debe retornar una partida por ID cuando existe")
   void getMatchById_shouldReturnMatch_whenExists() {
-    when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
+    when(matchRepository.findResponseById(testMatch.getId())).thenReturn(Optional.of(responseView(testMatch)));
 
     MatchResponse result = matchService.getMatchById(testMatch.getId());
 
@@ -358,17 +535,18 @@ class MatchServiceImplTest {
     assertEquals(testMatch.getRoundNumber(), result.getRoundNumber());
     assertEquals(testMatch.getPlayer1().getUsername(), result.getPlayer1().getUsername());
     assertEquals(testMatch.getPlayer2().getUsername(), result.getPlayer2().getUsername());
-    verify(matchRepository, times(1)).findById(testMatch.getId());
+    verify(matchRepository, times(1)).findResponseById(testMatch.getId());
+    verify(matchRepository, never()).findById(anyLong());
   }
 
   @Test
   @DisplayName("Debe lanzar IllegalArgumentException al buscar partida por ID que no existe")
   void getMatchById_shouldThrowException_whenDoesNotExist() {
     Long nonExistentMatchId = 9999L;
-    when(matchRepository.findById(nonExistentMatchId)).thenReturn(Optional.empty());
+    when(matchRepository.findResponseById(nonExistentMatchId)).thenReturn(Optional.empty());
 
     assertThrows(IllegalArgumentException.class, () -> matchService.getMatchById(nonExistentMatchId));
-    verify(matchRepository, times(1)).findById(nonExistentMatchId);
+    verify(matchRepository, times(1)).findResponseById(nonExistentMatchId);
   }
 
   // --- updateMatchResult Tests ---
@@ -398,6 +576,11 @@ class MatchServiceImplTest {
     verify(matchRepository, times(1)).findById(matchToUpdate.getId());
     verify(userRepository, times(1)).findById(player1.getId());
     verify(matchRepository, times(1)).save(matchToUpdate);
+    verify(standingsService, times(1)).recordResult(matchToUpdate);
+    verify(ratingService, times(1)).applyResult(matchToUpdate);
+    assertNotNull(matchToUpdate.getCompletedAt());
+    verify(rankingService, times(1)).evictTournamentRanking(testTournament.getId());
+    verify(rankingService, times(1)).globalRanksChanged();
   }
 
   @Test
@@ -585,57 +768,38 @@ class MatchServiceImplTest {
   // --- getMatchesByTournament Tests ---
 
   @Test
-  @DisplayName("Debe retornar una lista de partidas para un torneo existente")
-  void getMatchesByTournament_shouldReturnMatches_whenTournamentExists() {
-    Match match2 = new Match(testTournament, player3, player4, 1);
+  @DisplayName("Debe devolver una página y el cursor de la siguiente a partir de la última fila")
+  void getMatchesByTournament_shouldReturnPageWithNextCursor() {
+    Match match2 = new Match(testTournament, player3, player4, 2);
     match2.setId(101L);
-    match2.setStatus(MatchStatus.PENDING);
-    match2.setResult(Result.PENDING);
-
-    List<Match> matches = Arrays.asList(testMatch, match2);
-
-    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
-    when(matchRepository.findByTournament(testTournament)).thenReturn(matches);
-
-    List<MatchResponse> result = matchService.getMatchesByTournament(testTournament.getId());
-
-    assertNotNull(result);
-    assertEquals(2, result.size());
-    assertEquals(testMatch.getId(), result.get(0).getId());
-    assertEquals(match2.getId(), result.get(1).getId());
-
-    // Verificar que los DTOs internos se mapean correctamente
-    assertEquals(testTournament.getId(), result.get(0).getTournament().getId());
-    assertEquals(player1.getId(), result.get(0).getPlayer1().getId());
-    assertEquals(player2.getId(), result.get(0).getPlayer2().getId());
-
-    verify(tournamentRepository, times(1)).findById(testTournament.getId());
-    verify(matchRepository, times(1)).findByTournament(testTournament);
-  }
-
-  @Test
-  @DisplayName("Debe retornar una lista vacía si el torneo existe pero no tiene partidas")
-  void getMatchesByTournament_shouldReturnEmptyList_whenTournamentHasNoMatches() {
-    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
-    when(matchRepository.findByTournament(testTournament)).thenReturn(Collections.emptyList());
-
-    List<MatchResponse> result = matchService.getMatchesByTournament(testTournament.getId());
-
-    assertNotNull(result);
-    assertTrue(result.isEmpty());
-
-    verify(tournamentRepository, times(1)).findById(testTournament.getId());
-    verify(matchRepository, times(1)).findByTournament(testTournament);
+    Match match3 = new Match(testTournament, player1, player3, 2);
+    match3.setId(102L);
+    when(matchRepository.findResponsePage(testTournament.getId(), 1, 100L, null, MatchStatus.PENDING, null,
+            PageRequest.ofSize(3))).thenReturn(Arrays.asList(responseView(match2), responseView(match3), responseView(testMatch)));
+
+    MatchPageResponse page = matchService.getMatchesByTournament(testTournament.getId(), null, MatchStatus.PENDING,
+            null, "1_100", 2);
+
+    assertEquals(2, page.getMatches().size());
+    assertEquals(match2.getId(), page.getMatches().get(0).getId());
+    assertEquals("2_102", page.getNextCursor());
+    verify(tournamentRepository, never()).existsById(anyLong());
   }
 
   @Test
-  @DisplayName("Debe lanzar IllegalArgumentException si el torneo no se encuentra al buscar partidas")
-  void getMatchesByTournament_shouldThrowException_whenTournamentNotFound() {
-    Long nonExistentTournamentId = 999L;
-    when(tournamentRepository.findById(nonExistentTournamentId)).thenReturn(Optional.empty());
-
-    assertThrows(IllegalArgumentException.class, () -> matchService.getMatchesByTournament(nonExistentTournamentId));
-    verify(tournamentRepository, times(1)).findById(nonExistentTournamentId);
-    verify(matchRepository, never()).findByTournament(any(Tournament.class));
+  @DisplayName("La última página no debe llevar cursor y un torneo inexistente debe lanzar IllegalArgumentException")
+  void getMatchesByTournament_shouldEndPagingAndRejectUnknownTournament() {
+    when(matchRepository.findResponsePage(testTournament.getId(), 0, 0L, 1, null, player1.getId(), PageRequest.ofSize(101)))
+            .thenReturn(Collections.singletonList(responseView(testMatch)));
+    when(matchRepository.findResponsePage(999L, 0, 0L, null, null, null, PageRequest.ofSize(101)))
+            .thenReturn(Collections.emptyList());
+    when(tournamentRepository.existsById(999L)).thenReturn(false);
+
+    MatchPageResponse page = matchService.getMatchesByTournament(testTournament.getId(), 1, null, player1.getId(), null, 100);
+
+    assertEquals(1, page.getMatches().size());
+    assertNull(page.getNextCursor());
+    assertThrows(IllegalArgumentException.class,
+            () -> matchService.getMatchesByTournament(999L, null, null, null, null, 100));
   }
-}
\ No newline at end of file
+}
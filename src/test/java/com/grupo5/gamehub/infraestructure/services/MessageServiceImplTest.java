@@ -13,6 +13,7 @@ import com.grupo5.gamehub.domain.repositories.MatchRepository;
 import com.grupo5.gamehub.domain.repositories.MessageRepository;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,10 +24,12 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -38,6 +41,8 @@ import static org.mockito.Mockito.*;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class MessageServiceImplTest {
 
+  private static final int PAGE = 50;
+
   @Mock
   private MessageRepository messageRepository;
 
@@ -53,6 +58,15 @@ class MessageServiceImplTest {
   @Mock
   private UserService userService;
 
+  @Mock
+  private ChatStreamService chatStreamService;
+
+  @Mock
+  private RecentMessageCache recentMessageCache;
+
+  @Mock
+  private MessageWriteBehind messageWriteBehind;
+
   @InjectMocks
   private MessageServiceImpl messageService;
 
@@ -119,6 +133,25 @@ class MessageServiceImplTest {
     matchMessage = new Message(player1, "Hello Match!", testMatch);
     matchMessage.setId(201L);
     matchMessage.setSentAt(LocalDateTime.now());
+
+    // Los permisos se consultan por id: las respuestas salen del torneo y la partida de prueba
+    when(tournamentRepository.existsById(anyLong())).thenAnswer(inv -> testTournament.getId().equals(inv.getArgument(0)));
+    when(tournamentRepository.isPlayerRegistered(anyLong(), anyLong())).thenAnswer(inv ->
+            testTournament.getId().equals(inv.getArgument(0))
+                    && testTournament.getPlayers().stream().anyMatch(p -> p.getId().equals(inv.getArgument(1))));
+    when(tournamentRepository.getReferenceById(testTournament.getId())).thenReturn(testTournament);
+    when(matchRepository.existsById(anyLong())).thenAnswer(inv -> testMatch.getId().equals(inv.getArgument(0)));
+    when(matchRepository.isMatchPlayer(anyLong(), anyLong())).thenAnswer(inv ->
+            testMatch.getId().equals(inv.getArgument(0))
+                    && (player1.getId().equals(inv.getArgument(1)) || player2.getId().equals(inv.getArgument(1))));
+    when(matchRepository.getReferenceById(testMatch.getId())).thenReturn(testMatch);
+  }
+
+  // Las páginas 'before' del repositorio llegan de la más nueva a la más antigua
+  private static List<Message> newestFirst(List<Message> chronological) {
+    List<Message> messages = new ArrayList<>(chronological);
+    Collections.reverse(messages);
+    return messages;
   }
 
   // Helper para mockear SecurityContextHolder para usuarios AUTENTICADOS
@@ -158,7 +191,6 @@ class MessageServiceImplTest {
     MessageRequest request = new MessageRequest("Test message from player.");
 
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
-    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
 
     when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
       Message msg = invocation.getArgument(0);
@@ -176,8 +208,46 @@ class MessageServiceImplTest {
     assertNotNull(response.getSentAt());
 
     verify(userRepository, times(1)).findById(player1.getId());
-    verify(tournamentRepository, times(1)).findById(testTournament.getId());
+    verify(tournamentRepository, never()).findById(anyLong());
     verify(messageRepository, times(1)).save(any(Message.class));
+    verify(recentMessageCache, times(1)).append(ChatStreamService.tournamentRoom(testTournament.getId()), response);
+    verify(chatStreamService, times(1)).publish(ChatStreamService.tournamentRoom(testTournament.getId()), response);
+  }
+
+  @Test
+  @DisplayName("Con escritura diferida debe confirmar el mensaje con un id de la secuencia sin insertarlo")
+  void sendMessageToTournament_shouldQueueMessage_whenWriteBehindEnabled() {
+    MessageRequest request = new MessageRequest("Queued message.");
+    when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(messageWriteBehind.isEnabled()).thenReturn(true);
+    when(messageWriteBehind.nextId()).thenReturn(500L);
+    when(messageWriteBehind.submit(any(Message.class))).thenReturn(true);
+
+    MessageResponse response = messageService.sendMessageToTournament(testTournament.getId(), player1.getId(), request);
+
+    assertEquals(500L, response.getId());
+    assertNotNull(response.getSentAt());
+    verify(messageWriteBehind).submit(argThat(message -> message.getId().equals(500L)
+            && message.getTournament() == testTournament && message.getSender() == player1));
+    verify(messageRepository, never()).save(any(Message.class));
+    verify(chatStreamService, times(1)).publish(ChatStreamService.tournamentRoom(testTournament.getId()), response);
+  }
+
+  @Test
+  @DisplayName("Con la cola de escritura llena debe guardar el mensaje de forma síncrona")
+  void sendMessageToMatch_shouldSaveSynchronously_whenWriteBehindQueueIsFull() {
+    MessageRequest request = new MessageRequest("Overflow message.");
+    when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(messageWriteBehind.isEnabled()).thenReturn(true);
+    when(messageWriteBehind.nextId()).thenReturn(501L);
+    when(messageWriteBehind.submit(any(Message.class))).thenReturn(false);
+
+    MessageResponse response = messageService.sendMessageToMatch(testMatch.getId(), player1.getId(), request);
+
+    // Conserva el id asignado: uno nuevo quedaría por delante de los mensajes que siguen en la cola
+    assertEquals(501L, response.getId());
+    verify(messageWriteBehind, times(1)).writeNow(argThat(msg -> msg.getId() == 501L));
+    verify(messageRepository, never()).save(any(Message.class));
   }
 
   @Test
@@ -186,7 +256,6 @@ class MessageServiceImplTest {
     MessageRequest request = new MessageRequest("Test message from admin.");
 
     when(userRepository.findById(adminUser.getId())).thenReturn(Optional.of(adminUser));
-    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
     when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
       Message msg = invocation.getArgument(0);
       msg.setId(301L);
@@ -203,7 +272,7 @@ class MessageServiceImplTest {
     assertNotNull(response.getSentAt());
 
     verify(userRepository, times(1)).findById(adminUser.getId());
-    verify(tournamentRepository, times(1)).findById(testTournament.getId());
+    verify(tournamentRepository, never()).findById(anyLong());
     verify(messageRepository, times(1)).save(any(Message.class));
   }
 
@@ -228,11 +297,10 @@ class MessageServiceImplTest {
     Long nonExistentTournamentId = 99L;
 
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
-    when(tournamentRepository.findById(nonExistentTournamentId)).thenReturn(Optional.empty());
 
     assertThrows(IllegalArgumentException.class, () -> messageService.sendMessageToTournament(nonExistentTournamentId, player1.getId(), request));
     verify(userRepository, times(1)).findById(player1.getId());
-    verify(tournamentRepository, times(1)).findById(nonExistentTournamentId);
+    verify(tournamentRepository, times(1)).existsById(nonExistentTournamentId);
     verify(messageRepository, never()).save(any(Message.class));
   }
 
@@ -244,11 +312,10 @@ class MessageServiceImplTest {
     testTournament.setPlayers(new ArrayList<>(Collections.singletonList(player1)));
 
     when(userRepository.findById(nonParticipantUser.getId())).thenReturn(Optional.of(nonParticipantUser));
-    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
 
     assertThrows(IllegalStateException.class, () -> messageService.sendMessageToTournament(testTournament.getId(), nonParticipantUser.getId(), request));
     verify(userRepository, times(1)).findById(nonParticipantUser.getId());
-    verify(tournamentRepository, times(1)).findById(testTournament.getId());
+    verify(tournamentRepository, never()).findById(anyLong());
     verify(messageRepository, never()).save(any(Message.class));
   }
 
@@ -262,10 +329,10 @@ class MessageServiceImplTest {
       messages.get(1).setId(202L);
       messages.get(1).setSentAt(LocalDateTime.now().plusMinutes(1));
 
-      when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
-      when(messageRepository.findByTournamentIdOrderBySentAtAsc(testTournament.getId())).thenReturn(messages);
+      when(messageRepository.findTournamentPageBefore(testTournament.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE)))
+              .thenReturn(newestFirst(messages));
 
-      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId());
+      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE);
 
       assertNotNull(result);
       assertEquals(2, result.size());
@@ -273,8 +340,8 @@ class MessageServiceImplTest {
       assertEquals(player1.getId(), result.get(0).getSender().getId());
       assertEquals(player2.getId(), result.get(1).getSender().getId());
 
-      verify(tournamentRepository, times(1)).findById(testTournament.getId());
-      verify(messageRepository, times(1)).findByTournamentIdOrderBySentAtAsc(testTournament.getId());
+      verify(tournamentRepository, never()).findById(anyLong());
+      verify(messageRepository, times(1)).findTournamentPageBefore(testTournament.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE));
     }
   }
 
@@ -284,17 +351,17 @@ class MessageServiceImplTest {
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(adminUser.getId(), adminUser.getUsername(), adminUser.getRole())) {
       List<Message> messages = Arrays.asList(tournamentMessage);
 
-      when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
-      when(messageRepository.findByTournamentIdOrderBySentAtAsc(testTournament.getId())).thenReturn(messages);
+      when(messageRepository.findTournamentPageBefore(testTournament.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE)))
+              .thenReturn(newestFirst(messages));
 
-      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId());
+      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE);
 
       assertNotNull(result);
       assertEquals(1, result.size());
       assertEquals(tournamentMessage.getId(), result.get(0).getId());
 
-      verify(tournamentRepository, times(1)).findById(testTournament.getId());
-      verify(messageRepository, times(1)).findByTournamentIdOrderBySentAtAsc(testTournament.getId());
+      verify(tournamentRepository, never()).findById(anyLong());
+      verify(messageRepository, times(1)).findTournamentPageBefore(testTournament.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE));
     }
   }
 
@@ -303,11 +370,10 @@ class MessageServiceImplTest {
   void getTournamentMessages_shouldThrowException_whenTournamentNotFound() {
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
       Long nonExistentTournamentId = 99L;
-      when(tournamentRepository.findById(nonExistentTournamentId)).thenReturn(Optional.empty());
 
-      assertThrows(IllegalArgumentException.class, () -> messageService.getTournamentMessages(nonExistentTournamentId));
-      verify(tournamentRepository, times(1)).findById(nonExistentTournamentId);
-      verify(messageRepository, never()).findByTournamentIdOrderBySentAtAsc(anyLong());
+      assertThrows(IllegalArgumentException.class, () -> messageService.getTournamentMessages(nonExistentTournamentId, null, null, PAGE));
+      verify(tournamentRepository, times(1)).existsById(nonExistentTournamentId);
+      verify(messageRepository, never()).findTournamentPageBefore(anyLong(), anyLong(), any());
     }
   }
 
@@ -317,11 +383,10 @@ class MessageServiceImplTest {
     testTournament.setPlayers(new ArrayList<>(Collections.singletonList(player1))); // Solo player1 es participante
 
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(nonParticipantUser.getId(), nonParticipantUser.getUsername(), nonParticipantUser.getRole())) {
-      when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
 
-      assertThrows(IllegalStateException.class, () -> messageService.getTournamentMessages(testTournament.getId()));
-      verify(tournamentRepository, times(1)).findById(testTournament.getId());
-      verify(messageRepository, never()).findByTournamentIdOrderBySentAtAsc(anyLong());
+      assertThrows(IllegalStateException.class, () -> messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE));
+      verify(tournamentRepository, never()).findById(anyLong());
+      verify(messageRepository, never()).findTournamentPageBefore(anyLong(), anyLong(), any());
     }
   }
 
@@ -335,12 +400,117 @@ class MessageServiceImplTest {
 
       when(userService.getUserIdByUsername(username)).thenReturn(nonExistentUserId);
       when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty()); // ESTO ES CLAVE: No se encuentra el usuario
-      assertThrows(IllegalStateException.class, () -> messageService.getTournamentMessages(testTournament.getId()));
+      assertThrows(IllegalStateException.class, () -> messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE));
       verify(userRepository, times(1)).findById(nonExistentUserId);
       verify(tournamentRepository, never()).findById(anyLong());
 
-      verify(messageRepository, never()).findByTournamentIdOrderBySentAtAsc(anyLong());
+      verify(messageRepository, never()).findTournamentPageBefore(anyLong(), anyLong(), any());
+
+    }
+  }
+
+  @Test
+  @DisplayName("Debe servir los últimos mensajes del torneo desde memoria sin consultar la base de datos")
+  void getTournamentMessages_shouldServeLatestFromRecentCache() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
+      MessageResponse cached = new MessageResponse(tournamentMessage.getId(), null, tournamentMessage.getContent(),
+              tournamentMessage.getSentAt());
+      when(recentMessageCache.latest(ChatStreamService.tournamentRoom(testTournament.getId()), PAGE))
+              .thenReturn(Optional.of(List.of(cached)));
+
+      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE);
 
+      assertEquals(List.of(cached), result);
+      verify(messageRepository, never()).findTournamentPageBefore(anyLong(), anyLong(), any());
+    }
+  }
+
+  @Test
+  @DisplayName("Si la sala no está en memoria debe leer una sala completa, cargarla y devolver solo lo pedido")
+  void getTournamentMessages_shouldWarmRecentCacheOnMiss() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
+      Message older = new Message(player2, "Older msg", testTournament);
+      older.setId(150L);
+      older.setSentAt(LocalDateTime.now().minusMinutes(5));
+      String room = ChatStreamService.tournamentRoom(testTournament.getId());
+
+      when(recentMessageCache.roomCapacity()).thenReturn(100);
+      when(messageRepository.findTournamentPageBefore(testTournament.getId(), Long.MAX_VALUE, PageRequest.ofSize(100)))
+              .thenReturn(List.of(tournamentMessage, older));
+
+      List<MessageResponse> result = messageService.getTournamentMessages(testTournament.getId(), null, null, 1);
+
+      assertEquals(1, result.size());
+      assertEquals(tournamentMessage.getId(), result.get(0).getId());
+      verify(recentMessageCache).warm(eq(room), argThat(messages -> messages.size() == 2
+              && messages.get(0).getId().equals(150L) && messages.get(1).getId().equals(tournamentMessage.getId())));
+    }
+  }
+
+  @Test
+  @DisplayName("Con el principal de la aplicación no debe volver a buscar al usuario ni cargar el torneo")
+  void getTournamentMessages_shouldUsePrincipalIdAndMembershipQuery() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockStatic(SecurityContextHolder.class)) {
+      SecurityContext securityContext = mock(SecurityContext.class);
+      Authentication authentication = mock(Authentication.class);
+      mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+      when(securityContext.getAuthentication()).thenReturn(authentication);
+      when(authentication.isAuthenticated()).thenReturn(true);
+      when(authentication.getPrincipal()).thenReturn(
+              new AuthenticatedUser(player2.getId(), player2.getUsername(), "", player2.getRole()));
+
+      messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE);
+
+      verify(tournamentRepository, times(1)).isPlayerRegistered(testTournament.getId(), player2.getId());
+      verify(tournamentRepository, never()).existsById(anyLong());
+      verifyNoInteractions(userService, userRepository);
+    }
+  }
+
+  @Test
+  @DisplayName("Debe pedir los mensajes anteriores o posteriores al cursor indicado")
+  void getTournamentMessages_shouldUseCursors() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
+      Message older = new Message(player2, "Older msg", testTournament);
+      older.setId(90L);
+      older.setSentAt(LocalDateTime.now().minusMinutes(5));
+      Message oldest = new Message(player1, "Oldest msg", testTournament);
+      oldest.setId(80L);
+      oldest.setSentAt(LocalDateTime.now().minusMinutes(10));
+
+      when(messageRepository.findTournamentPageBefore(testTournament.getId(), 101L, PageRequest.ofSize(2)))
+              .thenReturn(List.of(older, oldest));
+      when(messageRepository.findTournamentPageAfter(testTournament.getId(), 80L, PageRequest.ofSize(2)))
+              .thenReturn(List.of(older, tournamentMessage));
+
+      List<MessageResponse> before = messageService.getTournamentMessages(testTournament.getId(), 101L, null, 2);
+      assertEquals(List.of(80L, 90L), before.stream().map(MessageResponse::getId).toList());
+
+      List<MessageResponse> after = messageService.getTournamentMessages(testTournament.getId(), null, 80L, 2);
+      assertEquals(List.of(90L, tournamentMessage.getId()), after.stream().map(MessageResponse::getId).toList());
+    }
+  }
+
+  @Test
+  @DisplayName("Con escritura diferida, las páginas 'after' no deben pasar del último id ya escrito")
+  void getTournamentMessages_shouldStopAfterPageAtWrittenUpTo_whenWriteBehindEnabled() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
+      Message older = new Message(player2, "Older msg", testTournament);
+      older.setId(90L);
+      older.setSentAt(LocalDateTime.now().minusMinutes(5));
+      Message newer = new Message(player2, "Newer msg", testTournament);
+      newer.setId(210L);
+      newer.setSentAt(LocalDateTime.now());
+
+      // El 200 está guardado pero el 205 sigue en la cola: el 210 no puede salir todavía
+      when(messageWriteBehind.isEnabled()).thenReturn(true);
+      when(messageWriteBehind.writtenUpTo()).thenReturn(204L);
+      when(messageRepository.findTournamentPageAfter(testTournament.getId(), 80L, PageRequest.ofSize(3)))
+              .thenReturn(List.of(older, tournamentMessage, newer));
+
+      List<MessageResponse> after = messageService.getTournamentMessages(testTournament.getId(), null, 80L, 3);
+
+      assertEquals(List.of(90L, 200L), after.stream().map(MessageResponse::getId).toList());
     }
   }
 
@@ -352,7 +522,6 @@ class MessageServiceImplTest {
     MessageRequest request = new MessageRequest("Test message from player in match.");
 
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
-    when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
     when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
       Message msg = invocation.getArgument(0);
       msg.setId(400L);
@@ -369,7 +538,7 @@ class MessageServiceImplTest {
     assertNotNull(response.getSentAt());
 
     verify(userRepository, times(1)).findById(player1.getId());
-    verify(matchRepository, times(1)).findById(testMatch.getId());
+    verify(matchRepository, never()).findById(anyLong());
     verify(messageRepository, times(1)).save(any(Message.class));
   }
 
@@ -379,7 +548,6 @@ class MessageServiceImplTest {
     MessageRequest request = new MessageRequest("Test message from admin in match.");
 
     when(userRepository.findById(adminUser.getId())).thenReturn(Optional.of(adminUser));
-    when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
     when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
       Message msg = invocation.getArgument(0);
       msg.setId(401L);
@@ -396,7 +564,7 @@ class MessageServiceImplTest {
     assertNotNull(response.getSentAt());
 
     verify(userRepository, times(1)).findById(adminUser.getId());
-    verify(matchRepository, times(1)).findById(testMatch.getId());
+    verify(matchRepository, never()).findById(anyLong());
     verify(messageRepository, times(1)).save(any(Message.class));
   }
 
@@ -421,11 +589,10 @@ class MessageServiceImplTest {
     Long nonExistentMatchId = 99L;
 
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
-    when(matchRepository.findById(nonExistentMatchId)).thenReturn(Optional.empty());
 
     assertThrows(IllegalArgumentException.class, () -> messageService.sendMessageToMatch(nonExistentMatchId, player1.getId(), request));
     verify(userRepository, times(1)).findById(player1.getId());
-    verify(matchRepository, times(1)).findById(nonExistentMatchId);
+    verify(matchRepository, times(1)).existsById(nonExistentMatchId);
     verify(messageRepository, never()).save(any(Message.class));
   }
 
@@ -435,11 +602,10 @@ class MessageServiceImplTest {
     MessageRequest request = new MessageRequest("Test message.");
 
     when(userRepository.findById(nonParticipantUser.getId())).thenReturn(Optional.of(nonParticipantUser));
-    when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
 
     assertThrows(IllegalStateException.class, () -> messageService.sendMessageToMatch(testMatch.getId(), nonParticipantUser.getId(), request));
     verify(userRepository, times(1)).findById(nonParticipantUser.getId());
-    verify(matchRepository, times(1)).findById(testMatch.getId());
+    verify(matchRepository, never()).findById(anyLong());
     verify(messageRepository, never()).save(any(Message.class));
   }
 
@@ -453,10 +619,10 @@ class MessageServiceImplTest {
       messages.get(1).setId(402L);
       messages.get(1).setSentAt(LocalDateTime.now().plusMinutes(1));
 
-      when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
-      when(messageRepository.findByMatchIdOrderBySentAtAsc(testMatch.getId())).thenReturn(messages);
+      when(messageRepository.findMatchPageBefore(testMatch.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE)))
+              .thenReturn(newestFirst(messages));
 
-      List<MessageResponse> result = messageService.getMatchMessages(testMatch.getId());
+      List<MessageResponse> result = messageService.getMatchMessages(testMatch.getId(), null, null, PAGE);
 
       assertNotNull(result);
       assertEquals(2, result.size());
@@ -464,8 +630,8 @@ class MessageServiceImplTest {
       assertEquals(player1.getId(), result.get(0).getSender().getId());
       assertEquals(player2.getId(), result.get(1).getSender().getId());
 
-      verify(matchRepository, times(1)).findById(testMatch.getId());
-      verify(messageRepository, times(1)).findByMatchIdOrderBySentAtAsc(testMatch.getId());
+      verify(matchRepository, never()).findById(anyLong());
+      verify(messageRepository, times(1)).findMatchPageBefore(testMatch.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE));
     }
   }
 
@@ -475,17 +641,17 @@ class MessageServiceImplTest {
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(adminUser.getId(), adminUser.getUsername(), adminUser.getRole())) {
       List<Message> messages = Arrays.asList(matchMessage);
 
-      when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
-      when(messageRepository.findByMatchIdOrderBySentAtAsc(testMatch.getId())).thenReturn(messages);
+      when(messageRepository.findMatchPageBefore(testMatch.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE)))
+              .thenReturn(newestFirst(messages));
 
-      List<MessageResponse> result = messageService.getMatchMessages(testMatch.getId());
+      List<MessageResponse> result = messageService.getMatchMessages(testMatch.getId(), null, null, PAGE);
 
       assertNotNull(result);
       assertEquals(1, result.size());
       assertEquals(matchMessage.getId(), result.get(0).getId());
 
-      verify(matchRepository, times(1)).findById(testMatch.getId());
-      verify(messageRepository, times(1)).findByMatchIdOrderBySentAtAsc(testMatch.getId());
+      verify(matchRepository, never()).findById(anyLong());
+      verify(messageRepository, times(1)).findMatchPageBefore(testMatch.getId(), Long.MAX_VALUE, PageRequest.ofSize(PAGE));
     }
   }
 
@@ -494,11 +660,10 @@ class MessageServiceImplTest {
   void getMatchMessages_shouldThrowException_whenMatchNotFound() {
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
       Long nonExistentMatchId = 99L;
-      when(matchRepository.findById(nonExistentMatchId)).thenReturn(Optional.empty());
 
-      assertThrows(IllegalArgumentException.class, () -> messageService.getMatchMessages(nonExistentMatchId));
-      verify(matchRepository, times(1)).findById(nonExistentMatchId);
-      verify(messageRepository, never()).findByMatchIdOrderBySentAtAsc(anyLong());
+      assertThrows(IllegalArgumentException.class, () -> messageService.getMatchMessages(nonExistentMatchId, null, null, PAGE));
+      verify(matchRepository, times(1)).existsById(nonExistentMatchId);
+      verify(messageRepository, never()).findMatchPageBefore(anyLong(), anyLong(), any());
     }
   }
 
@@ -506,11 +671,10 @@ class MessageServiceImplTest {
   @DisplayName("Debe lanzar IllegalStateException si el usuario autenticado no es jugador de la partida ni ADMIN al obtener mensajes de partida")
   void getMatchMessages_shouldThrowException_whenUserNotMatchPlayerOrAdmin() {
     try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(nonParticipantUser.getId(), nonParticipantUser.getUsername(), nonParticipantUser.getRole())) {
-      when(matchRepository.findById(testMatch.getId())).thenReturn(Optional.of(testMatch));
 
-      assertThrows(IllegalStateException.class, () -> messageService.getMatchMessages(testMatch.getId()));
-      verify(matchRepository, times(1)).findById(testMatch.getId());
-      verify(messageRepository, never()).findByMatchIdOrderBySentAtAsc(anyLong());
+      assertThrows(IllegalStateException.class, () -> messageService.getMatchMessages(testMatch.getId(), null, null, PAGE));
+      verify(matchRepository, never()).findById(anyLong());
+      verify(messageRepository, never()).findMatchPageBefore(anyLong(), anyLong(), any());
     }
   }
 
@@ -524,9 +688,9 @@ class MessageServiceImplTest {
 
       when(userService.getUserIdByUsername(username)).thenReturn(nonExistentUserId);
       when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
-      assertThrows(IllegalStateException.class, () -> messageService.getMatchMessages(testMatch.getId()));
+      assertThrows(IllegalStateException.class, () -> messageService.getMatchMessages(testMatch.getId(), null, null, PAGE));
       verify(userRepository, times(1)).findById(nonExistentUserId);
-      verify(messageRepository, never()).findByMatchIdOrderBySentAtAsc(anyLong());
+      verify(messageRepository, never()).findMatchPageBefore(anyLong(), anyLong(), any());
     }
   }
 
@@ -542,7 +706,7 @@ class MessageServiceImplTest {
       when(authentication.getPrincipal()).thenReturn("anonymousUser");
 
       IllegalStateException tournamentException = assertThrows(IllegalStateException.class,
-              () -> messageService.getTournamentMessages(testTournament.getId()),
+              () -> messageService.getTournamentMessages(testTournament.getId(), null, null, PAGE),
               "Debe lanzar IllegalStateException para mensajes de torneo cuando no hay usuario autenticado.");
 
       assertEquals("Usuario no autenticado.", tournamentException.getMessage(),
@@ -553,7 +717,7 @@ class MessageServiceImplTest {
 
       // --- Prueba para getMatchMessages ---
       IllegalStateException matchException = assertThrows(IllegalStateException.class,
-              () -> messageService.getMatchMessages(testMatch.getId()),
+              () -> messageService.getMatchMessages(testMatch.getId(), null, null, PAGE),
               "Debe lanzar IllegalStateException para mensajes de partida cuando no hay usuario autenticado.");
       assertEquals("Usuario no autenticado.", matchException.getMessage(),
               "El mensaje de la excepción de partida no autenticada debe ser 'Usuario no autenticado.'.");
@@ -561,4 +725,42 @@ class MessageServiceImplTest {
 
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Debe pedir los mensajes de la partida posteriores al cursor indicado")
+  void getMatchMessages_shouldUseAfterCursor() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player2.getId(), player2.getUsername(), player2.getRole())) {
+      when(messageRepository.findMatchPageAfter(testMatch.getId(), 150L, PageRequest.ofSize(PAGE)))
+              .thenReturn(List.of(matchMessage));
+
+      List<MessageResponse> result = messageService.getMatchMessages(testMatch.getId(), null, 150L, PAGE);
+
+      assertEquals(1, result.size());
+      assertEquals(matchMessage.getId(), result.get(0).getId());
+      verify(messageRepository, never()).findMatchPageBefore(anyLong(), anyLong(), any());
+    }
+  }
+
+  // --- Suscripciones en vivo ---
+  @Test
+  @DisplayName("Debe abrir la suscripción al chat del torneo para un participante")
+  void subscribeToTournamentMessages_shouldSubscribe_forParticipant() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(player1.getId(), player1.getUsername(), player1.getRole())) {
+      SseEmitter emitter = new SseEmitter();
+      when(chatStreamService.subscribe(ChatStreamService.tournamentRoom(testTournament.getId()))).thenReturn(emitter);
+
+      assertSame(emitter, messageService.subscribeToTournamentMessages(testTournament.getId()));
+      verify(messageRepository, never()).findTournamentPageBefore(anyLong(), anyLong(), any());
+    }
+  }
+
+  @Test
+  @DisplayName("No debe abrir la suscripción al chat de la partida a quien no juega en ella")
+  void subscribeToMatchMessages_shouldThrowException_whenNotMatchPlayer() {
+    try (MockedStatic<SecurityContextHolder> mockedStatic = mockSecurityContext(nonParticipantUser.getId(), nonParticipantUser.getUsername(), nonParticipantUser.getRole())) {
+
+      assertThrows(IllegalStateException.class, () -> messageService.subscribeToMatchMessages(testMatch.getId()));
+      verify(chatStreamService, never()).subscribe(anyString());
+    }
+  }
+}
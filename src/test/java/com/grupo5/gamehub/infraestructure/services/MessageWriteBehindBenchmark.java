@@ -0,0 +1,91 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.domain.entities.Message;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.repositories.JpaTestConfig;
+import com.grupo5.gamehub.domain.repositories.MessageRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Guardado síncrono (una transacción y un INSERT por mensaje, como en sendMessageToTournament) frente a la
+ * escritura diferida, sobre H2 en memoria: tiempo hasta confirmar todos los mensajes y tiempo hasta tenerlos en
+ * la base de datos.
+ *
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.grupo5.gamehub.infraestructure.services.MessageWriteBehindBenchmark [mensajes=5000]
+ */
+public class MessageWriteBehindBenchmark {
+
+  public static void main(String[] args) throws InterruptedException {
+    int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+    try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JpaTestConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                    "spring.datasource.url=jdbc:h2:mem:message-write-behind-benchmark;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.jpa.hibernate.ddl-auto=create-drop",
+                    "spring.sql.init.mode=never")
+            .run()) {
+      UserRepository userRepository = context.getBean(UserRepository.class);
+      TournamentRepository tournamentRepository = context.getBean(TournamentRepository.class);
+      MessageRepository messageRepository = context.getBean(MessageRepository.class);
+      PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+      User sender = new User();
+      sender.setUsername("player");
+      sender.setEmail("player@example.com");
+      sender.setPassword("pass");
+      sender.setRole(Role.PLAYER);
+      sender = userRepository.save(sender);
+      Tournament tournament = tournamentRepository.save(
+              new Tournament("Copa", TournamentStatus.IN_PROGRESS, 8, LocalDateTime.now(), sender));
+
+      TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+      long start = System.nanoTime();
+      for (int i = 0; i < messages; i++) {
+        Message message = new Message(sender, "sync" + i, tournament);
+        transactionTemplate.executeWithoutResult(status -> messageRepository.save(message));
+      }
+      long synchronousMs = (System.nanoTime() - start) / 1_000_000;
+
+      MessageWriteBehindImpl writer = new MessageWriteBehindImpl(context.getBean(JdbcTemplate.class),
+              transactionManager, context.getBean(EntityManagerFactory.class), true, messages, 50);
+      int rejected = 0;
+      start = System.nanoTime();
+      for (int i = 0; i < messages; i++) {
+        Message message = new Message(sender, "msg" + i, tournament);
+        message.setId(writer.nextId());
+        message.setSentAt(LocalDateTime.now());
+        if (!writer.submit(message)) {
+          rejected++;
+        }
+      }
+      long acceptedMs = (System.nanoTime() - start) / 1_000_000;
+      while (writer.pendingCount() > 0) {
+        Thread.sleep(5);
+      }
+      long persistedMs = (System.nanoTime() - start) / 1_000_000;
+      writer.shutdown();
+
+      System.out.printf("%d mensajes: síncrono %d ms; escritura diferida %d ms hasta confirmar, %d ms hasta guardar"
+              + " (%d rechazados)%n", messages, synchronousMs, acceptedMs, persistedMs, rejected);
+    }
+  }
+}
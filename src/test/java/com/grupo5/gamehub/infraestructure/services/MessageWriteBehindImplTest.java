@@ -0,0 +1,237 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.domain.entities.Message;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.repositories.JpaTestConfig;
+import com.grupo5.gamehub.domain.repositories.MessageRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Escritura diferida sobre H2, sin transacción de test para que el escritor vea los datos confirmados.
+ * La comparación de tiempos con el guardado síncrono está en MessageWriteBehindBenchmark.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource(locations = "classpath:jpa-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:message-write-behind;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MessageWriteBehindImplTest {
+
+  private static final int MESSAGES = 500;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private MessageRepository messageRepository;
+
+  private User sender;
+  private Tournament tournament;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update("delete from messages");
+    tournamentRepository.deleteAll();
+    userRepository.deleteAll();
+
+    sender = new User();
+    sender.setUsername("player");
+    sender.setEmail("player@example.com");
+    sender.setPassword("pass");
+    sender.setRole(Role.PLAYER);
+    sender = userRepository.save(sender);
+    tournament = tournamentRepository.save(
+            new Tournament("Copa", TournamentStatus.IN_PROGRESS, 8, LocalDateTime.now(), sender));
+  }
+
+  private MessageWriteBehindImpl newWriter(int queueCapacity) {
+    return new MessageWriteBehindImpl(jdbcTemplate, transactionManager, entityManagerFactory, true, queueCapacity, 50);
+  }
+
+  private Message queued(MessageWriteBehindImpl writer, int index) {
+    Message message = new Message(sender, "msg" + index, tournament);
+    message.setId(writer.nextId());
+    message.setSentAt(LocalDateTime.now());
+    return message;
+  }
+
+  private long storedMessages() {
+    return jdbcTemplate.queryForObject("select count(*) from messages", Long.class);
+  }
+
+  @Test
+  @DisplayName("Al cerrar debe escribir todos los mensajes aceptados y rechazar los nuevos")
+  void shutdown_shouldFlushAcceptedMessages() throws InterruptedException {
+    MessageWriteBehindImpl writer = newWriter(MESSAGES);
+    Set<Long> ids = new HashSet<>();
+    for (int i = 0; i < MESSAGES; i++) {
+      Message message = queued(writer, i);
+      assertTrue(ids.add(message.getId()));
+      assertTrue(writer.submit(message));
+    }
+
+    writer.shutdown();
+
+    assertEquals(0, writer.pendingCount());
+    assertEquals(MESSAGES, storedMessages());
+    assertFalse(writer.submit(queued(writer, MESSAGES)));
+    // Los ids salen de la misma secuencia que usa Hibernate: un guardado normal no choca con ellos
+    Message saved = messageRepository.save(new Message(sender, "sync", tournament));
+    assertFalse(ids.contains(saved.getId()));
+  }
+
+  @Test
+  @DisplayName("El límite de lectura no debe pasar de un id asignado que aún no está escrito")
+  void writtenUpTo_shouldStayBelowUnwrittenIds() throws InterruptedException {
+    MessageWriteBehindImpl writer = newWriter(10);
+    Message first = queued(writer, 0);
+    Message second = queued(writer, 1);
+    assertEquals(first.getId() - 1, writer.writtenUpTo());
+
+    // El segundo llega a la base de datos antes que el primero, como cuando el primero cae en el guardado síncrono
+    assertTrue(writer.submit(second));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (storedMessages() < 1 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, storedMessages());
+    assertEquals(first.getId() - 1, writer.writtenUpTo());
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      writer.writeNow(first);
+      assertEquals(first.getId() - 1, writer.writtenUpTo());
+    });
+    assertEquals(second.getId(), writer.writtenUpTo());
+    assertEquals(2, storedMessages());
+
+    // Un id asignado después de leer el límite queda por encima de él
+    assertTrue(queued(writer, 2).getId() > writer.writtenUpTo());
+    writer.shutdown();
+  }
+
+  @Test
+  @DisplayName("La escritura diferida debe guardar todos los mensajes junto a los guardados síncronos")
+  void writeBehind_shouldPersistEverythingAlongsideSynchronousSaves() throws InterruptedException {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    for (int i = 0; i < MESSAGES; i++) {
+      Message message = new Message(sender, "sync" + i, tournament);
+      transactionTemplate.executeWithoutResult(status -> messageRepository.save(message));
+    }
+
+    MessageWriteBehindImpl writer = newWriter(MESSAGES);
+    for (int i = 0; i < MESSAGES; i++) {
+      assertTrue(writer.submit(queued(writer, i)));
+    }
+    writer.shutdown();
+
+    assertEquals(0, writer.pendingCount());
+    assertEquals(2L * MESSAGES, storedMessages());
+  }
+
+  @Test
+  @DisplayName("Si la base de datos no responde, debe reintentar sin descartar mensajes")
+  void write_shouldKeepRetrying_whileDatabaseIsDown() throws InterruptedException {
+    AtomicBoolean down = new AtomicBoolean(true);
+    AtomicInteger failures = new AtomicInteger();
+    JdbcTemplate failingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+      @Override
+      public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                     ParameterizedPreparedStatementSetter<T> pss) {
+        if (down.get()) {
+          failures.incrementAndGet();
+          throw new CannotGetJdbcConnectionException("Base de datos caída");
+        }
+        return super.batchUpdate(sql, batchArgs, batchSize, pss);
+      }
+    };
+    MessageWriteBehindImpl writer = new MessageWriteBehindImpl(
+            failingJdbcTemplate, transactionManager, entityManagerFactory, true, 100, 50);
+    int accepted = 0;
+    while (writer.submit(queued(writer, accepted))) {
+      accepted++;
+    }
+    // El escritor tiene un lote en reintento y la cola llena; en MessageService el rechazo va a la vía síncrona
+    assertTrue(accepted >= 100 && accepted <= 150);
+
+    // Más de lo que duraban los tres intentos y el paso fila a fila de antes
+    Thread.sleep(1_000);
+    assertFalse(writer.submit(queued(writer, accepted)));
+    assertEquals(accepted, writer.pendingCount());
+    assertEquals(0, storedMessages());
+    assertTrue(failures.get() > 3);
+
+    down.set(false);
+    writer.shutdown();
+
+    assertEquals(0, writer.pendingCount());
+    assertEquals(accepted, storedMessages());
+  }
+
+  @Test
+  @DisplayName("Debe descartar solo el mensaje cuya fila no es válida y guardar el resto del lote")
+  void write_shouldDiscardOnlyInvalidRows() throws InterruptedException {
+    MessageWriteBehindImpl writer = newWriter(10);
+    Tournament deleted = new Tournament("Borrado", TournamentStatus.IN_PROGRESS, 8, LocalDateTime.now(), sender);
+    deleted.setId(tournament.getId() + 1_000);
+    Message orphan = new Message(sender, "huérfano", deleted);
+    orphan.setId(writer.nextId());
+    orphan.setSentAt(LocalDateTime.now());
+
+    Message last = queued(writer, 1);
+    assertTrue(writer.submit(queued(writer, 0)));
+    assertTrue(writer.submit(orphan));
+    assertTrue(writer.submit(last));
+    writer.shutdown();
+
+    assertEquals(0, writer.pendingCount());
+    assertEquals(2, storedMessages());
+    // El descartado tampoco retiene el cursor de las lecturas 'after'
+    assertTrue(writer.writtenUpTo() >= last.getId());
+  }
+}
@@ -0,0 +1,172 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
+import com.grupo5.gamehub.api.dtos.ranking.RankingSnapshot;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.PlayerRankView;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceImplTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private StandingsService standingsService;
+
+  private RankingServiceImpl rankingService;
+
+  private Tournament testTournament;
+  private List<PlayerRankingDto> standings;
+
+  @BeforeEach
+  void setUp() {
+    rankingService = new RankingServiceImpl(tournamentRepository, userRepository, standingsService, 100);
+
+    testTournament = new Tournament();
+    testTournament.setId(10L);
+    testTournament.setName("Test Tournament");
+    testTournament.setStatus(TournamentStatus.IN_PROGRESS);
+
+    standings = Arrays.asList(
+            new PlayerRankingDto(2L, "player1", 2, 2, 0, 0, 6, null),
+            new PlayerRankingDto(3L, "player2", 2, 1, 1, 0, 3, null),
+            new PlayerRankingDto(4L, "player3", 2, 0, 2, 0, 0, null));
+  }
+
+  private static PlayerRankView rank(Long id, Integer rank) {
+    return new PlayerRankView() {
+      public Long getId() { return id; }
+      public Integer getRank() { return rank; }
+    };
+  }
+
+  @Test
+  @DisplayName("Debe servir el ranking desde caché tras la primera consulta")
+  void getTournamentRankingSnapshot_shouldCacheResponse() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(standingsService.getStandings(testTournament.getId(), null)).thenReturn(standings);
+
+    RankingSnapshot first = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    RankingSnapshot second = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+
+    assertEquals(3, second.getRanking().getRanking().size());
+    assertEquals(first.getEtag(), second.getEtag());
+    assertTrue(first.getEtag().startsWith("\"") && first.getEtag().endsWith("\""));
+    verify(tournamentRepository, times(1)).findById(testTournament.getId());
+    verify(standingsService, times(1)).getStandings(testTournament.getId(), null);
+  }
+
+  @Test
+  @DisplayName("Debe recortar el ranking en caché con un ETag distinto por 'limit'")
+  void getTournamentRankingSnapshot_shouldApplyLimitOnCachedRanking() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(standingsService.getStandings(testTournament.getId(), null)).thenReturn(standings);
+
+    RankingSnapshot full = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    RankingSnapshot top = rankingService.getTournamentRankingSnapshot(testTournament.getId(), 1);
+    RankingSnapshot beyondSize = rankingService.getTournamentRankingSnapshot(testTournament.getId(), 10);
+
+    assertEquals(1, top.getRanking().getRanking().size());
+    assertEquals(2L, top.getRanking().getRanking().get(0).getUserId());
+    assertNotEquals(full.getEtag(), top.getEtag());
+    assertEquals(full.getEtag(), beyondSize.getEtag());
+    verify(standingsService, times(1)).getStandings(testTournament.getId(), null);
+  }
+
+  @Test
+  @DisplayName("Debe volver a cargar el ranking tras invalidarlo y cambiar el ETag si cambia el contenido")
+  void evictTournamentRanking_shouldReloadAndChangeETag() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(standingsService.getStandings(testTournament.getId(), null))
+            .thenReturn(standings)
+            .thenReturn(Collections.singletonList(new PlayerRankingDto(2L, "player1", 3, 3, 0, 0, 9, 1)));
+
+    RankingSnapshot before = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    rankingService.evictTournamentRanking(testTournament.getId());
+    RankingSnapshot after = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+
+    assertNotEquals(before.getEtag(), after.getEtag());
+    assertEquals(9, after.getRanking().getRanking().get(0).getTotalPoints());
+    verify(standingsService, times(2)).getStandings(testTournament.getId(), null);
+  }
+
+  @Test
+  @DisplayName("Debe lanzar IllegalArgumentException si el torneo no existe y no cachear nada")
+  void getTournamentRankingSnapshot_shouldThrowException_whenTournamentNotFound() {
+    when(tournamentRepository.findById(999L)).thenReturn(Optional.empty());
+
+    assertThrows(IllegalArgumentException.class, () -> rankingService.getTournamentRankingSnapshot(999L, null));
+    assertThrows(IllegalArgumentException.class, () -> rankingService.getTournamentRanking(999L));
+    verify(tournamentRepository, times(2)).findById(999L);
+    verifyNoInteractions(standingsService);
+  }
+
+  @Test
+  @DisplayName("Una carga invalidada mientras se ejecuta no debe quedar en caché")
+  void evictTournamentRanking_shouldDiscardLoadInProgress() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(standingsService.getStandings(testTournament.getId(), null))
+            .thenAnswer(invocation -> {
+              // Un resultado se confirma mientras se lee la clasificación antigua
+              rankingService.evictTournamentRanking(testTournament.getId());
+              return standings;
+            })
+            .thenReturn(Collections.singletonList(new PlayerRankingDto(2L, "player1", 3, 3, 0, 0, 9, 1)));
+
+    RankingSnapshot stale = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    RankingSnapshot fresh = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+
+    assertEquals(3, stale.getRanking().getRanking().size());
+    assertEquals(1, fresh.getRanking().getRanking().size());
+    verify(standingsService, times(2)).getStandings(testTournament.getId(), null);
+  }
+
+  @Test
+  @DisplayName("Debe volver a leer las posiciones globales tras un cambio, sin recargar la clasificación del torneo")
+  void globalRanksChanged_shouldRefreshRanksAndETag() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(standingsService.getStandings(testTournament.getId(), null)).thenReturn(standings);
+    when(userRepository.findRanksByIdIn(anyCollection()))
+            .thenReturn(Arrays.asList(rank(2L, 1), rank(3L, 5), rank(4L, 9)))
+            .thenReturn(Arrays.asList(rank(2L, 1), rank(3L, 5), rank(4L, 9)))
+            .thenReturn(Arrays.asList(rank(2L, 2), rank(3L, 5), rank(4L, 9)));
+
+    RankingSnapshot first = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    // Un resultado de otro torneo que no mueve a ninguno de estos jugadores no cambia el ETag
+    rankingService.globalRanksChanged();
+    RankingSnapshot unchanged = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    rankingService.globalRanksChanged();
+    RankingSnapshot moved = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+    RankingSnapshot cached = rankingService.getTournamentRankingSnapshot(testTournament.getId(), null);
+
+    assertEquals(1, first.getRanking().getRanking().get(0).getCurrentGlobalRank());
+    assertEquals(first.getEtag(), unchanged.getEtag());
+    assertEquals(2, moved.getRanking().getRanking().get(0).getCurrentGlobalRank());
+    assertNotEquals(first.getEtag(), moved.getEtag());
+    assertEquals(moved.getEtag(), cached.getEtag());
+    verify(userRepository, times(3)).findRanksByIdIn(anyCollection());
+    verify(standingsService, times(1)).getStandings(testTournament.getId(), null);
+  }
+}
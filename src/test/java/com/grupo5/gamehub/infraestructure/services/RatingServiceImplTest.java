@@ -0,0 +1,190 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.RatingReplayResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.Result;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.projections.MatchOutcomeView;
+import com.grupo5.gamehub.domain.projections.PlayerRatingView;
+import com.grupo5.gamehub.domain.repositories.MatchRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import com.grupo5.gamehub.infraestructure.rating.EloRatingCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceImplTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private MatchRepository matchRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private LeaderboardService leaderboardService;
+
+  private RatingServiceImpl ratingService;
+
+  private User player1;
+  private User player2;
+  private Tournament testTournament;
+
+  @BeforeEach
+  void setUp() {
+    ratingService = new RatingServiceImpl(userRepository, matchRepository, new EloRatingCalculator(1500, 32),
+            jdbcTemplate, leaderboardService, 24, 2);
+
+    player1 = new User();
+    player1.setId(2L);
+    player1.setUsername("player1");
+    player1.setRole(Role.PLAYER);
+    player2 = new User();
+    player2.setId(3L);
+    player2.setUsername("player2");
+    player2.setRole(Role.PLAYER);
+
+    testTournament = new Tournament();
+    testTournament.setId(10L);
+  }
+
+  private PlayerRatingView ratingView(Long id, Double rating, Integer points) {
+    return new PlayerRatingView() {
+      public Long getId() { return id; }
+      public Double getRating() { return rating; }
+      public Double getRatingDeviation() { return 0.0; }
+      public Double getVolatility() { return 0.0; }
+      public Integer getPoints() { return points; }
+    };
+  }
+
+  private MatchOutcomeView outcome(Long id, Long player1Id, Long player2Id, Long winnerId, Integer round,
+                                   LocalDateTime completedAt) {
+    return new MatchOutcomeView() {
+      public Long getId() { return id; }
+      public Long getTournamentId() { return 10L; }
+      public Integer getRoundNumber() { return round; }
+      public Long getPlayer1Id() { return player1Id; }
+      public Long getPlayer2Id() { return player2Id; }
+      public Long getWinnerId() { return winnerId; }
+      public LocalDateTime getCompletedAt() { return completedAt; }
+    };
+  }
+
+  @Test
+  @DisplayName("Debe actualizar la valoración y desplazar solo las posiciones del rango cruzado")
+  void applyResult_shouldUpdateRatingsAndShiftRanks() {
+    Match match = new Match(testTournament, player1, player2, 1);
+    match.setId(100L);
+    match.setStatus(MatchStatus.COMPLETED);
+    match.setResult(Result.PLAYER1_WINS);
+    match.setWinner(player1);
+    // player1 ya tiene valoración; player2 juega su primera partida
+    when(userRepository.findRatingsByIdIn(anyCollection())).thenReturn(Arrays.asList(
+            ratingView(2L, 1500.0, 1500), ratingView(3L, null, null)));
+    when(userRepository.countByRoleAndPointsGreaterThan(Role.PLAYER, 1516)).thenReturn(0L);
+    when(userRepository.countByRoleAndPointsGreaterThan(Role.PLAYER, 1484)).thenReturn(1L);
+
+    ratingService.applyResult(match);
+
+    verify(userRepository).acquireRatingLock(RatingServiceImpl.RATING_LOCK_KEY);
+    verify(userRepository).updateRating(2L, 1516.0, 0.0, 0.0, 1516);
+    verify(userRepository).updateRating(3L, 1484.0, 0.0, 0.0, 1484);
+    verify(userRepository).shiftRanks(Role.PLAYER, 1500, 1516, 1, 2L);
+    verify(userRepository).shiftRanks(Role.PLAYER, Integer.MIN_VALUE, 1484, 1, 3L);
+    verify(userRepository).updateRank(2L, 1);
+    verify(userRepository).updateRank(3L, 2);
+    verify(leaderboardService).recordPoints(2L, "player1", 1516);
+    verify(leaderboardService).recordPoints(3L, "player2", 1484);
+  }
+
+  @Test
+  @DisplayName("Una bajada de puntos debe subir un puesto a quienes quedan por encima")
+  void applyResult_shouldShiftRanksUpWhenPlayerDrops() {
+    Match match = new Match(testTournament, player1, player2, 1);
+    match.setStatus(MatchStatus.COMPLETED);
+    match.setResult(Result.PLAYER2_WINS);
+    match.setWinner(player2);
+    when(userRepository.findRatingsByIdIn(anyCollection())).thenReturn(Arrays.asList(
+            ratingView(2L, 1500.0, 1500), ratingView(3L, 1500.0, 1500)));
+
+    ratingService.applyResult(match);
+
+    verify(userRepository).shiftRanks(Role.PLAYER, 1484, 1500, -1, 2L);
+    verify(userRepository).shiftRanks(Role.PLAYER, 1500, 1516, 1, 3L);
+  }
+
+  @Test
+  @DisplayName("No debe hacer nada con partidas no completadas")
+  void applyResult_shouldIgnorePendingMatches() {
+    Match match = new Match(testTournament, player1, player2, 1);
+
+    ratingService.applyResult(match);
+
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  @DisplayName("Debe agrupar por ronda las partidas sin fecha y por periodo las fechadas")
+  void groupIntoPeriods_shouldGroupByRoundAndByPeriod() {
+    LocalDateTime day = LocalDateTime.of(2025, 1, 1, 10, 0);
+    List<MatchOutcomeView> outcomes = Arrays.asList(
+            outcome(1L, 2L, 3L, 2L, 1, null),
+            outcome(2L, 4L, 5L, 4L, 1, null),
+            outcome(3L, 2L, 4L, 2L, 2, null),
+            outcome(4L, 3L, 5L, null, 3, day),
+            outcome(5L, 2L, 5L, 5L, 3, day.plusHours(2)),
+            outcome(6L, 2L, 3L, 3L, 4, day.plusDays(1)));
+
+    List<List<MatchOutcomeView>> periods = ratingService.groupIntoPeriods(outcomes);
+
+    assertEquals(4, periods.size());
+    assertEquals(2, periods.get(0).size());
+    assertEquals(1, periods.get(1).size());
+    assertEquals(2, periods.get(2).size());
+    assertEquals(6L, periods.get(3).get(0).getId());
+  }
+
+  @Test
+  @DisplayName("Debe reconstruir todas las valoraciones y recalcular las posiciones de una vez")
+  void replayAll_shouldRecomputeFromHistory() {
+    when(matchRepository.findOutcomesByStatus(MatchStatus.COMPLETED)).thenReturn(Arrays.asList(
+            outcome(1L, 2L, 3L, 2L, 1, null),
+            outcome(2L, 2L, 3L, 2L, 2, null)));
+
+    RatingReplayResponse response = ratingService.replayAll();
+
+    assertEquals(2, response.getMatchesReplayed());
+    assertEquals(2, response.getPeriods());
+    assertEquals(2, response.getPlayersRated());
+    verify(userRepository).acquireRatingLock(RatingServiceImpl.RATING_LOCK_KEY);
+    verify(userRepository).clearRatings(Role.PLAYER);
+    verify(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    verify(userRepository).recomputeRanks();
+  }
+}
@@ -0,0 +1,96 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.messages.MessageResponse;
+import com.grupo5.gamehub.api.dtos.messages.RecentMessageCacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentMessageCacheImplTest {
+
+  private static final String ROOM = "tournament:1";
+
+  private RecentMessageCacheImpl cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new RecentMessageCacheImpl(5, 1000, 30);
+  }
+
+  private static MessageResponse message(long id) {
+    return new MessageResponse(id, null, "msg" + id, LocalDateTime.now());
+  }
+
+  private static List<MessageResponse> messages(long fromId, long toId) {
+    List<MessageResponse> messages = new ArrayList<>();
+    for (long id = fromId; id <= toId; id++) {
+      messages.add(message(id));
+    }
+    return messages;
+  }
+
+  private static List<Long> ids(Optional<List<MessageResponse>> messages) {
+    return messages.orElseThrow().stream().map(MessageResponse::getId).collect(Collectors.toList());
+  }
+
+  @Test
+  @DisplayName("Una sala desconocida es un fallo; una vez cargada sirve los últimos mensajes en orden cronológico")
+  void latest_shouldMissUntilWarmed() {
+    assertTrue(cache.latest(ROOM, 3).isEmpty());
+
+    cache.warm(ROOM, messages(1, 3));
+
+    assertEquals(List.of(2L, 3L), ids(cache.latest(ROOM, 2)));
+    // La sala tiene menos mensajes que su capacidad: ya contiene todo su historial
+    assertEquals(List.of(1L, 2L, 3L), ids(cache.latest(ROOM, 50)));
+
+    RecentMessageCacheStats stats = cache.stats();
+    assertEquals(2, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(1, stats.getRooms());
+    assertEquals(3, stats.getCachedMessages());
+  }
+
+  @Test
+  @DisplayName("Una sala creada al escribir solo responde si guarda suficientes mensajes")
+  void latest_shouldNotAssumeFullHistoryForRoomsCreatedOnWrite() {
+    cache.append(ROOM, message(41));
+    cache.append(ROOM, message(42));
+
+    assertEquals(List.of(41L, 42L), ids(cache.latest(ROOM, 2)));
+    assertTrue(cache.latest(ROOM, 3).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Debe descartar los más antiguos al llenarse y colocar por id los mensajes que llegan desordenados")
+  void append_shouldKeepNewestMessagesOrderedById() {
+    cache.warm(ROOM, messages(1, 4));
+    cache.append(ROOM, message(7));
+    cache.append(ROOM, message(6));
+    cache.append(ROOM, message(6));
+    // Más antiguo que todo lo que cabe: se ignora
+    cache.append(ROOM, message(0));
+
+    assertEquals(List.of(3L, 4L, 6L, 7L), ids(cache.latest(ROOM, 4)));
+    assertEquals(List.of(2L, 3L, 4L, 6L, 7L), ids(cache.latest(ROOM, 5)));
+    // Llena: ya no se sabe si hay mensajes más antiguos
+    assertTrue(cache.latest(ROOM, 6).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Cargar una sala no debe perder los mensajes añadidos mientras se leía de la base de datos")
+  void warm_shouldMergeWithMessagesAppendedMeanwhile() {
+    cache.append(ROOM, message(9));
+    cache.warm(ROOM, messages(7, 9));
+
+    assertEquals(List.of(7L, 8L, 9L), ids(cache.latest(ROOM, 10)));
+  }
+}
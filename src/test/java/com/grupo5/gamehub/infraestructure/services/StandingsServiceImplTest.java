@@ -0,0 +1,265 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.api.dtos.ranking.PlayerRankingDto;
+import com.grupo5.gamehub.api.dtos.ranking.StandingsRebuildResponse;
+import com.grupo5.gamehub.domain.entities.Match;
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.MatchStatus;
+import com.grupo5.gamehub.domain.enums.Result;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.StandingCounters;
+import com.grupo5.gamehub.domain.projections.StandingView;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentStandingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StandingsServiceImplTest {
+
+  @Mock
+  private TournamentRepository tournamentRepository;
+
+  @Mock
+  private TournamentStandingRepository standingRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private StandingsServiceImpl standingsService;
+
+  private User player1;
+  private User player2;
+  private User player3;
+  private Tournament testTournament;
+
+  @BeforeEach
+  void setUp() {
+    standingsService = new StandingsServiceImpl(tournamentRepository, standingRepository, transactionManager, 2);
+
+    player1 = createPlayer(2L, "player1");
+    player2 = createPlayer(3L, "player2");
+    player3 = createPlayer(4L, "player3");
+
+    testTournament = new Tournament();
+    testTournament.setId(10L);
+    testTournament.setName("Test Tournament");
+    testTournament.setMaxPlayers(4);
+    testTournament.setCreatedAt(LocalDateTime.now());
+    testTournament.setStatus(TournamentStatus.IN_PROGRESS);
+    testTournament.setPlayers(new ArrayList<>(Arrays.asList(player1, player2, player3)));
+  }
+
+  private User createPlayer(Long id, String username) {
+    User user = new User();
+    user.setId(id);
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setRole(Role.PLAYER);
+    user.setPassword("pass");
+    return user;
+  }
+
+  private Match completedMatch(Long id, User p1, User p2, User winner) {
+    Match match = new Match(testTournament, p1, p2, 1);
+    match.setId(id);
+    match.setStatus(MatchStatus.COMPLETED);
+    match.setWinner(winner);
+    if (winner == null) {
+      match.setResult(Result.DRAW);
+    } else {
+      match.setResult(winner.equals(p1) ? Result.PLAYER1_WINS : Result.PLAYER2_WINS);
+    }
+    return match;
+  }
+
+  private StandingView row(User player, int played, int won, int lost, int drawn, int points, long version) {
+    return new StandingView() {
+      public Long getUserId() { return player.getId(); }
+      public String getUsername() { return player.getUsername(); }
+      public int getPlayed() { return played; }
+      public int getWon() { return won; }
+      public int getLost() { return lost; }
+      public int getDrawn() { return drawn; }
+      public int getPoints() { return points; }
+      public long getVersion() { return version; }
+    };
+  }
+
+  private StandingCounters counters(int played, int won, int lost, int drawn, int points, long version) {
+    return new StandingCounters() {
+      public int getPlayed() { return played; }
+      public int getWon() { return won; }
+      public int getLost() { return lost; }
+      public int getDrawn() { return drawn; }
+      public int getPoints() { return points; }
+      public long getVersion() { return version; }
+    };
+  }
+
+  @Test
+  @DisplayName("Debe cargar la clasificación con una sola consulta y conservar su orden")
+  void getStandings_shouldLoadFromStandingsTable() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player2, 1, 1, 0, 0, 3, 1), row(player1, 1, 0, 1, 0, 0, 1), row(player3, 0, 0, 0, 0, 0, 0)));
+
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), null);
+    standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(3, ranking.size());
+    assertEquals(player2.getId(), ranking.get(0).getUserId());
+    assertEquals(3, ranking.get(0).getTotalPoints());
+    assertEquals(player1.getId(), ranking.get(1).getUserId());
+    verify(standingRepository, times(1)).findRankingByTournamentId(testTournament.getId());
+  }
+
+  @Test
+  @DisplayName("Debe escribir el resultado en la tabla y actualizar la copia en memoria sin volver a consultarla")
+  void recordResult_shouldUpsertBothPlayersAndUpdateInMemory() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player1, 0, 0, 0, 0, 0, 0), row(player3, 0, 0, 0, 0, 0, 0)));
+    when(standingRepository.applyResult(testTournament.getId(), player1.getId(), 0, 1, 0, 0))
+            .thenReturn(counters(1, 0, 1, 0, 0, 1));
+    when(standingRepository.applyResult(testTournament.getId(), player3.getId(), 1, 0, 0, 3))
+            .thenReturn(counters(1, 1, 0, 0, 3, 1));
+    standingsService.getStandings(testTournament.getId(), null);
+
+    standingsService.recordResult(completedMatch(101L, player3, player1, player3));
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(player3.getId(), ranking.get(0).getUserId());
+    assertEquals(3, ranking.get(0).getTotalPoints());
+    assertEquals(1, ranking.get(1).getGamesLost());
+    // Siempre en orden de id ascendente, independientemente de quién sea player1
+    InOrder inOrder = inOrder(standingRepository);
+    inOrder.verify(standingRepository).applyResult(testTournament.getId(), player1.getId(), 0, 1, 0, 0);
+    inOrder.verify(standingRepository).applyResult(testTournament.getId(), player3.getId(), 1, 0, 0, 3);
+    verify(standingRepository, times(1)).findRankingByTournamentId(testTournament.getId());
+  }
+
+  @Test
+  @DisplayName("No debe aplicar en memoria una fila más antigua que la ya cargada")
+  void recordResult_shouldIgnoreStaleVersions() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player1, 1, 1, 0, 0, 3, 1), row(player2, 1, 0, 1, 0, 0, 1)));
+    when(standingRepository.applyResult(eq(testTournament.getId()), anyLong(), anyInt(), anyInt(), anyInt(), anyInt()))
+            .thenReturn(counters(1, 1, 0, 0, 3, 1));
+    standingsService.getStandings(testTournament.getId(), null);
+
+    // La carga ya incluía la versión 1 de ambas filas
+    standingsService.recordResult(completedMatch(100L, player1, player2, player1));
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(player2.getId(), ranking.get(1).getUserId());
+    assertEquals(0, ranking.get(1).getTotalPoints());
+    assertEquals(1, ranking.get(1).getGamesLost());
+  }
+
+  @Test
+  @DisplayName("Debe devolver solo los primeros 'limit' jugadores")
+  void getStandings_shouldReturnTopK() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player1, 2, 2, 0, 0, 6, 2), row(player2, 1, 0, 1, 0, 0, 1), row(player3, 1, 0, 1, 0, 0, 1)));
+
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), 1);
+
+    assertEquals(1, ranking.size());
+    assertEquals(player1.getId(), ranking.get(0).getUserId());
+    assertEquals(6, ranking.get(0).getTotalPoints());
+  }
+
+  @Test
+  @DisplayName("Debe añadir con cero puntos a un jugador recién inscrito")
+  void registerPlayer_shouldAddPlayerWithZeroStats() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player1, 0, 0, 0, 0, 0, 0), row(player2, 0, 0, 0, 0, 0, 0)));
+    standingsService.getStandings(testTournament.getId(), null);
+
+    standingsService.registerPlayer(testTournament.getId(), player3);
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(3, ranking.size());
+    assertTrue(ranking.stream().anyMatch(r -> r.getUserId().equals(player3.getId()) && r.getTotalPoints() == 0));
+    verify(standingRepository).insertIfAbsent(testTournament.getId(), player3.getId());
+  }
+
+  @Test
+  @DisplayName("Debe quitar de la clasificación a un jugador que abandona el torneo")
+  void unregisterPlayer_shouldDeleteRowAndReload() {
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Arrays.asList(
+            row(player1, 0, 0, 0, 0, 0, 0), row(player2, 0, 0, 0, 0, 0, 0)))
+            .thenReturn(Collections.singletonList(row(player1, 0, 0, 0, 0, 0, 0)));
+    standingsService.getStandings(testTournament.getId(), null);
+
+    standingsService.unregisterPlayer(testTournament.getId(), player2.getId());
+    List<PlayerRankingDto> ranking = standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(1, ranking.size());
+    verify(standingRepository).deleteByTournamentIdAndUserId(testTournament.getId(), player2.getId());
+    verify(standingRepository, times(2)).findRankingByTournamentId(testTournament.getId());
+  }
+
+  @Test
+  @DisplayName("Debe reconstruir la clasificación de un torneo y descartar la copia en memoria")
+  void rebuild_shouldRecomputeAndEvict() {
+    when(tournamentRepository.existsById(testTournament.getId())).thenReturn(true);
+    when(standingRepository.rebuildTournament(testTournament.getId(), StandingsServiceImpl.POINTS_PER_WIN)).thenReturn(3);
+    when(standingRepository.findRankingByTournamentId(testTournament.getId())).thenReturn(Collections.emptyList());
+    standingsService.getStandings(testTournament.getId(), null);
+
+    StandingsRebuildResponse response = standingsService.rebuild(testTournament.getId());
+    standingsService.getStandings(testTournament.getId(), null);
+
+    assertEquals(1, response.getTournamentsRebuilt());
+    assertEquals(3, response.getRowsWritten());
+    InOrder inOrder = inOrder(standingRepository);
+    inOrder.verify(standingRepository).lockMatchesOfTournament(testTournament.getId());
+    inOrder.verify(standingRepository).rebuildTournament(testTournament.getId(), StandingsServiceImpl.POINTS_PER_WIN);
+    inOrder.verify(standingRepository).deleteStaleRows(testTournament.getId());
+    verify(standingRepository, times(2)).findRankingByTournamentId(testTournament.getId());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  @DisplayName("Debe reconstruir todos los torneos sumando las filas escritas")
+  void rebuildAll_shouldRebuildEveryTournament() {
+    when(tournamentRepository.findAllIds()).thenReturn(Arrays.asList(10L, 11L, 12L));
+    when(standingRepository.rebuildTournament(anyLong(), eq(StandingsServiceImpl.POINTS_PER_WIN))).thenReturn(4);
+
+    StandingsRebuildResponse response = standingsService.rebuildAll();
+
+    assertEquals(3, response.getTournamentsRebuilt());
+    assertEquals(12, response.getRowsWritten());
+    verify(transactionManager, times(3)).commit(any());
+  }
+
+  @Test
+  @DisplayName("Debe lanzar IllegalArgumentException al reconstruir un torneo inexistente")
+  void rebuild_shouldThrowException_whenTournamentNotFound() {
+    when(tournamentRepository.existsById(999L)).thenReturn(false);
+
+    assertThrows(IllegalArgumentException.class, () -> standingsService.rebuild(999L));
+    verify(standingRepository, never()).rebuildTournament(anyLong(), anyInt());
+  }
+}
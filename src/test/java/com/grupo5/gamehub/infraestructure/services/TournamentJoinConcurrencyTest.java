@@ -0,0 +1,136 @@
+package com.grupo5.gamehub.infraestructure.services;
+
+import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.repositories.JpaTestConfig;
+import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Apertura de inscripciones: miles de peticiones simultáneas contra un torneo con pocas plazas, cada jugador
+ * dos veces. Sin transacción de test, para que cada inscripción haga commit como en producción. H2 espera
+ * los bloqueos de fila hasta LOCK_TIMEOUT, así que se amplía para no confundir esperas con errores.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfig.class)
+@Import(TournamentService.class)
+@TestPropertySource(locations = "classpath:jpa-test.properties", properties = {
+        "spring.datasource.url=jdbc:h2:mem:tournament-joins;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TournamentJoinConcurrencyTest {
+
+  private static final int PLAYERS = 1000;
+  private static final int MAX_PLAYERS = 64;
+  private static final int THREADS = 32;
+
+  @Autowired
+  private TournamentService tournamentService;
+
+  @Autowired
+  private TournamentRepository tournamentRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @MockitoBean
+  private StandingsService standingsService;
+
+  @MockitoBean
+  private RankingService rankingService;
+
+  @Test
+  @DisplayName("2000 inscripciones simultáneas no deben superar maxPlayers ni duplicar jugadores")
+  void joinTournament_shouldNeverOverfillUnderConcurrency() throws InterruptedException {
+    User admin = newUser("admin", Role.ADMIN);
+    List<User> players = new ArrayList<>(PLAYERS);
+    for (int i = 0; i < PLAYERS; i++) {
+      players.add(newUser("player" + i, Role.PLAYER));
+    }
+    userRepository.save(admin);
+    userRepository.saveAll(players);
+    Tournament tournament = tournamentRepository.save(
+            new Tournament("Apertura", TournamentStatus.CREATED, MAX_PLAYERS, LocalDateTime.now(), admin));
+    Long tournamentId = tournament.getId();
+
+    AtomicInteger joined = new AtomicInteger();
+    AtomicInteger full = new AtomicInteger();
+    AtomicInteger duplicated = new AtomicInteger();
+    Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    for (int attempt = 0; attempt < 2; attempt++) {
+      for (User player : players) {
+        executor.submit(() -> {
+          try {
+            start.await();
+            tournamentService.joinTournament(tournamentId, player.getId());
+            joined.incrementAndGet();
+          } catch (IllegalStateException e) {
+            full.incrementAndGet();
+          } catch (IllegalArgumentException e) {
+            duplicated.incrementAndGet();
+          } catch (Throwable e) {
+            unexpected.add(e);
+          }
+        });
+      }
+    }
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+    assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+    assertEquals(MAX_PLAYERS, joined.get());
+    assertEquals(2 * PLAYERS, joined.get() + full.get() + duplicated.get());
+    assertEquals(MAX_PLAYERS, tournamentRepository.findById(tournamentId).orElseThrow().getPlayerCount());
+    assertEquals(MAX_PLAYERS, jdbcTemplate.queryForObject(
+            "select count(distinct player_id) from tournament_players where tournament_id = ?", Integer.class, tournamentId));
+    assertEquals(MAX_PLAYERS, jdbcTemplate.queryForObject(
+            "select count(*) from tournament_players where tournament_id = ?", Integer.class, tournamentId));
+  }
+
+  private User newUser(String username, Role role) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("pass");
+    user.setRole(role);
+    return user;
+  }
+}
@@ -2,12 +2,19 @@ package com.grupo5.gamehub.infraestructure.services;
 
 import com.grupo5.gamehub.api.dtos.UserResponse;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentCreationRequest;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentPageResponse;
 import com.grupo5.gamehub.api.dtos.tournaments.TournamentResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.TournamentSummaryResponse;
+import com.grupo5.gamehub.api.dtos.tournaments.WaitlistPositionResponse;
 import com.grupo5.gamehub.domain.entities.Tournament;
+import com.grupo5.gamehub.domain.entities.TournamentWaitlistEntry;
 import com.grupo5.gamehub.domain.entities.User;
 import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.enums.TournamentSort;
 import com.grupo5.gamehub.domain.enums.TournamentStatus;
+import com.grupo5.gamehub.domain.projections.TournamentSummaryView;
 import com.grupo5.gamehub.domain.repositories.TournamentRepository;
+import com.grupo5.gamehub.domain.repositories.TournamentWaitlistRepository;
 import com.grupo5.gamehub.domain.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +23,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -34,9 +43,18 @@ class TournamentServiceTest {
   @Mock
   private TournamentRepository tournamentRepository;
 
+  @Mock
+  private TournamentWaitlistRepository waitlistRepository;
+
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private StandingsService standingsService;
+
+  @Mock
+  private RankingService rankingService;
+
   @InjectMocks
   private TournamentService tournamentService; // No es necesario 'Impl' si la clase se llama TournamentService
 
@@ -173,40 +191,53 @@ class TournamentServiceTest {
     verify(tournamentRepository, never()).save(any(Tournament.class));
   }
 
-  // --- getAllTournaments Tests ---
-  @Test
-  @DisplayName("Debe retornar una lista de todos los torneos")
-  void getAllTournaments_shouldReturnAllTournaments() {
-    Tournament anotherTournament = new Tournament();
-    anotherTournament.setId(11L);
-    anotherTournament.setName("Another Tournament");
-    anotherTournament.setMaxPlayers(2);
-    anotherTournament.setCreator(player1);
-    anotherTournament.setCreatedAt(LocalDateTime.now());
-    anotherTournament.setStatus(TournamentStatus.CREATED);
-    anotherTournament.setPlayers(new ArrayList<>());
-
-    when(tournamentRepository.findAll()).thenReturn(Arrays.asList(testTournament, anotherTournament));
-
-    List<TournamentResponse> result = tournamentService.getAllTournaments();
+  // --- getTournamentPage Tests ---
+  private TournamentSummaryView summary(Long id, String name, LocalDateTime createdAt) {
+    return new TournamentSummaryView() {
+      public Long getId() { return id; }
+      public String getName() { return name; }
+      public TournamentStatus getStatus() { return TournamentStatus.CREATED; }
+      public Integer getMaxPlayers() { return 8; }
+      public Integer getPlayerCount() { return 3; }
+      public LocalDateTime getCreatedAt() { return createdAt; }
+      public String getCreatorUsername() { return "adminUser"; }
+    };
+  }
 
-    assertNotNull(result);
-    assertEquals(2, result.size());
-    assertEquals(testTournament.getName(), result.get(0).getName());
-    assertEquals(anotherTournament.getName(), result.get(1).getName());
-    verify(tournamentRepository, times(1)).findAll();
+  @Test
+  @DisplayName("Debe devolver la página de resúmenes y un cursor que continúa tras la última fila")
+  void getTournamentPage_shouldReturnSummariesAndCursor() {
+    LocalDateTime newest = LocalDateTime.of(2025, 6, 1, 12, 0);
+    when(tournamentRepository.findSummariesNewestFirst(any(LocalDateTime.class), eq(Long.MAX_VALUE), eq(TournamentStatus.CREATED),
+            eq("Copa\\_%"), eq(PageRequest.ofSize(3)))).thenReturn(Arrays.asList(
+            summary(30L, "Copa_A", newest), summary(29L, "Copa_B", newest.minusDays(1)), summary(28L, "Copa_C", newest.minusDays(2))));
+
+    TournamentPageResponse page = tournamentService.getTournamentPage(TournamentStatus.CREATED, "Copa_",
+            TournamentSort.NEWEST, null, 2);
+
+    assertEquals(2, page.getTournaments().size());
+    assertEquals(3, page.getTournaments().get(0).getPlayerCount());
+    assertEquals("adminUser", page.getTournaments().get(0).getCreatorUsername());
+    assertNotNull(page.getNextCursor());
+
+    tournamentService.getTournamentPage(TournamentStatus.CREATED, "Copa_", TournamentSort.NEWEST, page.getNextCursor(), 2);
+    verify(tournamentRepository).findSummariesNewestFirst(newest.minusDays(1), 29L, TournamentStatus.CREATED, "Copa\\_%",
+            PageRequest.ofSize(3));
+    verify(tournamentRepository, never()).findAll();
   }
 
   @Test
-  @DisplayName("Debe retornar una lista vacía si no hay torneos")
-  void getAllTournaments_shouldReturnEmptyList_whenNoTournaments() {
-    when(tournamentRepository.findAll()).thenReturn(new ArrayList<>());
+  @DisplayName("Debe paginar por nombre y rechazar un cursor inválido")
+  void getTournamentPage_shouldPageByNameAndRejectInvalidCursor() {
+    when(tournamentRepository.findSummariesByName("", null, null, PageRequest.ofSize(11)))
+            .thenReturn(Arrays.asList(summary(1L, "Alfa", LocalDateTime.now())));
 
-    List<TournamentResponse> result = tournamentService.getAllTournaments();
+    TournamentPageResponse page = tournamentService.getTournamentPage(null, null, TournamentSort.NAME, null, 10);
 
-    assertNotNull(result);
-    assertTrue(result.isEmpty());
-    verify(tournamentRepository, times(1)).findAll();
+    assertEquals(1, page.getTournaments().size());
+    assertNull(page.getNextCursor());
+    assertThrows(IllegalArgumentException.class,
+            () -> tournamentService.getTournamentPage(null, null, TournamentSort.NEWEST, "bm8tc2VwYXJhdG9y", 10));
   }
 
   // --- getTournamentById Tests ---
@@ -239,16 +270,22 @@ class TournamentServiceTest {
   void joinTournament_shouldAllowPlayerToJoinSuccessfully() {
     when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
-    when(tournamentRepository.save(any(Tournament.class))).thenAnswer(invocation -> invocation.getArgument(0)); // Retorna el mismo objeto que se le pasó
+    when(tournamentRepository.reserveSlot(testTournament.getId(), TournamentStatus.CREATED)).thenReturn(1);
+    when(tournamentRepository.findSummaryById(testTournament.getId()))
+            .thenReturn(Optional.of(summary(testTournament.getId(), testTournament.getName(), testTournament.getCreatedAt())));
 
-    TournamentResponse result = tournamentService.joinTournament(testTournament.getId(), player1.getId());
+    TournamentSummaryResponse result = tournamentService.joinTournament(testTournament.getId(), player1.getId());
 
     assertNotNull(result);
-    assertTrue(result.getPlayers().stream().anyMatch(p -> p.getId().equals(player1.getId()))); // Verifica que el jugador está en la lista
-    assertEquals(1, result.getPlayers().size()); // Ahora debería tener un jugador
+    assertEquals(testTournament.getId(), result.getId());
+    assertEquals(3, result.getPlayerCount()); // El contador leído tras reservar la plaza
     verify(tournamentRepository, times(1)).findById(testTournament.getId());
     verify(userRepository, times(1)).findById(player1.getId());
-    verify(tournamentRepository, times(1)).save(testTournament); // Verifica que el objeto tournament se guardó
+    verify(tournamentRepository, times(1)).reserveSlot(testTournament.getId(), TournamentStatus.CREATED);
+    verify(tournamentRepository, times(1)).addPlayer(testTournament.getId(), player1.getId());
+    verify(tournamentRepository, never()).save(any(Tournament.class)); // Ya no se reescribe la lista completa
+    verify(standingsService, times(1)).registerPlayer(testTournament.getId(), player1);
+    verify(rankingService, times(1)).evictTournamentRanking(testTournament.getId());
   }
 
   @Test
@@ -294,11 +331,13 @@ class TournamentServiceTest {
     testTournament.getPlayers().add(player2); // Add player2 to fill it
     when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(tournamentRepository.reserveSlot(testTournament.getId(), TournamentStatus.CREATED)).thenReturn(0);
 
     assertThrows(IllegalStateException.class, () -> tournamentService.joinTournament(testTournament.getId(), player1.getId()));
     verify(tournamentRepository, times(1)).findById(testTournament.getId());
     verify(userRepository, times(1)).findById(player1.getId());
     verify(tournamentRepository, never()).save(any(Tournament.class));
+    verify(tournamentRepository, never()).addPlayer(anyLong(), anyLong());
   }
 
   @Test
@@ -307,10 +346,115 @@ class TournamentServiceTest {
     testTournament.getPlayers().add(player1); // Add player1 already
     when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
     when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(tournamentRepository.isPlayerRegistered(testTournament.getId(), player1.getId())).thenReturn(true);
 
     assertThrows(IllegalArgumentException.class, () -> tournamentService.joinTournament(testTournament.getId(), player1.getId()));
     verify(tournamentRepository, times(1)).findById(testTournament.getId());
     verify(userRepository, times(1)).findById(player1.getId());
     verify(tournamentRepository, never()).save(any(Tournament.class));
+    verify(tournamentRepository, never()).reserveSlot(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("Debe lanzar IllegalArgumentException si otra petición del mismo jugador se inscribe a la vez")
+  void joinTournament_shouldThrowException_whenConcurrentJoinViolatesUniqueConstraint() {
+    when(tournamentRepository.findById(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(tournamentRepository.reserveSlot(testTournament.getId(), TournamentStatus.CREATED)).thenReturn(1);
+    doThrow(new DataIntegrityViolationException("uk_tournament_players"))
+            .when(tournamentRepository).addPlayer(testTournament.getId(), player1.getId());
+
+    assertThrows(IllegalArgumentException.class, () -> tournamentService.joinTournament(testTournament.getId(), player1.getId()));
+    verify(standingsService, never()).registerPlayer(anyLong(), any(User.class));
+    verify(rankingService, never()).evictTournamentRanking(anyLong());
+  }
+
+  // --- Lista de espera ---
+  private TournamentWaitlistEntry waitlistEntry(Long id, User player) {
+    TournamentWaitlistEntry entry = new TournamentWaitlistEntry(testTournament, player, LocalDateTime.now());
+    entry.setId(id);
+    return entry;
+  }
+
+  @Test
+  @DisplayName("Debe encolar al jugador en un torneo lleno con lista de espera y devolver su posición")
+  void joinWaitlist_shouldQueuePlayerAndReturnPosition() {
+    testTournament.setMaxPlayers(1);
+    testTournament.setPlayerCount(1);
+    testTournament.setWaitlistEnabled(true);
+    TournamentWaitlistEntry entry = waitlistEntry(5L, player1);
+    when(tournamentRepository.findByIdForUpdate(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+    when(waitlistRepository.findByTournamentIdAndPlayerId(testTournament.getId(), player1.getId())).thenReturn(Optional.empty());
+    when(waitlistRepository.save(any(TournamentWaitlistEntry.class))).thenReturn(entry);
+    when(waitlistRepository.countByTournamentId(testTournament.getId())).thenReturn(3L);
+    when(waitlistRepository.countUpTo(testTournament.getId(), entry.getCreatedAt(), entry.getId())).thenReturn(3L);
+
+    WaitlistPositionResponse response = tournamentService.joinWaitlist(testTournament.getId(), player1.getId());
+
+    assertFalse(response.isRegistered());
+    assertEquals(3L, response.getPosition());
+    assertEquals(3L, response.getWaiting());
+    verify(waitlistRepository, never()).findQueue(anyLong(), any());
+    verify(tournamentRepository, never()).addPlayer(anyLong(), anyLong());
+  }
+
+  @Test
+  @DisplayName("Debe rechazar la lista de espera si el torneo no la tiene activada")
+  void joinWaitlist_shouldThrowException_whenWaitlistDisabled() {
+    when(tournamentRepository.findByIdForUpdate(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(userRepository.findById(player1.getId())).thenReturn(Optional.of(player1));
+
+    assertThrows(IllegalStateException.class, () -> tournamentService.joinWaitlist(testTournament.getId(), player1.getId()));
+    verify(waitlistRepository, never()).save(any(TournamentWaitlistEntry.class));
+  }
+
+  @Test
+  @DisplayName("Debe promocionar en un solo lote a los primeros de la cola al ampliar la capacidad")
+  void updateMaxPlayers_shouldPromoteQueuedPlayersInOneBatch() {
+    testTournament.setMaxPlayers(2);
+    testTournament.setPlayerCount(2);
+    List<TournamentWaitlistEntry> queue = Arrays.asList(waitlistEntry(7L, player1), waitlistEntry(8L, player2));
+    when(tournamentRepository.findByIdForUpdate(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(waitlistRepository.findQueue(testTournament.getId(), PageRequest.ofSize(2))).thenReturn(queue);
+    when(waitlistRepository.promoteToPlayers(List.of(7L, 8L))).thenReturn(2);
+
+    tournamentService.updateMaxPlayers(testTournament.getId(), 4);
+
+    assertEquals(4, testTournament.getMaxPlayers());
+    assertEquals(4, testTournament.getPlayerCount());
+    verify(waitlistRepository, times(1)).deleteAllByIdInBatch(List.of(7L, 8L));
+    verify(standingsService, times(1)).registerPlayer(testTournament.getId(), player1);
+    verify(standingsService, times(1)).registerPlayer(testTournament.getId(), player2);
+    verify(rankingService, times(1)).evictTournamentRanking(testTournament.getId());
+  }
+
+  @Test
+  @DisplayName("Debe rechazar una capacidad menor que el número de inscritos")
+  void updateMaxPlayers_shouldThrowException_whenBelowPlayerCount() {
+    testTournament.setPlayerCount(3);
+    when(tournamentRepository.findByIdForUpdate(testTournament.getId())).thenReturn(Optional.of(testTournament));
+
+    assertThrows(IllegalArgumentException.class, () -> tournamentService.updateMaxPlayers(testTournament.getId(), 2));
+    assertEquals(4, testTournament.getMaxPlayers());
+    verify(waitlistRepository, never()).findQueue(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("Debe liberar la plaza al abandonar y cederla al primero de la cola")
+  void leaveTournament_shouldFreeSlotAndPromoteNextInQueue() {
+    testTournament.setPlayerCount(4);
+    when(tournamentRepository.findByIdForUpdate(testTournament.getId())).thenReturn(Optional.of(testTournament));
+    when(waitlistRepository.findByTournamentIdAndPlayerId(testTournament.getId(), player1.getId())).thenReturn(Optional.empty());
+    when(tournamentRepository.removePlayer(testTournament.getId(), player1.getId())).thenReturn(1);
+    when(waitlistRepository.findQueue(testTournament.getId(), PageRequest.ofSize(1)))
+            .thenReturn(List.of(waitlistEntry(9L, player2)));
+    when(waitlistRepository.promoteToPlayers(List.of(9L))).thenReturn(1);
+
+    tournamentService.leaveTournament(testTournament.getId(), player1.getId());
+
+    assertEquals(4, testTournament.getPlayerCount());
+    verify(standingsService, times(1)).unregisterPlayer(testTournament.getId(), player1.getId());
+    verify(standingsService, times(1)).registerPlayer(testTournament.getId(), player2);
   }
-}
\ No newline at end of file
+}
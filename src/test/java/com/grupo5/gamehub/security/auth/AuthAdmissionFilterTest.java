@@ -0,0 +1,58 @@
+package com.grupo5.gamehub.security.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthAdmissionFilterTest {
+
+  private final AuthAdmissionFilter filter = new AuthAdmissionFilter(1);
+
+  private static MockHttpServletRequest request(String uri, String ip) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+    request.setRemoteAddr(ip);
+    return request;
+  }
+
+  @Test
+  @DisplayName("Debe responder 429 al superar las peticiones en curso de una IP, sin afectar a otras")
+  void doFilter_shouldLimitInFlightRequestsPerClient() throws Exception {
+    List<Integer> innerStatuses = new ArrayList<>();
+
+    // Mientras la primera petición de 10.0.0.1 sigue en curso llegan otra de la misma IP y una de otra IP
+    filter.doFilter(request("/api/auth/login", "10.0.0.1"), new MockHttpServletResponse(), (req, res) -> {
+      for (String ip : List.of("10.0.0.1", "10.0.0.2")) {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        filter.doFilter(request("/api/auth/login", ip), inner, (innerReq, innerRes) -> { });
+        innerStatuses.add(inner.getStatus());
+      }
+    });
+
+    assertEquals(List.of(429, 200), innerStatuses);
+
+    // Terminada la primera, la IP vuelve a tener hueco
+    MockHttpServletResponse after = new MockHttpServletResponse();
+    filter.doFilter(request("/api/auth/login", "10.0.0.1"), after, (req, res) -> { });
+    assertEquals(200, after.getStatus());
+  }
+
+  @Test
+  @DisplayName("No debe limitar rutas que no son de autenticación")
+  void doFilter_shouldIgnoreOtherPaths() throws Exception {
+    List<Integer> innerStatuses = new ArrayList<>();
+
+    filter.doFilter(request("/api/tournaments", "10.0.0.1"), new MockHttpServletResponse(), (req, res) -> {
+      MockHttpServletResponse inner = new MockHttpServletResponse();
+      filter.doFilter(request("/api/tournaments", "10.0.0.1"), inner, (innerReq, innerRes) -> { });
+      innerStatuses.add(inner.getStatus());
+    });
+
+    assertEquals(List.of(200), innerStatuses);
+  }
+}
@@ -0,0 +1,96 @@
+package com.grupo5.gamehub.security.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+  private BoundedPasswordEncoder encoder;
+
+  @AfterEach
+  void tearDown() {
+    encoder.shutdown();
+  }
+
+  @Test
+  @DisplayName("Debe calcular y verificar hashes BCrypt en el pool y detectar los de coste menor")
+  void encodeAndMatches_shouldDelegateToBCrypt() {
+    encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), 2, 10, 5000);
+
+    String hash = encoder.encode("secreto");
+
+    assertTrue(hash.startsWith("$2a$06$"));
+    assertTrue(encoder.matches("secreto", hash));
+    assertFalse(encoder.matches("otro", hash));
+    assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secreto")));
+    assertFalse(encoder.upgradeEncoding(hash));
+  }
+
+  @Test
+  @DisplayName("Con el hilo ocupado y la cola llena debe rechazar en el acto")
+  void encode_shouldRejectWhenQueueIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 5000);
+
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+    while (encoder.queuedTasks() < 1) {
+      Thread.sleep(10);
+    }
+
+    long start = System.nanoTime();
+    assertThrows(RejectedExecutionException.class, () -> encoder.encode("c"));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+    release.countDown();
+    assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+    assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("Si el hash no termina en el tiempo máximo debe rechazar la petición")
+  void matches_shouldRejectAfterMaxWait() {
+    CountDownLatch release = new CountDownLatch(1);
+    encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), release), 1, 10, 100);
+
+    assertThrows(RejectedExecutionException.class, () -> encoder.matches("a", "hash"));
+    release.countDown();
+  }
+
+  private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        block();
+        return "hash";
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        block();
+        return true;
+      }
+
+      private void block() {
+        started.countDown();
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+  }
+}
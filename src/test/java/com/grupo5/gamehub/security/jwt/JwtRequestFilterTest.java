@@ -0,0 +1,99 @@
+package com.grupo5.gamehub.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.security.service.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+  private static final String SECRET = "testSecretKeyForGameHubJwtFilterTestsWithEnoughLength";
+
+  @Mock
+  private UserDetailsService userDetailsService;
+
+  private JwtUtil jwtUtil;
+  private JwtRequestFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = new JwtUtil(SECRET, 60_000L, 100);
+    filter = new JwtRequestFilter(jwtUtil, userDetailsService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private Authentication filterWithToken(String token) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    return SecurityContextHolder.getContext().getAuthentication();
+  }
+
+  @Test
+  @DisplayName("Debe construir el principal con el id y el rol del token sin consultar la base de datos")
+  void doFilter_shouldBuildPrincipalFromClaims() throws Exception {
+    Authentication authentication = filterWithToken(jwtUtil.generateToken(7L, "player1", Role.ADMIN));
+
+    assertNotNull(authentication);
+    AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+    assertEquals(7L, principal.getId());
+    assertEquals("player1", principal.getUsername());
+    assertTrue(principal.isAdmin());
+    assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+    verifyNoInteractions(userDetailsService);
+  }
+
+  @Test
+  @DisplayName("Un token sin claims de id y rol debe seguir funcionando cargando el usuario por su nombre")
+  void doFilter_shouldLoadUserForTokensWithoutClaims() throws Exception {
+    String legacyToken = JWT.create()
+            .withSubject("player1")
+            .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+            .sign(Algorithm.HMAC256(SECRET));
+    User user = new User("player1", "pass", List.of());
+    when(userDetailsService.loadUserByUsername("player1")).thenReturn(user);
+
+    Authentication authentication = filterWithToken(legacyToken);
+
+    assertSame(user, authentication.getPrincipal());
+    verify(userDetailsService, times(1)).loadUserByUsername("player1");
+  }
+
+  @Test
+  @DisplayName("Un token con otra firma no debe autenticar")
+  void doFilter_shouldIgnoreInvalidToken() throws Exception {
+    String forged = JWT.create()
+            .withSubject("player1")
+            .withClaim("uid", 7L)
+            .withClaim("role", "ADMIN")
+            .sign(Algorithm.HMAC256("anotherSecretKeyThatTheServerDoesNotKnowAtAll"));
+
+    assertNull(filterWithToken(forged));
+    verifyNoInteractions(userDetailsService);
+  }
+}
@@ -0,0 +1,57 @@
+package com.grupo5.gamehub.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.grupo5.gamehub.domain.enums.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+  private static final String SECRET = "testSecretKeyForGameHubJwtUtilTestsWithEnoughLength";
+
+  private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L, 100);
+
+  @Test
+  @DisplayName("Un token ya verificado debe servirse desde la caché")
+  void verify_shouldReuseVerifiedToken() {
+    String token = jwtUtil.generateToken(5L, "player5", Role.PLAYER);
+
+    DecodedJWT first = jwtUtil.verify(token);
+    DecodedJWT second = jwtUtil.verify(token);
+
+    assertNotNull(first);
+    assertSame(first, second);
+    assertEquals("player5", jwtUtil.validateTokenAndRetrieveSubject(token));
+  }
+
+  @Test
+  @DisplayName("Un token en caché deja de ser válido cuando caduca")
+  void verify_shouldRejectCachedTokenOnceExpired() throws InterruptedException {
+    String token = JWT.create()
+            .withSubject("player5")
+            .withExpiresAt(new Date(System.currentTimeMillis() + 1500))
+            .sign(Algorithm.HMAC256(SECRET));
+    assertNotNull(jwtUtil.verify(token));
+
+    Thread.sleep(2000);
+
+    assertNull(jwtUtil.verify(token));
+  }
+
+  @Test
+  @DisplayName("Un token manipulado no debe validarse aunque se parezca a uno en caché")
+  void verify_shouldRejectTamperedToken() {
+    String token = jwtUtil.generateToken(5L, "player5", Role.PLAYER);
+    assertNotNull(jwtUtil.verify(token));
+
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+    assertNull(jwtUtil.verify(tampered));
+  }
+}
@@ -0,0 +1,71 @@
+package com.grupo5.gamehub.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.grupo5.gamehub.domain.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de un mismo token repetida, como hace un cliente que consulta el chat o el ranking cada pocos
+ * segundos: Algorithm y JWTVerifier nuevos en cada llamada (como antes), un verificador compartido y
+ * JwtUtil.verify con la caché de tokens verificados.
+ *
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.grupo5.gamehub.security.jwt.JwtVerifyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+  private static final String SECRET = "benchmarkSecretKeyForGameHubJwtVerificationThroughput";
+
+  private JwtUtil jwtUtil;
+  private JWTVerifier sharedVerifier;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = new JwtUtil(SECRET, 3_600_000L, 10_000);
+    sharedVerifier = JWT.require(Algorithm.HMAC256(SECRET)).build();
+    token = jwtUtil.generateToken(42L, "player42", Role.PLAYER);
+  }
+
+  @Benchmark
+  public DecodedJWT newVerifierPerCall() {
+    return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+  }
+
+  @Benchmark
+  public DecodedJWT sharedVerifier() {
+    return sharedVerifier.verify(token);
+  }
+
+  @Benchmark
+  public DecodedJWT cachedVerify() {
+    return jwtUtil.verify(token);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtVerifyBenchmark.class.getSimpleName()).build()).run();
+  }
+}
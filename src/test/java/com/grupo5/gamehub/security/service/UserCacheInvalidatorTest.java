@@ -0,0 +1,93 @@
+package com.grupo5.gamehub.security.service;
+
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.repositories.JpaTestConfig;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Listeners post-commit sobre H2, sin transacción de test para que los cambios se confirmen de verdad.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+@TestPropertySource("classpath:jpa-test.properties")
+@Import({UserDetailsServiceImpl.class, UserCacheInvalidator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheInvalidatorTest {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private UserDetailsServiceImpl userDetailsService;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+  private Long userId;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    userRepository.deleteAll();
+    User user = new User();
+    user.setUsername("player");
+    user.setEmail("player@example.com");
+    user.setPassword("hash");
+    user.setRole(Role.PLAYER);
+    user.setPoints(0);
+    userId = userRepository.save(user).getId();
+  }
+
+  private AuthenticatedUser load() {
+    return (AuthenticatedUser) userDetailsService.loadUserByUsername("player");
+  }
+
+  @Test
+  @DisplayName("Un cambio de rol confirmado debe expulsar al usuario; uno de puntos no")
+  void onPostUpdate_shouldEvictOnlyWhenCachedFieldsChange() {
+    load();
+    long loads = userDetailsService.stats().getLoads();
+
+    transactionTemplate.executeWithoutResult(status -> userRepository.findById(userId).orElseThrow().setPoints(10));
+    assertEquals(Role.PLAYER, load().getRole());
+    assertEquals(loads, userDetailsService.stats().getLoads());
+
+    transactionTemplate.executeWithoutResult(status -> userRepository.findById(userId).orElseThrow().setRole(Role.ADMIN));
+    assertEquals(Role.ADMIN, load().getRole());
+    assertEquals(loads + 1, userDetailsService.stats().getLoads());
+  }
+
+  @Test
+  @DisplayName("Un cambio revertido no debe expulsar al usuario y un borrado confirmado sí")
+  void listeners_shouldIgnoreRollbackAndEvictOnDelete() {
+    load();
+    long loads = userDetailsService.stats().getLoads();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      userRepository.findById(userId).orElseThrow().setPassword("otherHash");
+      userRepository.flush();
+      status.setRollbackOnly();
+    });
+    assertEquals("hash", load().getPassword());
+    assertEquals(loads, userDetailsService.stats().getLoads());
+
+    transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(userId));
+    assertEquals(0, userDetailsService.stats().getUsers());
+  }
+}
@@ -0,0 +1,132 @@
+package com.grupo5.gamehub.security.service;
+
+import com.grupo5.gamehub.api.dtos.UserDetailsCacheStats;
+import com.grupo5.gamehub.domain.entities.User;
+import com.grupo5.gamehub.domain.enums.Role;
+import com.grupo5.gamehub.domain.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDetailsServiceImplTest {
+
+  private UserRepository userRepository;
+  private UserDetailsServiceImpl userDetailsService;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    userDetailsService = new UserDetailsServiceImpl(userRepository, 100, 300);
+
+    user = new User();
+    user.setId(7L);
+    user.setUsername("player7");
+    user.setPassword("hash");
+    user.setRole(Role.PLAYER);
+    when(userRepository.findByUsername("player7")).thenAnswer(invocation -> Optional.of(user));
+  }
+
+  @Test
+  @DisplayName("La segunda carga debe servirse desde la caché con una copia nueva")
+  void loadUserByUsername_shouldCacheAndReturnFreshCopies() {
+    UserDetails first = userDetailsService.loadUserByUsername("player7");
+    // Spring Security borra la contraseña del usuario autenticado; no debe afectar a la siguiente carga
+    ((CredentialsContainer) first).eraseCredentials();
+
+    AuthenticatedUser second = (AuthenticatedUser) userDetailsService.loadUserByUsername("player7");
+
+    assertNotSame(first, second);
+    assertEquals("hash", second.getPassword());
+    assertEquals(7L, second.getId());
+    assertEquals(Role.PLAYER, second.getRole());
+    verify(userRepository, times(1)).findByUsername("player7");
+
+    UserDetailsCacheStats stats = userDetailsService.stats();
+    assertEquals(1, stats.getUsers());
+    assertEquals(1, stats.getHits());
+    assertEquals(1, stats.getMisses());
+    assertEquals(1, stats.getLoads());
+    assertEquals(0.5, stats.getHitRate());
+  }
+
+  @Test
+  @DisplayName("Tras expulsar al usuario se deben leer de nuevo su rol y contraseña")
+  void evictUser_shouldReloadChangedUser() {
+    userDetailsService.loadUserByUsername("player7");
+    user.setRole(Role.ADMIN);
+    user.setPassword("newHash");
+
+    userDetailsService.evictUser(8L);
+    assertEquals(Role.PLAYER, ((AuthenticatedUser) userDetailsService.loadUserByUsername("player7")).getRole());
+
+    userDetailsService.evictUser(7L);
+    AuthenticatedUser reloaded = (AuthenticatedUser) userDetailsService.loadUserByUsername("player7");
+
+    assertEquals(Role.ADMIN, reloaded.getRole());
+    assertEquals("newHash", reloaded.getPassword());
+    verify(userRepository, times(2)).findByUsername("player7");
+  }
+
+  @Test
+  @DisplayName("Una expulsión durante la carga no debe dejar en caché los datos leídos antes del cambio")
+  void loadUserByUsername_shouldNotCacheStaleUser_whenEvictedDuringLoad() {
+    User stale = new User();
+    stale.setId(7L);
+    stale.setUsername("player7");
+    stale.setPassword("hash");
+    stale.setRole(Role.PLAYER);
+    // La fila se lee, el cambio se confirma y su expulsión llega antes de que la carga guarde lo leído
+    when(userRepository.findByUsername("player7")).thenAnswer(invocation -> {
+      user.setRole(Role.ADMIN);
+      userDetailsService.evictUser(7L);
+      return Optional.of(stale);
+    }).thenAnswer(invocation -> Optional.of(user));
+
+    assertEquals(Role.PLAYER, ((AuthenticatedUser) userDetailsService.loadUserByUsername("player7")).getRole());
+    assertEquals(Role.ADMIN, ((AuthenticatedUser) userDetailsService.loadUserByUsername("player7")).getRole());
+    verify(userRepository, times(2)).findByUsername("player7");
+  }
+
+  @Test
+  @DisplayName("Un usuario inexistente no debe quedar en caché")
+  void loadUserByUsername_shouldNotCacheMissingUser() {
+    when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+    assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+    assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+    verify(userRepository, times(2)).findByUsername("ghost");
+    assertEquals(0, userDetailsService.stats().getUsers());
+  }
+
+  @Test
+  @DisplayName("Debe guardar el hash recalculado y devolver el usuario con el nuevo hash")
+  void updatePassword_shouldPersistUpgradedHash() {
+    UserDetails loaded = userDetailsService.loadUserByUsername("player7");
+
+    AuthenticatedUser upgraded = (AuthenticatedUser) userDetailsService.updatePassword(loaded, "strongerHash");
+
+    assertEquals("strongerHash", user.getPassword());
+    assertEquals("strongerHash", upgraded.getPassword());
+    assertEquals(7L, upgraded.getId());
+    verify(userRepository).save(user);
+  }
+
+  @Test
+  @DisplayName("Si no se puede guardar el nuevo hash el login debe seguir con el usuario original")
+  void updatePassword_shouldKeepUserWhenSaveFails() {
+    UserDetails loaded = userDetailsService.loadUserByUsername("player7");
+    when(userRepository.save(user)).thenThrow(new IllegalStateException("sin conexión"));
+
+    assertSame(loaded, userDetailsService.updatePassword(loaded, "strongerHash"));
+  }
+}